@@ -0,0 +1,24 @@
+plugins {
+  alias(libs.plugins.dagger.kotlinJvm)
+  alias(libs.plugins.jmh)
+}
+
+// JMH benchmarks for the hot paths of the Dagger runtime. Run them with:
+//   ./gradlew :dagger-benchmarks:jmh
+// A subset can be selected with -PjmhIncludes=<regex>, e.g. -PjmhIncludes=MultibindingBenchmark.
+sourceSets.named("jmh") { java.srcDirs("jmh/java") }
+
+dependencies {
+  jmh(project(":dagger"))
+  jmh(project(":dagger-producers"))
+  jmh(libs.guava.jre)
+  jmh(libs.jmh.core)
+  jmhAnnotationProcessor(libs.jmh.generatorAnnprocess)
+}
+
+jmh {
+  jmhVersion.set(libs.versions.jmh)
+  // The GC profiler reports normalized allocation rates (gc.alloc.rate.norm) for each benchmark.
+  profilers.add("gc")
+  providers.gradleProperty("jmhIncludes").orNull?.let { includes.add(it) }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.internal;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the first call to {@code get()} on a scoped provider, which is what a cold component
+ * pays for every scoped binding it touches.
+ */
+@Fork(1)
+public class FirstTouchBenchmark {
+  /** The amount of work (in {@link Blackhole#consumeCPU} tokens) done by each delegate. */
+  static final long CONSTRUCTION_TOKENS = 100;
+
+  private static final Provider<Object> FACTORY =
+      () -> {
+        Blackhole.consumeCPU(CONSTRUCTION_TOKENS);
+        return new Object();
+      };
+
+  /** Creates and initializes a scoped provider on a single thread. */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  @Warmup(iterations = 5, time = 1)
+  @Measurement(iterations = 5, time = 1)
+  public Object doubleCheck() {
+    return DoubleCheck.provider(FACTORY).get();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  @Warmup(iterations = 5, time = 1)
+  @Measurement(iterations = 5, time = 1)
+  public Object lockFreeDoubleCheck() {
+    return LockFreeDoubleCheck.provider(FACTORY).get();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  @Warmup(iterations = 5, time = 1)
+  @Measurement(iterations = 5, time = 1)
+  public Object singleCheck() {
+    return SingleCheck.provider(FACTORY).get();
+  }
+
+  /**
+   * A set of scoped providers that are all uninitialized at the start of every iteration. Each
+   * iteration is a single invocation per thread, so every thread races on the first {@code get()}.
+   */
+  @State(Scope.Benchmark)
+  public static class ColdProviders {
+    @Param({"64"})
+    public int size;
+
+    Provider<?>[] doubleChecks;
+    Provider<?>[] lockFreeDoubleChecks;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+      doubleChecks = new Provider<?>[size];
+      lockFreeDoubleChecks = new Provider<?>[size];
+      for (int i = 0; i < size; i++) {
+        doubleChecks[i] = DoubleCheck.provider(FACTORY);
+        lockFreeDoubleChecks[i] = LockFreeDoubleCheck.provider(FACTORY);
+      }
+    }
+  }
+
+  /**
+   * Simulates a cold start where many request threads touch the same set of uninitialized
+   * singletons at once.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Warmup(iterations = 100)
+  @Measurement(iterations = 500)
+  @Threads(Threads.MAX)
+  public void doubleCheck_contended(ColdProviders state, Blackhole blackhole) {
+    getAll(state.doubleChecks, blackhole);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Warmup(iterations = 100)
+  @Measurement(iterations = 500)
+  @Threads(Threads.MAX)
+  public void lockFreeDoubleCheck_contended(ColdProviders state, Blackhole blackhole) {
+    getAll(state.lockFreeDoubleChecks, blackhole);
+  }
+
+  private static void getAll(Provider<?>[] providers, Blackhole blackhole) {
+    for (int i = 0; i < providers.length; i++) {
+      blackhole.consume(providers[i].get());
+    }
+  }
+}
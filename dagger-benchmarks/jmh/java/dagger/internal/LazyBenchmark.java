@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.internal;
+
+import dagger.Lazy;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures what a component allocates to satisfy {@code Lazy<T>} and {@code Provider<Lazy<T>>}
+ * requests. Compare {@code gc.alloc.rate.norm} between the {@code providerOfLazy_perRequest} and
+ * {@code providerOfLazy_shared} benchmarks to see the effect of {@code
+ * -Adagger.memoizeProviderOfLazy}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LazyBenchmark {
+  private Provider<Object> unscoped;
+  private Provider<Object> scoped;
+  private Provider<Lazy<Object>> sharedUnscopedProviderOfLazy;
+  private Provider<Lazy<Object>> sharedScopedProviderOfLazy;
+
+  @Setup
+  public void setUp() {
+    unscoped = Object::new;
+    scoped = DoubleCheck.provider(Object::new);
+    scoped.get();
+    sharedUnscopedProviderOfLazy = ProviderOfLazy.create(unscoped);
+    sharedScopedProviderOfLazy = ProviderOfLazy.create(scoped);
+  }
+
+  /** A {@code Lazy<T>} request for an unscoped binding, which needs a new instance each time. */
+  @Benchmark
+  public Lazy<Object> lazy_unscoped() {
+    return DoubleCheck.lazy(unscoped);
+  }
+
+  /** A {@code Lazy<T>} request for a scoped binding, which reuses the scoped provider. */
+  @Benchmark
+  public Lazy<Object> lazy_scoped() {
+    return DoubleCheck.lazy(scoped);
+  }
+
+  /** A {@code Provider<Lazy<T>>} request as generated by default. */
+  @Benchmark
+  public Provider<Lazy<Object>> providerOfLazy_perRequest() {
+    return ProviderOfLazy.create(unscoped);
+  }
+
+  /** A {@code Provider<Lazy<T>>} request with {@code -Adagger.memoizeProviderOfLazy}. */
+  @Benchmark
+  public Provider<Lazy<Object>> providerOfLazy_shared() {
+    return sharedUnscopedProviderOfLazy;
+  }
+
+  /** A {@code get()} on a {@code Provider<Lazy<T>>} for an unscoped binding. */
+  @Benchmark
+  public Lazy<Object> providerOfLazy_get_unscoped() {
+    return sharedUnscopedProviderOfLazy.get();
+  }
+
+  /** A {@code get()} on a {@code Provider<Lazy<T>>} for a scoped binding. */
+  @Benchmark
+  public Lazy<Object> providerOfLazy_get_scoped() {
+    return sharedScopedProviderOfLazy.get();
+  }
+}
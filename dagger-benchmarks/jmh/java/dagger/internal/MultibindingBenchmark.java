@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.internal;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures materialization of set and map multibindings with a varying number of contributions,
+ * as done on each request for an unscoped {@code Set<T>} or {@code Map<K, V>}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MultibindingBenchmark {
+  /** The number of contributions to each multibinding. */
+  @Param({"10", "100", "1000"})
+  public int contributions;
+
+  /** The number of contributions per {@code @ElementsIntoSet} collection. */
+  private static final int COLLECTION_SIZE = 10;
+
+  private Factory<Set<Object>> individualSetFactory;
+  private Factory<Set<Object>> collectionSetFactory;
+  private Factory<Map<Integer, Object>> mapFactory;
+  private Factory<Map<Integer, Provider<Object>>> mapProviderFactory;
+  private Map<Class<?>, Object> lazyClassKeyMap;
+  private Class<?> lazyClassKeyMapKey;
+
+  @Setup
+  public void setUp() {
+    SetFactory.Builder<Object> individual = SetFactory.builder(contributions, 0);
+    for (int i = 0; i < contributions; i++) {
+      individual.addProvider(InstanceFactory.create(new Object()));
+    }
+    individualSetFactory = individual.build();
+
+    int collections = (contributions + COLLECTION_SIZE - 1) / COLLECTION_SIZE;
+    SetFactory.Builder<Object> collection = SetFactory.builder(0, collections);
+    for (int i = 0; i < collections; i++) {
+      Object[] elements = new Object[COLLECTION_SIZE];
+      for (int j = 0; j < COLLECTION_SIZE; j++) {
+        elements[j] = new Object();
+      }
+      collection.addCollectionProvider(InstanceFactory.create(Arrays.asList(elements)));
+    }
+    collectionSetFactory = collection.build();
+
+    MapFactory.Builder<Integer, Object> map = MapFactory.builder(contributions);
+    MapProviderFactory.Builder<Integer, Object> mapProvider =
+        MapProviderFactory.builder(contributions);
+    for (int i = 0; i < contributions; i++) {
+      Provider<Object> provider = InstanceFactory.create(new Object());
+      map.put(i, provider);
+      mapProvider.put(i, provider);
+    }
+    mapFactory = map.build();
+    mapProviderFactory = mapProvider.build();
+
+    // LazyClassKeyMap is keyed by class names; only the lookup path depends on the key itself.
+    MapFactory.Builder<String, Object> lazyClassKey = MapFactory.builder(contributions);
+    for (int i = 0; i < contributions - 1; i++) {
+      lazyClassKey.put("dagger.internal.Key" + i, InstanceFactory.create(new Object()));
+    }
+    lazyClassKeyMapKey = MultibindingBenchmark.class;
+    lazyClassKey.put(lazyClassKeyMapKey.getName(), InstanceFactory.create(new Object()));
+    lazyClassKeyMap = LazyClassKeyMap.MapFactory.of(lazyClassKey.build()).get();
+  }
+
+  @Benchmark
+  public Set<Object> setFactory_individualProviders() {
+    return individualSetFactory.get();
+  }
+
+  @Benchmark
+  public Set<Object> setFactory_collectionProviders() {
+    return collectionSetFactory.get();
+  }
+
+  @Benchmark
+  public Map<Integer, Object> mapFactory() {
+    return mapFactory.get();
+  }
+
+  @Benchmark
+  public Map<Integer, Provider<Object>> mapProviderFactory() {
+    return mapProviderFactory.get();
+  }
+
+  @Benchmark
+  public Object mapFactory_lookup() {
+    return mapFactory.get().get(contributions - 1);
+  }
+
+  @Benchmark
+  public Object lazyClassKeyMap_lookup() {
+    return lazyClassKeyMap.get(lazyClassKeyMapKey);
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.internal;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@code get()} on already initialized scoped providers, both from a single thread and
+ * with many threads contending on the same instance.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScopedProviderBenchmark {
+  private Provider<Object> doubleCheck;
+  private Provider<Object> lockFreeDoubleCheck;
+  private Provider<Object> singleCheck;
+  private Provider<Object> delegateFactory;
+
+  @Setup
+  public void setUp() {
+    doubleCheck = DoubleCheck.provider(Object::new);
+    lockFreeDoubleCheck = LockFreeDoubleCheck.provider(Object::new);
+    singleCheck = SingleCheck.provider(Object::new);
+    DelegateFactory<Object> delegate = new DelegateFactory<>();
+    DelegateFactory.setDelegate(delegate, DoubleCheck.provider(Object::new));
+    delegateFactory = delegate;
+
+    // Initialize the scoped instances so that only the steady state is measured.
+    doubleCheck.get();
+    lockFreeDoubleCheck.get();
+    singleCheck.get();
+    delegateFactory.get();
+  }
+
+  @Benchmark
+  public Object doubleCheck() {
+    return doubleCheck.get();
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public Object doubleCheck_contended() {
+    return doubleCheck.get();
+  }
+
+  @Benchmark
+  public Object lockFreeDoubleCheck() {
+    return lockFreeDoubleCheck.get();
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public Object lockFreeDoubleCheck_contended() {
+    return lockFreeDoubleCheck.get();
+  }
+
+  @Benchmark
+  public Object singleCheck() {
+    return singleCheck.get();
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public Object singleCheck_contended() {
+    return singleCheck.get();
+  }
+
+  @Benchmark
+  public Object delegateFactory() {
+    return delegateFactory.get();
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public Object delegateFactory_contended() {
+    return delegateFactory.get();
+  }
+}
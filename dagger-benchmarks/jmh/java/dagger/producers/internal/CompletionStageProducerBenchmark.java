@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.producers.internal;
+
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+
+import com.google.common.util.concurrent.AsyncFunction;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the per-node overhead of a chain of producers whose methods return a {@code
+ * ListenableFuture}, a {@code CompletableFuture} adapted by {@link Producers#fromCompletionStage},
+ * and, as a baseline, of the same chain composed with {@code CompletableFuture} alone.
+ *
+ * <p>Each chain is built on a pending root future, which is completed once the chain is built, so
+ * that the listener registration of every node is measured as well as its completion.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompletionStageProducerBenchmark {
+  /** The number of producer nodes in each chain. */
+  @Param({"1", "10", "100"})
+  public int nodes;
+
+  private static final AsyncFunction<Integer, Integer> LISTENABLE_FUTURE_NODE =
+      value -> Futures.immediateFuture(value + 1);
+
+  private static final AsyncFunction<Integer, Integer> COMPLETION_STAGE_NODE =
+      value -> Producers.fromCompletionStage(CompletableFuture.completedFuture(value + 1));
+
+  private static final Function<Integer, CompletionStage<Integer>> COMPLETABLE_FUTURE_NODE =
+      value -> CompletableFuture.completedFuture(value + 1);
+
+  @Benchmark
+  public Integer listenableFuture() throws Exception {
+    SettableFuture<Integer> root = SettableFuture.create();
+    ListenableFuture<Integer> future = root;
+    for (int i = 0; i < nodes; i++) {
+      future = Futures.transformAsync(future, LISTENABLE_FUTURE_NODE, directExecutor());
+    }
+    root.set(0);
+    return future.get();
+  }
+
+  @Benchmark
+  public Integer completionStage() throws Exception {
+    SettableFuture<Integer> root = SettableFuture.create();
+    ListenableFuture<Integer> future = root;
+    for (int i = 0; i < nodes; i++) {
+      future = Futures.transformAsync(future, COMPLETION_STAGE_NODE, directExecutor());
+    }
+    root.set(0);
+    return future.get();
+  }
+
+  @Benchmark
+  public Integer completableFutureBaseline() throws Exception {
+    CompletableFuture<Integer> root = new CompletableFuture<>();
+    CompletableFuture<Integer> future = root;
+    for (int i = 0; i < nodes; i++) {
+      future = future.thenCompose(COMPLETABLE_FUTURE_NODE);
+    }
+    root.complete(0);
+    return future.get();
+  }
+}
@@ -32,6 +32,8 @@ import dagger.Provides;
 import dagger.internal.codegen.base.ClearableCache;
 import dagger.internal.codegen.base.SourceFileGenerator;
 import dagger.internal.codegen.base.SourceFileHjarGenerator;
+import dagger.internal.codegen.base.TimingReport;
+import dagger.internal.codegen.binding.ComponentDeclarations;
 import dagger.internal.codegen.binding.ComponentDescriptor;
 import dagger.internal.codegen.binding.ContributionBinding;
 import dagger.internal.codegen.binding.InjectBindingRegistry;
@@ -78,6 +80,7 @@ final class DelegateComponentProcessor {
   @Inject ValidationBindingGraphPlugins validationBindingGraphPlugins;
   @Inject ExternalBindingGraphPlugins externalBindingGraphPlugins;
   @Inject Set<ClearableCache> clearableCaches;
+  @Inject TimingReport timingReport;
 
   public void initialize(
       XProcessingEnv env,
@@ -126,6 +129,7 @@ final class DelegateComponentProcessor {
     } else {
       validationBindingGraphPlugins.endPlugins();
       externalBindingGraphPlugins.endPlugins();
+      timingReport.write();
     }
     clearableCaches.forEach(ClearableCache::clearCache);
   }
@@ -174,6 +178,10 @@ final class DelegateComponentProcessor {
     @IntoSet
     ClearableCache componentDescriptorFactory(ComponentDescriptor.Factory cache);
 
+    @Binds
+    @IntoSet
+    ClearableCache componentDeclarationsFactory(ComponentDeclarations.Factory cache);
+
     @Binds
     @IntoSet
     ClearableCache monitoringModules(MonitoringModules cache);
@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.internal.codegen.base;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import androidx.room.compiler.processing.XMessager;
+import dagger.internal.codegen.compileroption.CompilerOptions;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.tools.Diagnostic;
+
+/**
+ * Records the wall time and allocation of the phases of processing when {@code
+ * -Adagger.timingReport=<path>} is set, and writes them to that path as CSV when processing is
+ * over.
+ *
+ * <p>Each row aggregates all timed runs of a phase for one subject, either a processing step or a
+ * component. Phases can be nested; for example, a processing step includes the component phases it
+ * runs, so times should not be summed across phases. Allocation is measured on the processing
+ * thread only, and is reported as {@code -1} if the JVM can't measure it.
+ */
+@Singleton
+public final class TimingReport {
+  /** A timed phase of processing. */
+  public enum Phase {
+    /** A call to a processing step, including all the phases it runs. */
+    PROCESSING_STEP,
+    /** Superficial validation of the elements processed by a processing step. */
+    SUPERFICIAL_VALIDATION,
+    /** Resolving a component's binding graphs. */
+    BINDING_GRAPH_RESOLUTION,
+    /** Visiting a component's binding graphs with Dagger's validation plugins. */
+    VALIDATION_PLUGINS,
+    /** Converting a component's binding graph to the models used by external plugins. */
+    SPI_MODEL_CONVERSION,
+    /** Visiting a component's binding graph with external plugins, including model conversion. */
+    EXTERNAL_PLUGINS,
+    /** Generating a component's implementation. */
+    CODE_GENERATION,
+  }
+
+  private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+  private final Optional<String> path;
+  private final XMessager messager;
+  private final Map<Phase, Map<String, Timing>> timings = new EnumMap<>(Phase.class);
+
+  @Inject
+  TimingReport(CompilerOptions compilerOptions, XMessager messager) {
+    this.path = compilerOptions.timingReportPath();
+    this.messager = messager;
+  }
+
+  /** Runs {@code work}, recording it as a run of {@code phase} for {@code subject}. */
+  public void time(Phase phase, String subject, Runnable work) {
+    time(
+        phase,
+        subject,
+        () -> {
+          work.run();
+          return null;
+        });
+  }
+
+  /**
+   * Returns the result of {@code work}, recording it as a run of {@code phase} for {@code
+   * subject}.
+   */
+  public <T> T time(Phase phase, String subject, Supplier<T> work) {
+    if (!path.isPresent()) {
+      return work.get();
+    }
+    long startBytes = allocatedBytes();
+    long startNanos = System.nanoTime();
+    try {
+      return work.get();
+    } finally {
+      long wallNanos = System.nanoTime() - startNanos;
+      long endBytes = allocatedBytes();
+      timings
+          .computeIfAbsent(phase, unused -> new LinkedHashMap<>())
+          .computeIfAbsent(subject, unused -> new Timing())
+          .add(wallNanos, startBytes < 0 || endBytes < 0 ? -1 : endBytes - startBytes);
+    }
+  }
+
+  /** Writes the report, if one was requested. */
+  public void write() {
+    if (!path.isPresent()) {
+      return;
+    }
+    List<String> lines = new ArrayList<>();
+    lines.add("phase,subject,count,wall_millis,allocated_bytes");
+    timings.forEach(
+        (phase, timingsBySubject) ->
+            timingsBySubject.forEach(
+                (subject, timing) ->
+                    lines.add(
+                        String.format(
+                            Locale.ROOT,
+                            "%s,%s,%d,%.3f,%d",
+                            phase,
+                            subject,
+                            timing.count,
+                            timing.wallNanos / 1e6,
+                            timing.allocatedBytes))));
+    try {
+      Path reportPath = Paths.get(path.get());
+      if (reportPath.getParent() != null) {
+        Files.createDirectories(reportPath.getParent());
+      }
+      Files.write(reportPath, lines, UTF_8);
+    } catch (IOException e) {
+      messager.printMessage(
+          Diagnostic.Kind.WARNING,
+          String.format("Could not write the Dagger timing report to %s: %s", path.get(), e));
+    }
+  }
+
+  private static long allocatedBytes() {
+    if (THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean) {
+      com.sun.management.ThreadMXBean threadMxBean =
+          (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+      if (threadMxBean.isThreadAllocatedMemorySupported()
+          && threadMxBean.isThreadAllocatedMemoryEnabled()) {
+        return threadMxBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+      }
+    }
+    return -1;
+  }
+
+  private static final class Timing {
+    private int count;
+    private long wallNanos;
+    private long allocatedBytes;
+
+    void add(long wallNanos, long allocatedBytes) {
+      this.count++;
+      this.wallNanos += wallNanos;
+      this.allocatedBytes =
+          this.allocatedBytes < 0 || allocatedBytes < 0 ? -1 : this.allocatedBytes + allocatedBytes;
+    }
+  }
+}
@@ -383,7 +383,7 @@ public final class BindingGraphFactory {
         ImmutableSet<DelegateDeclaration> delegateDeclarations) {
       ImmutableSet.Builder<ContributionBinding> builder = ImmutableSet.builder();
       for (DelegateDeclaration delegateDeclaration : delegateDeclarations) {
-        builder.add(bindingFactory.delegateBinding(delegateDeclaration));
+        builder.add(declarations.delegateBinding(delegateDeclaration));
       }
       return builder.build();
     }
@@ -32,18 +32,23 @@ import com.google.common.collect.Multimaps;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.WildcardTypeName;
+import dagger.internal.codegen.base.ClearableCache;
 import dagger.internal.codegen.base.DaggerSuperficialValidation;
 import dagger.internal.codegen.base.FrameworkTypes;
 import dagger.internal.codegen.model.DaggerAnnotation;
 import dagger.internal.codegen.model.Key;
 import dagger.internal.codegen.model.Key.MultibindingContributionIdentifier;
 import dagger.internal.codegen.xprocessing.XTypeNames;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import javax.inject.Inject;
+import javax.inject.Singleton;
 
 /** Stores the bindings and declarations of a component by key. */
-final class ComponentDeclarations {
+public final class ComponentDeclarations {
   private final KeyFactory keyFactory;
+  private final BindingFactory bindingFactory;
   private final ImmutableSetMultimap<Key, ContributionBinding> bindings;
   private final ImmutableSetMultimap<Key, DelegateDeclaration> delegates;
   private final ImmutableSetMultimap<Key, OptionalBindingDeclaration> optionalBindings;
@@ -52,9 +57,11 @@ final class ComponentDeclarations {
   private final ImmutableSetMultimap<TypeNameKey, ContributionBinding> multibindingContributions;
   private final ImmutableSetMultimap<TypeNameKey, DelegateDeclaration>
       delegateMultibindingContributions;
+  private final Map<DelegateDeclaration, ContributionBinding> delegateBindings = new HashMap<>();
 
   private ComponentDeclarations(
       KeyFactory keyFactory,
+      BindingFactory bindingFactory,
       ImmutableSetMultimap<Key, ContributionBinding> bindings,
       ImmutableSetMultimap<Key, DelegateDeclaration> delegates,
       ImmutableSetMultimap<Key, OptionalBindingDeclaration> optionalBindings,
@@ -63,6 +70,7 @@ final class ComponentDeclarations {
       ImmutableSetMultimap<TypeNameKey, ContributionBinding> multibindingContributions,
       ImmutableSetMultimap<TypeNameKey, DelegateDeclaration> delegateMultibindingContributions) {
     this.keyFactory = keyFactory;
+    this.bindingFactory = bindingFactory;
     this.bindings = bindings;
     this.delegates = delegates;
     this.optionalBindings = optionalBindings;
@@ -76,6 +84,14 @@ final class ComponentDeclarations {
     return bindings.get(key);
   }
 
+  /**
+   * Returns the delegate binding for one of this component's {@code @Binds} declarations.
+   * The binding is created once and shared by every graph that uses these declarations.
+   */
+  ContributionBinding delegateBinding(DelegateDeclaration delegateDeclaration) {
+    return delegateBindings.computeIfAbsent(delegateDeclaration, bindingFactory::delegateBinding);
+  }
+
   ImmutableSet<DelegateDeclaration> delegates(Key key) {
     // @Binds @IntoMap declarations have key Map<K, V> but may be requested as
     // Map<K, Provider/Producer<V>> keys, so unwrap the multibinding map contribution key first.
@@ -179,23 +195,47 @@ final class ComponentDeclarations {
         .build();
   }
 
-  static final class Factory {
+  /**
+   * A factory for {@link ComponentDeclarations}.
+   *
+   * <p>The declarations of a component depend only on its descriptor and on whether the implicit
+   * production modules are installed, so they are cached and shared by every binding graph that
+   * includes the component, e.g. the pruned and full graphs of a root component, or the graphs of
+   * different components that include the same subcomponent.
+   */
+  @Singleton
+  public static final class Factory implements ClearableCache {
     private final XProcessingEnv processingEnv;
     private final KeyFactory keyFactory;
+    private final BindingFactory bindingFactory;
     private final ModuleDescriptor.Factory moduleDescriptorFactory;
+    private final Map<ComponentDescriptor, ComponentDeclarations> cache = new HashMap<>();
+    private final Map<ComponentDescriptor, ComponentDeclarations>
+        cacheWithImplicitProductionModules = new HashMap<>();
 
     @Inject
     Factory(
         XProcessingEnv processingEnv,
         KeyFactory keyFactory,
+        BindingFactory bindingFactory,
         ModuleDescriptor.Factory moduleDescriptorFactory) {
       this.processingEnv = processingEnv;
       this.keyFactory = keyFactory;
+      this.bindingFactory = bindingFactory;
       this.moduleDescriptorFactory = moduleDescriptorFactory;
     }
 
     ComponentDeclarations create(
         Optional<ComponentDescriptor> parentDescriptor, ComponentDescriptor descriptor) {
+      return shouldIncludeImplicitProductionModules(descriptor, parentDescriptor)
+          ? cacheWithImplicitProductionModules.computeIfAbsent(
+              descriptor, unused -> createUncached(parentDescriptor, descriptor))
+          : cache.computeIfAbsent(
+              descriptor, unused -> createUncached(parentDescriptor, descriptor));
+    }
+
+    private ComponentDeclarations createUncached(
+        Optional<ComponentDescriptor> parentDescriptor, ComponentDescriptor descriptor) {
       ImmutableSet.Builder<ContributionBinding> bindings = ImmutableSet.builder();
       ImmutableSet.Builder<DelegateDeclaration> delegates = ImmutableSet.builder();
       ImmutableSet.Builder<MultibindingDeclaration> multibindings = ImmutableSet.builder();
@@ -220,6 +260,7 @@ final class ComponentDeclarations {
 
       return new ComponentDeclarations(
           keyFactory,
+          bindingFactory,
           indexDeclarationsByKey(bindings.build()),
           indexDeclarationsByKey(delegates.build()),
           indexDeclarationsByKey(optionalBindings.build()),
@@ -281,6 +322,12 @@ final class ComponentDeclarations {
           .filter(declaration -> declaration.key().multibindingContributionIdentifier().isPresent())
           .collect(toImmutableSet());
     }
+
+    @Override
+    public void clearCache() {
+      cache.clear();
+      cacheWithImplicitProductionModules.clear();
+    }
   }
 
   /**
@@ -26,6 +26,7 @@ import androidx.room.compiler.codegen.XTypeName;
 import androidx.room.compiler.processing.XProcessingEnv;
 import com.squareup.javapoet.ParameterizedTypeName;
 import dagger.internal.codegen.base.RequestKinds;
+import dagger.internal.codegen.compileroption.CompilerOptions;
 import dagger.internal.codegen.model.RequestKind;
 import dagger.internal.codegen.xprocessing.XExpression;
 import dagger.internal.codegen.xprocessing.XTypeNames;
@@ -38,7 +39,8 @@ public enum FrameworkType {
     @Override
     public XCodeBlock to(
         RequestKind requestKind,
-        XCodeBlock from) {
+        XCodeBlock from,
+        CompilerOptions compilerOptions) {
       switch (requestKind) {
         case INSTANCE:
           return XCodeBlock.of("%L.get()", from);
@@ -46,14 +48,19 @@ public enum FrameworkType {
         case LAZY:
           return XCodeBlock.of(
               "%T.lazy(%L)",
-              XTypeNames.DOUBLE_CHECK,
+              compilerOptions.virtualThreadSafe()
+                  ? XTypeNames.LOCK_FREE_DOUBLE_CHECK
+                  : XTypeNames.DOUBLE_CHECK,
               from);
 
         case PROVIDER:
           return from;
 
         case PROVIDER_OF_LAZY:
-          return XCodeBlock.of("%T.create(%L)", XTypeNames.PROVIDER_OF_LAZY, from);
+          return XCodeBlock.of(
+              compilerOptions.virtualThreadSafe() ? "%T.createLockFree(%L)" : "%T.create(%L)",
+              XTypeNames.PROVIDER_OF_LAZY,
+              from);
 
         case PRODUCER:
           return XCodeBlock.of("%T.producerFromProvider(%L)", XTypeNames.PRODUCERS, from);
@@ -64,7 +71,8 @@ public enum FrameworkType {
               XTypeNames.FUTURES,
               to(
                   RequestKind.INSTANCE,
-                  from));
+                  from,
+                  compilerOptions));
 
         case PRODUCED:
           return XCodeBlock.of(
@@ -72,7 +80,8 @@ public enum FrameworkType {
               XTypeNames.PRODUCED,
               to(
                   RequestKind.INSTANCE,
-                  from));
+                  from,
+                  compilerOptions));
 
         default:
           throw new IllegalArgumentException(
@@ -84,11 +93,13 @@ public enum FrameworkType {
     public XExpression to(
         RequestKind requestKind,
         XExpression from,
-        XProcessingEnv processingEnv) {
+        XProcessingEnv processingEnv,
+        CompilerOptions compilerOptions) {
       XCodeBlock codeBlock =
           to(
               requestKind,
-              from.codeBlock());
+              from.codeBlock(),
+              compilerOptions);
       switch (requestKind) {
         case INSTANCE:
           return XExpression.create(from.type().unwrapType(), codeBlock);
@@ -117,7 +128,8 @@ public enum FrameworkType {
     @Override
     public XCodeBlock to(
         RequestKind requestKind,
-        XCodeBlock from) {
+        XCodeBlock from,
+        CompilerOptions compilerOptions) {
       switch (requestKind) {
         case FUTURE:
           return XCodeBlock.of("%L.get()", from);
@@ -135,14 +147,16 @@ public enum FrameworkType {
     public XExpression to(
         RequestKind requestKind,
         XExpression from,
-        XProcessingEnv processingEnv) {
+        XProcessingEnv processingEnv,
+        CompilerOptions compilerOptions) {
       switch (requestKind) {
         case FUTURE:
           return XExpression.create(
               from.type().rewrapType(XTypeNames.LISTENABLE_FUTURE),
               to(
                   requestKind,
-                  from.codeBlock()));
+                  from.codeBlock(),
+                  compilerOptions));
 
         case PRODUCER:
           return from;
@@ -215,12 +229,15 @@ public enum FrameworkType {
    * @param requestKind the kind of {@link DependencyRequest} that the returned expression can
    *     satisfy
    * @param from a {@link XCodeBlock} that evaluates to an instance of this framework type
+   * @param compilerOptions the options that determine which runtime types are used, e.g. for
+   *     {@link dagger.Lazy}
    * @throws IllegalArgumentException if a valid expression cannot be generated for {@code
    *     requestKind}
    */
   public abstract XCodeBlock to(
       RequestKind requestKind,
-      XCodeBlock from);
+      XCodeBlock from,
+      CompilerOptions compilerOptions);
 
   /**
    * Returns an {@link XExpression} that evaluates to a requested object given an expression that
@@ -229,13 +246,16 @@ public enum FrameworkType {
    * @param requestKind the kind of {@link DependencyRequest} that the returned expression can
    *     satisfy
    * @param from an expression that evaluates to an instance of this framework type
+   * @param compilerOptions the options that determine which runtime types are used, e.g. for
+   *     {@link dagger.Lazy}
    * @throws IllegalArgumentException if a valid expression cannot be generated for {@code
    *     requestKind}
    */
   public abstract XExpression to(
       RequestKind requestKind,
       XExpression from,
-      XProcessingEnv processingEnv);
+      XProcessingEnv processingEnv,
+      CompilerOptions compilerOptions);
 
   @Override
   public String toString() {
@@ -24,6 +24,7 @@ import static dagger.internal.codegen.base.ProducerAnnotations.productionQualifi
 import static dagger.internal.codegen.base.RequestKinds.extractKeyType;
 import static dagger.internal.codegen.binding.MapKeys.getMapKey;
 import static dagger.internal.codegen.extension.DaggerStreams.toImmutableList;
+import static dagger.internal.codegen.xprocessing.XTypeNames.isCompletionStageType;
 import static dagger.internal.codegen.xprocessing.XTypeNames.isFutureType;
 import static dagger.internal.codegen.xprocessing.XTypes.isDeclared;
 import static dagger.internal.codegen.xprocessing.XTypes.unwrapType;
@@ -158,7 +159,7 @@ public final class KeyFactory {
     ContributionType contributionType = ContributionType.fromBindingElement(method);
     XType returnType = methodType.getReturnType();
     if (frameworkClassName.isPresent() && frameworkClassName.get().equals(XTypeNames.PRODUCER)) {
-      if (isFutureType(returnType)) {
+      if (isFutureType(returnType) || isProducedCompletionStage(returnType)) {
         returnType = getOnlyElement(returnType.getTypeArguments());
       } else if (contributionType.equals(ContributionType.SET_VALUES)
           && SetType.isSet(returnType)) {
@@ -176,6 +177,14 @@ public final class KeyFactory {
             DaggerTypeElement.from(contributingModule), DaggerExecutableElement.from(method));
   }
 
+  /**
+   * Returns {@code true} if a {@code @Produces} method returning {@code type} produces the value of
+   * a {@code CompletionStage} instead of the stage itself.
+   */
+  private boolean isProducedCompletionStage(XType type) {
+    return compilerOptions.completionStageProducers() && isCompletionStageType(type);
+  }
+
   /**
    * Returns the key for a {@link Multibinds @Multibinds} method.
    *
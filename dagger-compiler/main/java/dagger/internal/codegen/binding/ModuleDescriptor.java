@@ -16,6 +16,7 @@
 
 package dagger.internal.codegen.binding;
 
+import static androidx.room.compiler.processing.compat.XConverters.toJavac;
 import static com.google.common.base.CaseFormat.LOWER_CAMEL;
 import static com.google.common.base.CaseFormat.UPPER_CAMEL;
 import static com.google.common.base.Verify.verify;
@@ -39,12 +40,14 @@ import com.google.auto.value.AutoValue;
 import com.google.auto.value.extension.memoized.Memoized;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.graph.Traverser;
+import com.sun.source.util.Trees;
 import dagger.Binds;
 import dagger.BindsOptionalOf;
 import dagger.Module;
 import dagger.internal.codegen.base.ClearableCache;
 import dagger.internal.codegen.base.DaggerSuperficialValidation;
 import dagger.internal.codegen.base.ModuleKind;
+import dagger.internal.codegen.compileroption.CompilerOptions;
 import dagger.internal.codegen.model.Key;
 import dagger.internal.codegen.xprocessing.XTypeElements;
 import dagger.internal.codegen.xprocessing.XTypeNames;
@@ -52,6 +55,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -109,6 +113,7 @@ public abstract class ModuleDescriptor {
     private final SubcomponentDeclaration.Factory subcomponentDeclarationFactory;
     private final OptionalBindingDeclaration.Factory optionalBindingDeclarationFactory;
     private final DaggerSuperficialValidation superficialValidation;
+    private final CompilerOptions compilerOptions;
     private final Map<XTypeElement, ModuleDescriptor> cache = new HashMap<>();
     private final Set<XTypeElement> implicitlyIncludedModules = new LinkedHashSet<>();
 
@@ -120,7 +125,8 @@ public abstract class ModuleDescriptor {
         DelegateDeclaration.Factory bindingDelegateDeclarationFactory,
         SubcomponentDeclaration.Factory subcomponentDeclarationFactory,
         OptionalBindingDeclaration.Factory optionalBindingDeclarationFactory,
-        DaggerSuperficialValidation superficialValidation) {
+        DaggerSuperficialValidation superficialValidation,
+        CompilerOptions compilerOptions) {
       this.processingEnv = processingEnv;
       this.bindingFactory = bindingFactory;
       this.multibindingDeclarationFactory = multibindingDeclarationFactory;
@@ -128,6 +134,7 @@ public abstract class ModuleDescriptor {
       this.subcomponentDeclarationFactory = subcomponentDeclarationFactory;
       this.optionalBindingDeclarationFactory = optionalBindingDeclarationFactory;
       this.superficialValidation = superficialValidation;
+      this.compilerOptions = compilerOptions;
     }
 
     public ModuleDescriptor create(XTypeElement moduleElement) {
@@ -273,7 +280,26 @@ public abstract class ModuleDescriptor {
 
     @Override
     public void clearCache() {
+      if (compilerOptions.cachePrecompiledModuleDescriptors()
+          && processingEnv.getBackend() == XProcessingEnv.Backend.JAVAC) {
+        Optional<Trees> trees = trees();
+        if (trees.isPresent()) {
+          // A module read from a class file can't change during a compilation, and javac keeps its
+          // elements valid across rounds, so only modules compiled from source are derived again.
+          cache.keySet().removeIf(module -> trees.get().getTree(toJavac(module)) != null);
+          return;
+        }
+      }
       cache.clear();
     }
+
+    private Optional<Trees> trees() {
+      try {
+        return Optional.of(Trees.instance(toJavac(processingEnv)));
+      } catch (IllegalArgumentException e) {
+        // The processing environment isn't javac's own, e.g. it was wrapped by a build tool.
+        return Optional.empty();
+      }
+    }
   }
 }
@@ -47,6 +47,7 @@ import com.google.common.collect.Maps;
 import dagger.internal.codegen.base.MapType;
 import dagger.internal.codegen.base.SetType;
 import dagger.internal.codegen.binding.MembersInjectionBinding.InjectionSite;
+import dagger.internal.codegen.compileroption.CompilerOptions;
 import dagger.internal.codegen.model.DependencyRequest;
 import dagger.internal.codegen.model.RequestKind;
 import dagger.internal.codegen.xprocessing.XTypeNames;
@@ -58,7 +59,12 @@ public final class SourceFiles {
 
   private static final Joiner CLASS_FILE_NAME_JOINER = Joiner.on('_');
 
-  @Inject SourceFiles() {}
+  private final CompilerOptions compilerOptions;
+
+  @Inject
+  SourceFiles(CompilerOptions compilerOptions) {
+    this.compilerOptions = compilerOptions;
+  }
 
   /**
    * Generates names and keys for the factory class fields needed to hold the framework classes for
@@ -97,7 +103,9 @@ public final class SourceFiles {
       case LAZY:
         return XCodeBlock.of(
             "%T.lazy(%L)",
-            XTypeNames.DOUBLE_CHECK,
+            compilerOptions.virtualThreadSafe()
+                ? XTypeNames.LOCK_FREE_DOUBLE_CHECK
+                : XTypeNames.DOUBLE_CHECK,
             frameworkTypeMemberSelect);
       case INSTANCE:
       case FUTURE:
@@ -107,7 +115,9 @@ public final class SourceFiles {
         return frameworkTypeMemberSelect;
       case PROVIDER_OF_LAZY:
         return XCodeBlock.of(
-            "%T.create(%L)", XTypeNames.PROVIDER_OF_LAZY, frameworkTypeMemberSelect);
+            compilerOptions.virtualThreadSafe() ? "%T.createLockFree(%L)" : "%T.create(%L)",
+            XTypeNames.PROVIDER_OF_LAZY,
+            frameworkTypeMemberSelect);
       default: // including PRODUCED
         throw new AssertionError(dependencyKind);
     }
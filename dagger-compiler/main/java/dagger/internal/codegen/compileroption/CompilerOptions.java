@@ -17,6 +17,7 @@
 package dagger.internal.codegen.compileroption;
 
 import androidx.room.compiler.processing.XTypeElement;
+import java.util.Optional;
 import javax.tools.Diagnostic;
 
 /** A collection of options that dictate how the compiler will run. */
@@ -33,6 +34,108 @@ public abstract class CompilerOptions {
 
   public abstract boolean formatGeneratedSource();
 
+  /**
+   * Returns {@code true} if scoped bindings should be memoized with {@code LockFreeDoubleCheck}
+   * instead of {@code DoubleCheck}.
+   *
+   * <p>{@code LockFreeDoubleCheck} claims initialization with a compare-and-set rather than a
+   * monitor, so threads racing to initialize the same binding park instead of blocking on the
+   * monitor (which also pins the carrier thread of a virtual thread).
+   *
+   * <p>This is also enabled by {@link #virtualThreadSafe()}.
+   */
+  public abstract boolean lockFreeScopedProviders();
+
+  /**
+   * Returns {@code true} if generated code should avoid any runtime type that acquires a monitor,
+   * so that resolving bindings from a virtual thread never pins its carrier thread.
+   *
+   * <p>In this mode scoped bindings are memoized with {@code LockFreeDoubleCheck} (see {@link
+   * #lockFreeScopedProviders()}), and {@code Lazy<T>} and {@code Provider<Lazy<T>>} requests use
+   * {@code LockFreeDoubleCheck.lazy()} and {@code ProviderOfLazy.createLockFree()} instead of
+   * {@code DoubleCheck.lazy()} and {@code ProviderOfLazy.create()}.
+   */
+  public abstract boolean virtualThreadSafe();
+
+  /**
+   * Returns {@code true} if the {@code Provider<Set<T>>} for a set multibinding whose contributions
+   * are all scoped {@code @IntoSet} bindings should build its set once and return the same instance
+   * on every call, rather than rebuilding it each time.
+   */
+  public abstract boolean memoizeScopedSetMultibindings();
+
+  /**
+   * Returns {@code true} if root components should be generated with an {@code
+   * initializeEagerly(component, executor)} method that constructs the component's scoped bindings
+   * up front, running independent bindings in parallel on the given executor.
+   */
+  public abstract boolean eagerParallelInitialization();
+
+  /**
+   * Returns {@code true} if components should report the time taken to provision each {@code
+   * Inject} constructor and {@code Provides} method binding to {@code
+   * dagger.internal.ProvisionTracing}.
+   */
+  public abstract boolean provisionTracing();
+
+  /**
+   * Returns {@code true} if each binding requested as {@code Provider<Lazy<T>>} should share a
+   * single provider held in a field of the component, rather than creating a new one for each
+   * request.
+   */
+  public abstract boolean memoizeProviderOfLazy();
+
+  /**
+   * Returns {@code true} if descriptors of modules loaded from class files should be kept across
+   * processing rounds instead of being derived again in each round.
+   */
+  public abstract boolean cachePrecompiledModuleDescriptors();
+
+  /**
+   * Returns {@code true} if each shard of a component should be generated as a package-private
+   * top-level class in its own file, instead of being nested in the generated component.
+   */
+  public abstract boolean topLevelComponentShards();
+
+  /**
+   * Returns {@code true} if shards and switching provider ids should be derived from hashes of
+   * binding keys instead of from the order in which bindings are visited, so that a small change to
+   * a graph only changes a small part of the generated component.
+   */
+  public abstract boolean stableComponentOutput();
+
+  /**
+   * Returns {@code true} if initialization methods and switching provider methods should be
+   * partitioned by the estimated size of their bytecode instead of by a fixed number of statements.
+   * Shards are still partitioned by {@link #keysPerComponentShard}, since the shard of a binding
+   * must be known before its code is generated.
+   */
+  public abstract boolean bytecodeSizePartitioning();
+
+  /**
+   * Returns {@code true} if the generated {@code SwitchingProvider}s should count the instances
+   * requested from them with {@code dagger.internal.SwitchingProviderProfiler}.
+   */
+  public abstract boolean switchingProviderProfiling();
+
+  /**
+   * Returns {@code true} if {@code @Produces} methods may return a {@code CompletionStage} or
+   * {@code CompletableFuture} of their value, which is then treated like a {@code
+   * ListenableFuture} of it.
+   *
+   * <p>The key bound by such a method depends on this option, so a {@code @ProducerModule} must be
+   * compiled with the same setting as the components that include it. A mismatch is reported when
+   * the component is compiled.
+   */
+  public abstract boolean completionStageProducers();
+
+  /**
+   * Returns {@code true} if the {@code ProducerToken}s of generated producers should include the
+   * keys of the producer and of its dependencies, so that monitors can reconstruct the producer
+   * graph at runtime.
+   */
+  public abstract boolean producerDependencyMetadata();
+
   public abstract boolean writeProducerNameInToken();
 
   public abstract Diagnostic.Kind nullableValidationKind();
@@ -142,6 +245,23 @@ public abstract class CompilerOptions {
     return 3500;
   }
 
+  /**
+   * Returns the path to which a report of the time spent in each phase of processing should be
+   * written, if any.
+   */
+  public Optional<String> timingReportPath() {
+    return Optional.empty();
+  }
+
+  /**
+   * Returns the path of a profile written by {@code dagger.internal.SwitchingProviderProfiler}, if
+   * any. The keys requested most often in the profile are given the first switch cases of each
+   * {@code SwitchingProvider}.
+   */
+  public Optional<String> switchingProviderProfilePath() {
+    return Optional.empty();
+  }
+
   /**
    * This option enables a fix to an issue where Dagger previously would erroneously allow
    * multibinding contributions in a component to have dependencies on child components. This will
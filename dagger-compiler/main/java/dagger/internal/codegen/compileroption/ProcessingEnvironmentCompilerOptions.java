@@ -22,6 +22,10 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.collect.Sets.immutableEnumSet;
 import static dagger.internal.codegen.compileroption.FeatureStatus.DISABLED;
 import static dagger.internal.codegen.compileroption.FeatureStatus.ENABLED;
+import static dagger.internal.codegen.compileroption.ProcessingEnvironmentCompilerOptions.Feature.BYTECODE_SIZE_PARTITIONING;
+import static dagger.internal.codegen.compileroption.ProcessingEnvironmentCompilerOptions.Feature.CACHE_PRECOMPILED_MODULE_DESCRIPTORS;
+import static dagger.internal.codegen.compileroption.ProcessingEnvironmentCompilerOptions.Feature.COMPLETION_STAGE_PRODUCERS;
+import static dagger.internal.codegen.compileroption.ProcessingEnvironmentCompilerOptions.Feature.EAGER_PARALLEL_INITIALIZATION;
 import static dagger.internal.codegen.compileroption.ProcessingEnvironmentCompilerOptions.Feature.EXPERIMENTAL_AHEAD_OF_TIME_SUBCOMPONENTS;
 import static dagger.internal.codegen.compileroption.ProcessingEnvironmentCompilerOptions.Feature.EXPERIMENTAL_ANDROID_MODE;
 import static dagger.internal.codegen.compileroption.ProcessingEnvironmentCompilerOptions.Feature.EXPERIMENTAL_DAGGER_ERROR_MESSAGES;
@@ -31,12 +35,21 @@ import static dagger.internal.codegen.compileroption.ProcessingEnvironmentCompil
 import static dagger.internal.codegen.compileroption.ProcessingEnvironmentCompilerOptions.Feature.GENERATED_CLASS_EXTENDS_COMPONENT;
 import static dagger.internal.codegen.compileroption.ProcessingEnvironmentCompilerOptions.Feature.IGNORE_PROVISION_KEY_WILDCARDS;
 import static dagger.internal.codegen.compileroption.ProcessingEnvironmentCompilerOptions.Feature.INCLUDE_STACKTRACE_WITH_DEFERRED_ERROR_MESSAGES;
+import static dagger.internal.codegen.compileroption.ProcessingEnvironmentCompilerOptions.Feature.LOCK_FREE_SCOPED_PROVIDERS;
+import static dagger.internal.codegen.compileroption.ProcessingEnvironmentCompilerOptions.Feature.MEMOIZE_PROVIDER_OF_LAZY;
+import static dagger.internal.codegen.compileroption.ProcessingEnvironmentCompilerOptions.Feature.MEMOIZE_SCOPED_SET_MULTIBINDINGS;
 import static dagger.internal.codegen.compileroption.ProcessingEnvironmentCompilerOptions.Feature.PLUGINS_VISIT_FULL_BINDING_GRAPHS;
+import static dagger.internal.codegen.compileroption.ProcessingEnvironmentCompilerOptions.Feature.PRODUCER_DEPENDENCY_METADATA;
+import static dagger.internal.codegen.compileroption.ProcessingEnvironmentCompilerOptions.Feature.PROVISION_TRACING;
+import static dagger.internal.codegen.compileroption.ProcessingEnvironmentCompilerOptions.Feature.STABLE_COMPONENT_OUTPUT;
 import static dagger.internal.codegen.compileroption.ProcessingEnvironmentCompilerOptions.Feature.STRICT_MULTIBINDING_VALIDATION;
 import static dagger.internal.codegen.compileroption.ProcessingEnvironmentCompilerOptions.Feature.STRICT_SUPERFICIAL_VALIDATION;
+import static dagger.internal.codegen.compileroption.ProcessingEnvironmentCompilerOptions.Feature.SWITCHING_PROVIDER_PROFILING;
+import static dagger.internal.codegen.compileroption.ProcessingEnvironmentCompilerOptions.Feature.TOP_LEVEL_COMPONENT_SHARDS;
 import static dagger.internal.codegen.compileroption.ProcessingEnvironmentCompilerOptions.Feature.USE_BINDING_GRAPH_FIX;
 import static dagger.internal.codegen.compileroption.ProcessingEnvironmentCompilerOptions.Feature.USE_FRAMEWORK_TYPE_IN_MAP_MULTIBINDING_CONTRIBUTION_KEY;
 import static dagger.internal.codegen.compileroption.ProcessingEnvironmentCompilerOptions.Feature.VALIDATE_TRANSITIVE_COMPONENT_DEPENDENCIES;
+import static dagger.internal.codegen.compileroption.ProcessingEnvironmentCompilerOptions.Feature.VIRTUAL_THREAD_SAFE;
 import static dagger.internal.codegen.compileroption.ProcessingEnvironmentCompilerOptions.Feature.WARN_IF_INJECTION_FACTORY_NOT_GENERATED_UPSTREAM;
 import static dagger.internal.codegen.compileroption.ProcessingEnvironmentCompilerOptions.Feature.WRITE_PRODUCER_NAME_IN_TOKEN;
 import static dagger.internal.codegen.compileroption.ProcessingEnvironmentCompilerOptions.KeyOnlyOption.HEADER_COMPILATION;
@@ -76,6 +89,9 @@ import javax.tools.Diagnostic;
 public final class ProcessingEnvironmentCompilerOptions extends CompilerOptions {
   // EnumOption<T> doesn't support integer inputs so just doing this as a 1-off for now.
   private static final String KEYS_PER_COMPONENT_SHARD = "dagger.keysPerComponentShard";
+  // EnumOption<T> doesn't support path inputs either.
+  private static final String TIMING_REPORT = "dagger.timingReport";
+  private static final String SWITCHING_PROVIDER_PROFILE = "dagger.switchingProviderProfile";
 
   private final XProcessingEnv processingEnv;
   private final XMessager messager;
@@ -114,6 +130,71 @@ public final class ProcessingEnvironmentCompilerOptions extends CompilerOptions
     return isEnabled(FORMAT_GENERATED_SOURCE);
   }
 
+  @Override
+  public boolean lockFreeScopedProviders() {
+    return isEnabled(LOCK_FREE_SCOPED_PROVIDERS) || virtualThreadSafe();
+  }
+
+  @Override
+  public boolean virtualThreadSafe() {
+    return isEnabled(VIRTUAL_THREAD_SAFE);
+  }
+
+  @Override
+  public boolean memoizeScopedSetMultibindings() {
+    return isEnabled(MEMOIZE_SCOPED_SET_MULTIBINDINGS);
+  }
+
+  @Override
+  public boolean eagerParallelInitialization() {
+    return isEnabled(EAGER_PARALLEL_INITIALIZATION);
+  }
+
+  @Override
+  public boolean provisionTracing() {
+    return isEnabled(PROVISION_TRACING);
+  }
+
+  @Override
+  public boolean memoizeProviderOfLazy() {
+    return isEnabled(MEMOIZE_PROVIDER_OF_LAZY);
+  }
+
+  @Override
+  public boolean cachePrecompiledModuleDescriptors() {
+    return isEnabled(CACHE_PRECOMPILED_MODULE_DESCRIPTORS);
+  }
+
+  @Override
+  public boolean topLevelComponentShards() {
+    return isEnabled(TOP_LEVEL_COMPONENT_SHARDS);
+  }
+
+  @Override
+  public boolean stableComponentOutput() {
+    return isEnabled(STABLE_COMPONENT_OUTPUT);
+  }
+
+  @Override
+  public boolean bytecodeSizePartitioning() {
+    return isEnabled(BYTECODE_SIZE_PARTITIONING);
+  }
+
+  @Override
+  public boolean switchingProviderProfiling() {
+    return isEnabled(SWITCHING_PROVIDER_PROFILING);
+  }
+
+  @Override
+  public boolean completionStageProducers() {
+    return isEnabled(COMPLETION_STAGE_PRODUCERS);
+  }
+
+  @Override
+  public boolean producerDependencyMetadata() {
+    return isEnabled(PRODUCER_DEPENDENCY_METADATA);
+  }
+
   @Override
   public boolean writeProducerNameInToken() {
     return isEnabled(WRITE_PRODUCER_NAME_IN_TOKEN);
@@ -220,6 +301,16 @@ public final class ProcessingEnvironmentCompilerOptions extends CompilerOptions
     return super.keysPerComponentShard(component);
   }
 
+  @Override
+  public Optional<String> timingReportPath() {
+    return Optional.ofNullable(options.get(TIMING_REPORT));
+  }
+
+  @Override
+  public Optional<String> switchingProviderProfilePath() {
+    return Optional.ofNullable(options.get(SWITCHING_PROVIDER_PROFILE));
+  }
+
   private boolean isEnabled(KeyOnlyOption keyOnlyOption) {
     return options.containsKey(keyOnlyOption.toString());
   }
@@ -348,7 +439,33 @@ public final class ProcessingEnvironmentCompilerOptions extends CompilerOptions
 
     IGNORE_PROVISION_KEY_WILDCARDS(ENABLED),
 
-    VALIDATE_TRANSITIVE_COMPONENT_DEPENDENCIES(ENABLED)
+    VALIDATE_TRANSITIVE_COMPONENT_DEPENDENCIES(ENABLED),
+
+    LOCK_FREE_SCOPED_PROVIDERS,
+
+    VIRTUAL_THREAD_SAFE,
+
+    MEMOIZE_SCOPED_SET_MULTIBINDINGS,
+
+    EAGER_PARALLEL_INITIALIZATION,
+
+    PROVISION_TRACING,
+
+    MEMOIZE_PROVIDER_OF_LAZY,
+
+    CACHE_PRECOMPILED_MODULE_DESCRIPTORS,
+
+    TOP_LEVEL_COMPONENT_SHARDS,
+
+    STABLE_COMPONENT_OUTPUT,
+
+    BYTECODE_SIZE_PARTITIONING,
+
+    SWITCHING_PROVIDER_PROFILING,
+
+    COMPLETION_STAGE_PRODUCERS,
+
+    PRODUCER_DEPENDENCY_METADATA,
     ;
 
     final FeatureStatus defaultValue;
@@ -451,6 +568,8 @@ public final class ProcessingEnvironmentCompilerOptions extends CompilerOptions
             .flatMap(CommandLineOption::allNames)
             .collect(toImmutableSet()))
         .add(KEYS_PER_COMPONENT_SHARD)
+        .add(TIMING_REPORT)
+        .add(SWITCHING_PROVIDER_PROFILE)
         .build();
   }
 
@@ -16,6 +16,8 @@
 
 package dagger.internal.codegen.componentgenerator;
 
+import static dagger.internal.codegen.extension.DaggerStreams.toImmutableList;
+
 import androidx.room.compiler.processing.XElement;
 import androidx.room.compiler.processing.XFiler;
 import androidx.room.compiler.processing.XProcessingEnv;
@@ -58,6 +60,13 @@ final class ComponentGenerator extends SourceFileGenerator<BindingGraph> {
             .parentRequirementExpressions(Optional.empty())
             .build()
             .componentImplementation();
-    return ImmutableList.of(componentImplementation.generate().toBuilder());
+    TypeSpec component = componentImplementation.generate();
+    return ImmutableList.<TypeSpec.Builder>builder()
+        .add(component.toBuilder())
+        .addAll(
+            componentImplementation.topLevelShards().stream()
+                .map(TypeSpec::toBuilder)
+                .collect(toImmutableList()))
+        .build();
   }
 }
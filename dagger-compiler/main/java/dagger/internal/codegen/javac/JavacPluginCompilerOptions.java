@@ -41,6 +41,71 @@ final class JavacPluginCompilerOptions extends CompilerOptions {
     return false;
   }
 
+  @Override
+  public boolean lockFreeScopedProviders() {
+    return false;
+  }
+
+  @Override
+  public boolean virtualThreadSafe() {
+    return false;
+  }
+
+  @Override
+  public boolean memoizeScopedSetMultibindings() {
+    return false;
+  }
+
+  @Override
+  public boolean eagerParallelInitialization() {
+    return false;
+  }
+
+  @Override
+  public boolean provisionTracing() {
+    return false;
+  }
+
+  @Override
+  public boolean memoizeProviderOfLazy() {
+    return false;
+  }
+
+  @Override
+  public boolean cachePrecompiledModuleDescriptors() {
+    return false;
+  }
+
+  @Override
+  public boolean topLevelComponentShards() {
+    return false;
+  }
+
+  @Override
+  public boolean stableComponentOutput() {
+    return false;
+  }
+
+  @Override
+  public boolean bytecodeSizePartitioning() {
+    return false;
+  }
+
+  @Override
+  public boolean switchingProviderProfiling() {
+    return false;
+  }
+
+  @Override
+  public boolean completionStageProducers() {
+    return false;
+  }
+
+  @Override
+  public boolean producerDependencyMetadata() {
+    return false;
+  }
+
   @Override
   public boolean writeProducerNameInToken() {
     return true;
@@ -17,9 +17,12 @@
 package dagger.internal.codegen.javapoet;
 
 import static dagger.internal.codegen.xprocessing.JavaPoetExt.avoidClashesWithNestedClasses;
+import static javax.lang.model.element.Modifier.PRIVATE;
 
 import androidx.room.compiler.processing.XTypeElement;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.TypeSpec;
 
 /** Convenience methods for use with JavaPoet's {@link TypeSpec}. */
@@ -44,5 +47,28 @@ public final class TypeSpecs {
     throw new AssertionError(supertype + " is neither a class nor an interface.");
   }
 
+  /**
+   * Returns a copy of {@code type} in which neither {@code type} nor any of its fields, methods or
+   * nested types are private, so that they can be accessed from other classes in the package.
+   */
+  public static TypeSpec withoutPrivateModifiers(TypeSpec type) {
+    TypeSpec.Builder builder = type.toBuilder();
+    builder.modifiers.remove(PRIVATE);
+    builder.fieldSpecs.replaceAll(
+        field -> {
+          FieldSpec.Builder fieldBuilder = field.toBuilder();
+          fieldBuilder.modifiers.remove(PRIVATE);
+          return fieldBuilder.build();
+        });
+    builder.methodSpecs.replaceAll(
+        method -> {
+          MethodSpec.Builder methodBuilder = method.toBuilder();
+          methodBuilder.modifiers.remove(PRIVATE);
+          return methodBuilder.build();
+        });
+    builder.typeSpecs.replaceAll(TypeSpecs::withoutPrivateModifiers);
+    return builder.build();
+  }
+
   private TypeSpecs() {}
 }
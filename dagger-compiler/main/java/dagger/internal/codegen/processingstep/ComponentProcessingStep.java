@@ -21,6 +21,8 @@ import static dagger.internal.codegen.base.ComponentAnnotation.allComponentAnnot
 import static dagger.internal.codegen.base.ComponentAnnotation.rootComponentAnnotations;
 import static dagger.internal.codegen.base.ComponentAnnotation.subcomponentAnnotations;
 import static dagger.internal.codegen.base.ComponentCreatorAnnotation.allCreatorAnnotations;
+import static dagger.internal.codegen.base.TimingReport.Phase.BINDING_GRAPH_RESOLUTION;
+import static dagger.internal.codegen.base.TimingReport.Phase.CODE_GENERATION;
 import static java.util.Collections.disjoint;
 
 import androidx.room.compiler.codegen.XClassName;
@@ -30,6 +32,7 @@ import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableSet;
 import dagger.internal.codegen.base.SourceFileGenerator;
+import dagger.internal.codegen.base.TimingReport;
 import dagger.internal.codegen.binding.BindingGraph;
 import dagger.internal.codegen.binding.BindingGraphFactory;
 import dagger.internal.codegen.binding.ComponentDescriptor;
@@ -53,6 +56,7 @@ final class ComponentProcessingStep extends TypeCheckingProcessingStep<XTypeElem
   private final BindingGraphFactory bindingGraphFactory;
   private final SourceFileGenerator<BindingGraph> componentGenerator;
   private final BindingGraphValidator bindingGraphValidator;
+  private final TimingReport timingReport;
 
   @Inject
   ComponentProcessingStep(
@@ -62,7 +66,8 @@ final class ComponentProcessingStep extends TypeCheckingProcessingStep<XTypeElem
       ComponentDescriptor.Factory componentDescriptorFactory,
       BindingGraphFactory bindingGraphFactory,
       SourceFileGenerator<BindingGraph> componentGenerator,
-      BindingGraphValidator bindingGraphValidator) {
+      BindingGraphValidator bindingGraphValidator,
+      TimingReport timingReport) {
     this.componentValidator = componentValidator;
     this.creatorValidator = creatorValidator;
     this.componentDescriptorValidator = componentDescriptorValidator;
@@ -70,6 +75,7 @@ final class ComponentProcessingStep extends TypeCheckingProcessingStep<XTypeElem
     this.bindingGraphFactory = bindingGraphFactory;
     this.componentGenerator = componentGenerator;
     this.bindingGraphValidator = bindingGraphValidator;
+    this.timingReport = timingReport;
   }
 
   @Override
@@ -102,14 +108,14 @@ final class ComponentProcessingStep extends TypeCheckingProcessingStep<XTypeElem
 
     Supplier<dagger.internal.codegen.model.BindingGraph> fullBindingGraphSupplier =
         Suppliers.memoize(
-            () -> bindingGraphFactory.create(componentDescriptor, true).topLevelBindingGraph());
+            () -> createBindingGraph(componentDescriptor, true).topLevelBindingGraph());
     if (bindingGraphValidator.shouldDoFullBindingGraphValidation(component)) {
       if (!bindingGraphValidator.isValid(fullBindingGraphSupplier.get())) {
         return;
       }
     }
 
-    BindingGraph bindingGraph = bindingGraphFactory.create(componentDescriptor, false);
+    BindingGraph bindingGraph = createBindingGraph(componentDescriptor, false);
     if (bindingGraphValidator.isValid(
         bindingGraph.topLevelBindingGraph(), fullBindingGraphSupplier)) {
       generateComponent(bindingGraph);
@@ -126,15 +132,26 @@ final class ComponentProcessingStep extends TypeCheckingProcessingStep<XTypeElem
     if (!bindingGraphValidator.shouldDoFullBindingGraphValidation(subcomponent)) {
       return;
     }
-    BindingGraph fullBindingGraph = bindingGraphFactory.create(subcomponentDescriptor, true);
+    BindingGraph fullBindingGraph = createBindingGraph(subcomponentDescriptor, true);
     // In this case, we don't actually care about the return value. The important part here is that
     // BindingGraphValidator#isValid() runs all of the SPI plugins and reports any errors.
     // TODO(bcorso): Add a separate API with no return value for this particular case.
     boolean unusedIsValid = bindingGraphValidator.isValid(fullBindingGraph.topLevelBindingGraph());
   }
 
+  private BindingGraph createBindingGraph(
+      ComponentDescriptor componentDescriptor, boolean createFullBindingGraph) {
+    return timingReport.time(
+        BINDING_GRAPH_RESOLUTION,
+        componentDescriptor.typeElement().getQualifiedName(),
+        () -> bindingGraphFactory.create(componentDescriptor, createFullBindingGraph));
+  }
+
   private void generateComponent(BindingGraph bindingGraph) {
-    componentGenerator.generate(bindingGraph, messager);
+    timingReport.time(
+        CODE_GENERATION,
+        bindingGraph.componentTypeElement().getQualifiedName(),
+        () -> componentGenerator.generate(bindingGraph, messager));
   }
 
   private void processCreator(XTypeElement creator) {
@@ -19,6 +19,8 @@ package dagger.internal.codegen.processingstep;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Throwables.getStackTraceAsString;
 import static com.google.common.collect.Sets.difference;
+import static dagger.internal.codegen.base.TimingReport.Phase.PROCESSING_STEP;
+import static dagger.internal.codegen.base.TimingReport.Phase.SUPERFICIAL_VALIDATION;
 import static dagger.internal.codegen.extension.DaggerStreams.toImmutableMap;
 import static dagger.internal.codegen.extension.DaggerStreams.toImmutableSet;
 import static javax.tools.Diagnostic.Kind.ERROR;
@@ -33,6 +35,7 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.Maps;
 import dagger.internal.codegen.base.DaggerSuperficialValidation.ValidationException;
+import dagger.internal.codegen.base.TimingReport;
 import dagger.internal.codegen.binding.MonitoringModules;
 import dagger.internal.codegen.compileroption.CompilerOptions;
 import dagger.internal.codegen.xprocessing.XElements;
@@ -53,6 +56,7 @@ abstract class TypeCheckingProcessingStep<E extends XElement> implements XProces
   @Inject CompilerOptions compilerOptions;
   @Inject SuperficialValidator superficialValidator;
   @Inject MonitoringModules monitoringModules;
+  @Inject TimingReport timingReport;
 
   @Override
   public final ImmutableSet<String> annotations() {
@@ -61,7 +65,6 @@ abstract class TypeCheckingProcessingStep<E extends XElement> implements XProces
         .collect(toImmutableSet());
   }
 
-  @SuppressWarnings("unchecked") // Subclass must ensure all annotated targets are of valid type.
   @Override
   public ImmutableSet<XElement> process(
       XProcessingEnv env, Map<String, ? extends Set<? extends XElement>> elementsByAnnotation) {
@@ -70,6 +73,15 @@ abstract class TypeCheckingProcessingStep<E extends XElement> implements XProces
     // wasn't the final round, and we replace it with any deferred error messages from this round.
     lastDeferredErrorMessages.clear();
     ImmutableSet.Builder<XElement> deferredElements = ImmutableSet.builder();
+    timingReport.time(
+        PROCESSING_STEP, stepName(), () -> processEach(elementsByAnnotation, deferredElements));
+    return deferredElements.build();
+  }
+
+  @SuppressWarnings("unchecked") // Subclass must ensure all annotated targets are of valid type.
+  private void processEach(
+      Map<String, ? extends Set<? extends XElement>> elementsByAnnotation,
+      ImmutableSet.Builder<XElement> deferredElements) {
     inverse(elementsByAnnotation)
         .forEach(
             (element, annotations) -> {
@@ -91,7 +103,10 @@ abstract class TypeCheckingProcessingStep<E extends XElement> implements XProces
                 //  type, we should try to remove this and handle any additional validation into the
                 //  steps that need it.
                 if (requiresPreValidation()) {
-                  superficialValidator.throwIfNearestEnclosingTypeNotValid(element);
+                  timingReport.time(
+                      SUPERFICIAL_VALIDATION,
+                      stepName(),
+                      () -> superficialValidator.throwIfNearestEnclosingTypeNotValid(element));
                 }
                 process((E) element, annotations);
               } catch (TypeNotPresentException e) {
@@ -111,7 +126,10 @@ abstract class TypeCheckingProcessingStep<E extends XElement> implements XProces
                 cacheErrorMessage(unknownErrorTypeErrorMessage(element, e), e);
               }
             });
-    return deferredElements.build();
+  }
+
+  private String stepName() {
+    return getClass().getSimpleName();
   }
 
   /**
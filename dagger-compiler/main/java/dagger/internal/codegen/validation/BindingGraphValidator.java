@@ -16,9 +16,12 @@
 
 package dagger.internal.codegen.validation;
 
+import static dagger.internal.codegen.base.TimingReport.Phase.VALIDATION_PLUGINS;
+
 import androidx.room.compiler.processing.XTypeElement;
 import com.google.common.base.Optional;
 import com.google.common.base.Supplier;
+import dagger.internal.codegen.base.TimingReport;
 import dagger.internal.codegen.compileroption.CompilerOptions;
 import dagger.internal.codegen.compileroption.ValidationType;
 import dagger.internal.codegen.model.BindingGraph;
@@ -31,15 +34,18 @@ public final class BindingGraphValidator {
   private final ValidationBindingGraphPlugins validationPlugins;
   private final ExternalBindingGraphPlugins externalPlugins;
   private final CompilerOptions compilerOptions;
+  private final TimingReport timingReport;
 
   @Inject
   BindingGraphValidator(
       ValidationBindingGraphPlugins validationPlugins,
       ExternalBindingGraphPlugins externalPlugins,
-      CompilerOptions compilerOptions) {
+      CompilerOptions compilerOptions,
+      TimingReport timingReport) {
     this.validationPlugins = validationPlugins;
     this.externalPlugins = externalPlugins;
     this.compilerOptions = compilerOptions;
+    this.timingReport = timingReport;
   }
 
   /** Returns {@code true} if validation or analysis is required on the full binding graph. */
@@ -69,7 +75,10 @@ public final class BindingGraphValidator {
     if (!prunedGraph.isPresent() && !requiresFullBindingGraphValidation()) {
       return true;
     }
-    return validationPlugins.visit(prunedGraph, fullGraphSupplier);
+    return timingReport.time(
+        VALIDATION_PLUGINS,
+        rootComponentName(prunedGraph.isPresent() ? prunedGraph.get() : fullGraphSupplier.get()),
+        () -> validationPlugins.visit(prunedGraph, fullGraphSupplier));
   }
 
   /** Returns {@code true} if external plugins report no errors. */
@@ -85,4 +94,9 @@ public final class BindingGraphValidator {
 
     return externalPlugins.visit(graph);
   }
+
+  private static String rootComponentName(BindingGraph graph) {
+    return graph.rootComponentNode().componentPath().currentComponent().xprocessing()
+        .getQualifiedName();
+  }
 }
@@ -17,6 +17,8 @@
 package dagger.internal.codegen.validation;
 
 import static androidx.room.compiler.processing.compat.XConverters.toJavac;
+import static dagger.internal.codegen.base.TimingReport.Phase.EXTERNAL_PLUGINS;
+import static dagger.internal.codegen.base.TimingReport.Phase.SPI_MODEL_CONVERSION;
 import static dagger.internal.codegen.extension.DaggerStreams.toImmutableSet;
 import static javax.tools.Diagnostic.Kind.ERROR;
 
@@ -25,6 +27,7 @@ import androidx.room.compiler.processing.XProcessingEnv;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
+import dagger.internal.codegen.base.TimingReport;
 import dagger.internal.codegen.compileroption.ProcessingOptions;
 import dagger.internal.codegen.validation.DiagnosticReporterFactory.DiagnosticReporterImpl;
 import dagger.spi.DiagnosticReporter;
@@ -43,6 +46,7 @@ public final class ExternalBindingGraphPlugins {
   private final XFiler filer;
   private final XProcessingEnv processingEnv;
   private final Map<String, String> processingOptions;
+  private final TimingReport timingReport;
 
   @Inject
   ExternalBindingGraphPlugins(
@@ -51,13 +55,15 @@ public final class ExternalBindingGraphPlugins {
       DiagnosticReporterFactory diagnosticReporterFactory,
       XFiler filer,
       XProcessingEnv processingEnv,
-      @ProcessingOptions Map<String, String> processingOptions) {
+      @ProcessingOptions Map<String, String> processingOptions,
+      TimingReport timingReport) {
     this.legacyPlugins = legacyPlugins;
     this.plugins = plugins;
     this.diagnosticReporterFactory = diagnosticReporterFactory;
     this.filer = filer;
     this.processingEnv = processingEnv;
     this.processingOptions = processingOptions;
+    this.timingReport = timingReport;
   }
 
   /** Returns {@link BindingGraphPlugin#supportedOptions()} from all the plugins. */
@@ -100,15 +106,26 @@ public final class ExternalBindingGraphPlugins {
 
   /** Returns {@code false} if any of the plugins reported an error. */
   boolean visit(dagger.internal.codegen.model.BindingGraph graph) {
-    return visitLegacyPlugins(graph) && visitPlugins(graph);
+    String componentName =
+        graph.rootComponentNode().componentPath().currentComponent().xprocessing()
+            .getQualifiedName();
+    return timingReport.time(
+        EXTERNAL_PLUGINS,
+        componentName,
+        () -> visitLegacyPlugins(graph, componentName) && visitPlugins(graph, componentName));
   }
 
-  private boolean visitLegacyPlugins(dagger.internal.codegen.model.BindingGraph graph) {
+  private boolean visitLegacyPlugins(
+      dagger.internal.codegen.model.BindingGraph graph, String componentName) {
     // Return early to avoid converting the binding graph when there are no external plugins.
     if (legacyPlugins.isEmpty()) {
       return true;
     }
-    dagger.model.BindingGraph legacyGraph = ModelBindingGraphConverter.toModel(graph);
+    dagger.model.BindingGraph legacyGraph =
+        timingReport.time(
+            SPI_MODEL_CONVERSION,
+            componentName,
+            () -> ModelBindingGraphConverter.toModel(graph));
     boolean isClean = true;
     for (dagger.spi.BindingGraphPlugin legacyPlugin : legacyPlugins) {
       DiagnosticReporterImpl reporter =
@@ -122,8 +139,13 @@ public final class ExternalBindingGraphPlugins {
     return isClean;
   }
 
-  private boolean visitPlugins(dagger.internal.codegen.model.BindingGraph graph) {
-    BindingGraph spiGraph = SpiModelBindingGraphConverter.toSpiModel(graph, processingEnv);
+  private boolean visitPlugins(
+      dagger.internal.codegen.model.BindingGraph graph, String componentName) {
+    BindingGraph spiGraph =
+        timingReport.time(
+            SPI_MODEL_CONVERSION,
+            componentName,
+            () -> SpiModelBindingGraphConverter.toSpiModel(graph, processingEnv));
     boolean isClean = true;
     for (BindingGraphPlugin plugin : plugins) {
       DiagnosticReporterImpl reporter =
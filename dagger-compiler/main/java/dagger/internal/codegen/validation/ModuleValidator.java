@@ -23,6 +23,7 @@ import static dagger.internal.codegen.base.ComponentCreatorAnnotation.getCreator
 import static dagger.internal.codegen.base.ModuleAnnotation.isModuleAnnotation;
 import static dagger.internal.codegen.base.Util.reentrantComputeIfAbsent;
 import static dagger.internal.codegen.binding.ConfigurationAnnotations.getSubcomponentCreator;
+import static dagger.internal.codegen.binding.SourceFiles.factoryNameForElement;
 import static dagger.internal.codegen.extension.DaggerCollectors.toOptional;
 import static dagger.internal.codegen.extension.DaggerStreams.toImmutableList;
 import static dagger.internal.codegen.extension.DaggerStreams.toImmutableSet;
@@ -34,6 +35,7 @@ import static dagger.internal.codegen.xprocessing.XElements.hasAnyAnnotation;
 import static dagger.internal.codegen.xprocessing.XTypeElements.hasTypeParameters;
 import static dagger.internal.codegen.xprocessing.XTypeElements.isEffectivelyPrivate;
 import static dagger.internal.codegen.xprocessing.XTypeElements.isEffectivelyPublic;
+import static dagger.internal.codegen.xprocessing.XTypeNames.isCompletionStageType;
 import static dagger.internal.codegen.xprocessing.XTypes.areEquivalentTypes;
 import static dagger.internal.codegen.xprocessing.XTypes.isDeclared;
 import static java.util.stream.Collectors.joining;
@@ -61,6 +63,7 @@ import dagger.internal.codegen.binding.BindingGraphFactory;
 import dagger.internal.codegen.binding.ComponentDescriptor;
 import dagger.internal.codegen.binding.InjectionAnnotations;
 import dagger.internal.codegen.binding.MethodSignatureFormatter;
+import dagger.internal.codegen.compileroption.CompilerOptions;
 import dagger.internal.codegen.model.BindingGraph;
 import dagger.internal.codegen.model.Scope;
 import dagger.internal.codegen.xprocessing.XElements;
@@ -115,6 +118,7 @@ public final class ModuleValidator {
   private final InjectionAnnotations injectionAnnotations;
   private final DaggerSuperficialValidation superficialValidation;
   private final XProcessingEnv processingEnv;
+  private final CompilerOptions compilerOptions;
   private final Map<XTypeElement, ValidationReport> cache = new HashMap<>();
   private final Set<XTypeElement> knownModules = new HashSet<>();
 
@@ -127,7 +131,8 @@ public final class ModuleValidator {
       BindingGraphValidator bindingGraphValidator,
       InjectionAnnotations injectionAnnotations,
       DaggerSuperficialValidation superficialValidation,
-      XProcessingEnv processingEnv) {
+      XProcessingEnv processingEnv,
+      CompilerOptions compilerOptions) {
     this.anyBindingMethodValidator = anyBindingMethodValidator;
     this.methodSignatureFormatter = methodSignatureFormatter;
     this.componentDescriptorFactory = componentDescriptorFactory;
@@ -136,6 +141,7 @@ public final class ModuleValidator {
     this.injectionAnnotations = injectionAnnotations;
     this.superficialValidation = superficialValidation;
     this.processingEnv = processingEnv;
+    this.compilerOptions = compilerOptions;
   }
 
   /**
@@ -451,6 +457,11 @@ public final class ModuleValidator {
             annotation,
             includedModule);
       }
+      if (!knownModules.contains(module) && module.hasAnnotation(XTypeNames.PRODUCER_MODULE)) {
+        validateCompletionStageProducersSetting(module)
+            .ifPresent(
+                error -> subreport.addError(error, annotatedType, annotation, includedModule));
+      }
       if (module.isCompanionObject()) {
         subreport.addError(
             String.format(
@@ -465,6 +476,46 @@ public final class ModuleValidator {
     return subreport.build();
   }
 
+  /**
+   * Returns an error if a precompiled producer module has a {@code @Produces} method returning a
+   * {@code CompletionStage} and was compiled with a different {@link
+   * CompilerOptions#completionStageProducers()} setting than this compilation, since the key of
+   * such a method depends on that setting.
+   */
+  private Optional<String> validateCompletionStageProducersSetting(XTypeElement module) {
+    for (XMethodElement method : module.getDeclaredMethods()) {
+      if (!method.hasAnnotation(XTypeNames.PRODUCES)
+          || !isCompletionStageType(method.getReturnType())) {
+        continue;
+      }
+      XTypeElement factory =
+          processingEnv.findTypeElement(factoryNameForElement(method).getCanonicalName());
+      if (factory == null || factory.getSuperClass() == null) {
+        continue;
+      }
+      // The generated factory extends AbstractProducesMethodProducer<D, T>, where T is the type of
+      // the produced value.
+      List<XType> typeArguments = factory.getSuperClass().getTypeArguments();
+      if (typeArguments.size() != 2) {
+        continue;
+      }
+      boolean compiledWithCompletionStageProducers =
+          !isCompletionStageType(typeArguments.get(1));
+      if (compiledWithCompletionStageProducers != compilerOptions.completionStageProducers()) {
+        return Optional.of(
+            String.format(
+                "%s was compiled with -Adagger.completionStageProducers=%s, but this compilation "
+                    + "uses %s. The key bound by %s depends on this option, so it must be the "
+                    + "same for the module and the components that include it.",
+                module.getQualifiedName(),
+                compiledWithCompletionStageProducers ? "ENABLED" : "DISABLED",
+                compilerOptions.completionStageProducers() ? "ENABLED" : "DISABLED",
+                methodSignatureFormatter.format(method)));
+      }
+    }
+    return Optional.empty();
+  }
+
   private static ImmutableList<XAnnotationValue> getModules(XAnnotation annotation) {
     if (isModuleAnnotation(annotation)) {
       return ImmutableList.copyOf(annotation.getAsAnnotationValueList("includes"));
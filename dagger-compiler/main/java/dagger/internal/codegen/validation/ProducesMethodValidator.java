@@ -21,6 +21,8 @@ import static dagger.internal.codegen.validation.BindingElementValidator.AllowsM
 import static dagger.internal.codegen.validation.BindingElementValidator.AllowsScoping.NO_SCOPING;
 import static dagger.internal.codegen.validation.BindingMethodValidator.Abstractness.MUST_BE_CONCRETE;
 import static dagger.internal.codegen.validation.BindingMethodValidator.ExceptionSuperclass.EXCEPTION;
+import static dagger.internal.codegen.xprocessing.XElements.getSimpleName;
+import static dagger.internal.codegen.xprocessing.XTypeNames.isCompletionStageType;
 import static dagger.internal.codegen.xprocessing.XTypes.isTypeOf;
 
 import androidx.room.compiler.processing.XMethodElement;
@@ -28,6 +30,7 @@ import androidx.room.compiler.processing.XProcessingEnv;
 import androidx.room.compiler.processing.XType;
 import com.google.common.util.concurrent.ListenableFuture;
 import dagger.internal.codegen.binding.InjectionAnnotations;
+import dagger.internal.codegen.compileroption.CompilerOptions;
 import dagger.internal.codegen.xprocessing.Nullability;
 import dagger.internal.codegen.xprocessing.XTypeNames;
 import dagger.internal.codegen.xprocessing.XTypes;
@@ -37,12 +40,14 @@ import javax.inject.Inject;
 
 /** A validator for {@link dagger.producers.Produces} methods. */
 final class ProducesMethodValidator extends BindingMethodValidator {
+  private final CompilerOptions compilerOptions;
 
   @Inject
   ProducesMethodValidator(
       XProcessingEnv processingEnv,
       DependencyRequestValidator dependencyRequestValidator,
-      InjectionAnnotations injectionAnnotations) {
+      InjectionAnnotations injectionAnnotations,
+      CompilerOptions compilerOptions) {
     super(
         XTypeNames.PRODUCES,
         XTypeNames.PRODUCER_MODULE,
@@ -53,6 +58,7 @@ final class ProducesMethodValidator extends BindingMethodValidator {
         processingEnv,
         dependencyRequestValidator,
         injectionAnnotations);
+    this.compilerOptions = compilerOptions;
   }
 
   @Override
@@ -98,11 +104,13 @@ final class ProducesMethodValidator extends BindingMethodValidator {
     /**
      * {@inheritDoc}
      *
-     * <p>Allows {@code keyType} to be a {@link ListenableFuture} of an otherwise-valid key type.
+     * <p>Allows {@code keyType} to be a {@link ListenableFuture} of an otherwise-valid key type, or
+     * a {@link java.util.concurrent.CompletionStage} of one if {@link
+     * CompilerOptions#completionStageProducers()} is enabled.
      */
     @Override
     protected void checkKeyType(XType keyType) {
-      unwrapListenableFuture(keyType).ifPresent(super::checkKeyType);
+      unwrapFuture(keyType).ifPresent(super::checkKeyType);
     }
 
     /**
@@ -113,10 +121,10 @@ final class ProducesMethodValidator extends BindingMethodValidator {
      */
     @Override
     protected void checkSetValuesType() {
-      unwrapListenableFuture(method.getReturnType()).ifPresent(this::checkSetValuesType);
+      unwrapFuture(method.getReturnType()).ifPresent(this::checkSetValuesType);
     }
 
-    private Optional<XType> unwrapListenableFuture(XType type) {
+    private Optional<XType> unwrapFuture(XType type) {
       if (isTypeOf(type, XTypeNames.LISTENABLE_FUTURE)) {
         if (XTypes.isRawParameterizedType(type)) {
           report.addError("@Produces methods cannot return a raw ListenableFuture");
@@ -125,6 +133,15 @@ final class ProducesMethodValidator extends BindingMethodValidator {
           return Optional.of(getOnlyElement(type.getTypeArguments()));
         }
       }
+      if (compilerOptions.completionStageProducers() && isCompletionStageType(type)) {
+        if (XTypes.isRawParameterizedType(type)) {
+          report.addError(
+              "@Produces methods cannot return a raw " + getSimpleName(type.getTypeElement()));
+          return Optional.empty();
+        } else {
+          return Optional.of(getOnlyElement(type.getTypeArguments()));
+        }
+      }
       return Optional.of(type);
     }
   }
@@ -16,16 +16,32 @@
 
 package dagger.internal.codegen.writing;
 
+import androidx.room.compiler.codegen.XClassName;
 import androidx.room.compiler.codegen.XCodeBlock;
+import dagger.internal.codegen.base.ContributionType;
 import dagger.internal.codegen.binding.Binding;
+import dagger.internal.codegen.binding.BindingGraph;
+import dagger.internal.codegen.binding.BindingType;
+import dagger.internal.codegen.binding.ContributionBinding;
+import dagger.internal.codegen.compileroption.CompilerOptions;
+import dagger.internal.codegen.model.BindingKind;
+import dagger.internal.codegen.model.DependencyRequest;
 import dagger.internal.codegen.writing.FrameworkFieldInitializer.FrameworkInstanceCreationExpression;
+import dagger.internal.codegen.xprocessing.XExpression;
 import dagger.internal.codegen.xprocessing.XTypeNames;
 import javax.inject.Inject;
 
 /** Holds common methods for BindingRepresentations. */
 final class BindingRepresentations {
 
-  @Inject BindingRepresentations() {}
+  private final BindingGraph graph;
+  private final CompilerOptions compilerOptions;
+
+  @Inject
+  BindingRepresentations(BindingGraph graph, CompilerOptions compilerOptions) {
+    this.graph = graph;
+    this.compilerOptions = compilerOptions;
+  }
 
   FrameworkInstanceCreationExpression scope(
       Binding binding, FrameworkInstanceCreationExpression unscoped) {
@@ -34,7 +50,88 @@ final class BindingRepresentations {
             "%T.provider(%L)",
             binding.scope().get().isReusable()
                 ? XTypeNames.SINGLE_CHECK
-                : XTypeNames.DOUBLE_CHECK,
+                : doubleCheckType(),
             unscoped.creationExpression());
   }
+
+  /** Returns the type used to memoize a scoped binding that is not {@code @Reusable}. */
+  XClassName doubleCheckType() {
+    return compilerOptions.lockFreeScopedProviders()
+        ? XTypeNames.LOCK_FREE_DOUBLE_CHECK
+        : XTypeNames.DOUBLE_CHECK;
+  }
+
+  /**
+   * Returns {@code true} if {@code binding} is a set multibinding whose framework instance can be
+   * memoized with {@code SingleCheck}: every contribution is a scoped, non-{@code Reusable} {@code
+   * IntoSet} provision, so every call to {@code get()} produces an equal immutable set.
+   */
+  boolean isMemoizableSetMultibinding(Binding binding) {
+    if (!compilerOptions.memoizeScopedSetMultibindings()
+        || !binding.kind().equals(BindingKind.MULTIBOUND_SET)
+        || !binding.bindingType().equals(BindingType.PROVISION)
+        || binding.dependencies().isEmpty()) {
+      return false;
+    }
+    for (DependencyRequest dependency : binding.dependencies()) {
+      ContributionBinding contribution = graph.contributionBinding(dependency.key());
+      if (!contribution.contributionType().equals(ContributionType.SET)
+          || !contribution.scope().isPresent()
+          || contribution.scope().get().isReusable()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns {@code true} if provisions of {@code binding} should be reported to {@code
+   * ProvisionTracing}: tracing is enabled and the binding invokes a user-defined constructor or
+   * method.
+   */
+  boolean tracesProvision(Binding binding) {
+    if (!compilerOptions.provisionTracing()) {
+      return false;
+    }
+    switch (binding.kind()) {
+      case INJECTION:
+      case ASSISTED_INJECTION:
+      case PROVISION:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /** Returns {@code instance} wrapped so that evaluating it reports the provision. */
+  XExpression traceProvision(Binding binding, XExpression instance) {
+    return XExpression.create(
+        instance.type(),
+        XCodeBlock.of(
+            "%T.end(%T.start(), %L, %L)",
+            XTypeNames.PROVISION_TRACING,
+            XTypeNames.PROVISION_TRACING,
+            instance.codeBlock(),
+            traceArguments(binding)));
+  }
+
+  /** Returns {@code unscoped} wrapped so that each provision from the provider is reported. */
+  FrameworkInstanceCreationExpression traceProvision(
+      Binding binding, FrameworkInstanceCreationExpression unscoped) {
+    return () ->
+        XCodeBlock.of(
+            "%T.provider(%L, %L)",
+            XTypeNames.PROVISION_TRACING,
+            unscoped.creationExpression(),
+            traceArguments(binding));
+  }
+
+  private static XCodeBlock traceArguments(Binding binding) {
+    return XCodeBlock.of(
+        "%S, %L",
+        binding.key().toString(),
+        binding.scope().isPresent()
+            ? XCodeBlock.of("%S", binding.scope().get().toString())
+            : XCodeBlock.of("null"));
+  }
 }
@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.internal.codegen.writing;
+
+import static androidx.room.compiler.codegen.compat.XConverters.toJavaPoet;
+
+import androidx.room.compiler.codegen.XCodeBlock;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Estimates of the bytecode size of generated code, used to partition generated methods by size
+ * rather than by a fixed number of statements.
+ *
+ * <p>The estimates count a load or field access per name, an invocation per call and one byte per
+ * statement. For the initialization statements and switch cases that Dagger generates, they are
+ * between 1.1 and 2.2 times the size of the code javac generates, so a method within one of the
+ * budgets below is within the limit.
+ */
+final class BytecodeSizes {
+  /** HotSpot doesn't JIT-compile methods larger than this many bytes ({@code HugeMethodLimit}). */
+  static final int HUGE_METHOD_LIMIT = 8000;
+
+  /**
+   * The budget of initialization methods, which are only run once. This is below the size at which
+   * ART stops compiling methods ahead of time by default (600 code units, or 1200 bytes).
+   */
+  static final int INITIALIZATION_METHOD_BUDGET = 1000;
+
+  /** The estimated size of the jump table entry of each case in a {@code switch}. */
+  static final int SWITCH_CASE_SIZE = 8;
+
+  private static final Pattern COMMENT = Pattern.compile("//[^\\n]*");
+  private static final Pattern PACKAGE_PREFIX =
+      Pattern.compile("\\b(?:[a-z_][a-z0-9_]*\\.)+(?=[A-Z])");
+  private static final Pattern TOKEN =
+      Pattern.compile("\"(?:[^\"\\\\]|\\\\.)*\"|[A-Za-z_$][\\w$]*(?:\\s*\\()?|\\d+|;");
+
+  /** Returns the estimated number of bytes of bytecode for {@code code}. */
+  static int estimate(XCodeBlock code) {
+    // Comments generate no code, and package names are part of a single constant pool reference.
+    String source = COMMENT.matcher(toJavaPoet(code).toString()).replaceAll("");
+    source = PACKAGE_PREFIX.matcher(source).replaceAll("");
+    int size = 0;
+    Matcher tokens = TOKEN.matcher(source);
+    while (tokens.find()) {
+      size += tokenSize(tokens.group());
+    }
+    return size;
+  }
+
+  private static int tokenSize(String token) {
+    switch (token) {
+      case ";":
+      case "this":
+      case "return":
+        return 1;
+      case "new":
+        // new and dup; the constructor invocation is counted by the following call
+        return 4;
+      default:
+        // Literals are an ldc or push, calls are an invocation and the cast of its result, and
+        // other names are a load or field access.
+        if (!Character.isJavaIdentifierStart(token.charAt(0))) {
+          return 2;
+        }
+        return token.endsWith("(") ? 5 : 4;
+    }
+  }
+
+  /**
+   * Partitions {@code items}, in order, such that the estimated size of each partition is at most
+   * {@code budget}. An item larger than the budget is put in a partition by itself.
+   */
+  static <T> ImmutableList<ImmutableList<T>> partitionBySize(
+      List<T> items, ToIntFunction<? super T> sizeFunction, int budget) {
+    ImmutableList.Builder<ImmutableList<T>> partitions = ImmutableList.builder();
+    List<T> partition = new ArrayList<>();
+    int partitionSize = 0;
+    for (T item : items) {
+      int size = sizeFunction.applyAsInt(item);
+      if (!partition.isEmpty() && partitionSize + size > budget) {
+        partitions.add(ImmutableList.copyOf(partition));
+        partition = new ArrayList<>();
+        partitionSize = 0;
+      }
+      partition.add(item);
+      partitionSize += size;
+    }
+    if (!partition.isEmpty()) {
+      partitions.add(ImmutableList.copyOf(partition));
+    }
+    return partitions.build();
+  }
+
+  private BytecodeSizes() {}
+}
@@ -23,17 +23,22 @@ import static com.google.common.base.CaseFormat.UPPER_UNDERSCORE;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Suppliers.memoize;
+import static com.google.common.collect.Iterables.getLast;
 import static com.squareup.javapoet.MethodSpec.constructorBuilder;
 import static com.squareup.javapoet.MethodSpec.methodBuilder;
 import static com.squareup.javapoet.TypeSpec.classBuilder;
 import static dagger.internal.codegen.base.ComponentCreatorKind.BUILDER;
+import static dagger.internal.codegen.binding.BindingRequest.bindingRequest;
 import static dagger.internal.codegen.binding.SourceFiles.simpleVariableName;
 import static dagger.internal.codegen.extension.DaggerStreams.instancesOf;
 import static dagger.internal.codegen.extension.DaggerStreams.toImmutableList;
 import static dagger.internal.codegen.extension.DaggerStreams.toImmutableMap;
 import static dagger.internal.codegen.javapoet.AnnotationSpecs.Suppression.UNCHECKED;
 import static dagger.internal.codegen.javapoet.AnnotationSpecs.suppressWarnings;
+import static dagger.internal.codegen.writing.BytecodeSizes.INITIALIZATION_METHOD_BUDGET;
+import static dagger.internal.codegen.writing.BytecodeSizes.partitionBySize;
 import static dagger.internal.codegen.writing.ComponentImplementation.MethodSpecKind.COMPONENT_METHOD;
+import static dagger.internal.codegen.writing.StableKeyHashes.stableHash;
 import static dagger.internal.codegen.xprocessing.MethodSpecs.overriding;
 import static dagger.internal.codegen.xprocessing.XCodeBlocks.concat;
 import static dagger.internal.codegen.xprocessing.XCodeBlocks.isEmpty;
@@ -69,6 +74,7 @@ import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.MultimapBuilder;
 import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterSpec;
@@ -85,6 +91,7 @@ import dagger.internal.codegen.binding.ComponentCreatorDescriptor;
 import dagger.internal.codegen.binding.ComponentDescriptor;
 import dagger.internal.codegen.binding.ComponentDescriptor.ComponentMethodDescriptor;
 import dagger.internal.codegen.binding.ComponentRequirement;
+import dagger.internal.codegen.binding.KeyFactory;
 import dagger.internal.codegen.binding.KeyVariableNamer;
 import dagger.internal.codegen.binding.MethodSignature;
 import dagger.internal.codegen.binding.ModuleDescriptor;
@@ -94,6 +101,7 @@ import dagger.internal.codegen.langmodel.Accessibility;
 import dagger.internal.codegen.model.BindingGraph.Node;
 import dagger.internal.codegen.model.Key;
 import dagger.internal.codegen.model.RequestKind;
+import dagger.internal.codegen.xprocessing.XExpression;
 import dagger.internal.codegen.xprocessing.XTypeElements;
 import dagger.internal.codegen.xprocessing.XTypeNames;
 import java.util.ArrayList;
@@ -201,13 +209,23 @@ public final class ComponentImplementation {
    * things: 1) bindings are put in shards in reverse topological order (i.e., bindings in Shard{i}
    * do not depend on bindings in Shard{i+j}) and 2) bindings belonging to the same cycle are put in
    * the same shard. These two guarantees allow us to initialize each shard in a well defined order.
+   *
+   * <p>With {@link CompilerOptions#stableComponentOutput()}, a shard ends after a binding whose key
+   * hash marks a boundary rather than after a fixed number of bindings, and it's named after that
+   * binding. Adding or removing a binding then only changes the shard that contains it.
    */
   private static ImmutableMap<Binding, ShardImplementation> createShardsByBinding(
       ShardImplementation componentShard, BindingGraph graph, CompilerOptions compilerOptions) {
     ImmutableList<ImmutableList<Binding>> partitions = bindingPartitions(graph, compilerOptions);
     ImmutableMap.Builder<Binding, ShardImplementation> builder = ImmutableMap.builder();
     for (int i = 0; i < partitions.size(); i++) {
-      ShardImplementation shard = i == 0 ? componentShard : componentShard.createShard();
+      ShardImplementation shard =
+          i == 0
+              ? componentShard
+              : componentShard.createShard(
+                  compilerOptions.stableComponentOutput()
+                      ? "_" + Integer.toHexString(stableHash(getLast(partitions.get(i)).key()))
+                      : "");
       partitions.get(i).forEach(binding -> builder.put(binding, shard));
     }
     return builder.build();
@@ -227,12 +245,19 @@ public final class ComponentImplementation {
     ImmutableList.Builder<ImmutableList<Binding>> partitions =
         ImmutableList.builderWithExpectedSize(maxPartitions);
     for (ImmutableSet<Node> nodes : graph.topLevelBindingGraph().stronglyConnectedNodes()) {
-      nodes.stream()
-          .flatMap(instancesOf(BindingNode.class))
-          .filter(bindingNode -> bindingNode.componentPath().equals(graph.componentPath()))
-          .map(BindingNode::delegate)
-          .forEach(currPartition::add);
-      if (currPartition.size() >= bindingsPerShard) {
+      ImmutableList<Binding> bindings =
+          nodes.stream()
+              .flatMap(instancesOf(BindingNode.class))
+              .filter(bindingNode -> bindingNode.componentPath().equals(graph.componentPath()))
+              .map(BindingNode::delegate)
+              .collect(toImmutableList());
+      currPartition.addAll(bindings);
+      if (compilerOptions.stableComponentOutput()) {
+        if (isStablePartitionEnd(currPartition, bindings, bindingsPerShard)) {
+          partitions.add(ImmutableList.copyOf(currPartition));
+          currPartition = new ArrayList<>(bindingsPerShard);
+        }
+      } else if (currPartition.size() >= bindingsPerShard) {
         partitions.add(ImmutableList.copyOf(currPartition));
         currPartition = new ArrayList<>(bindingsPerShard);
       }
@@ -243,6 +268,23 @@ public final class ComponentImplementation {
     return partitions.build();
   }
 
+  /**
+   * Returns {@code true} if the partition should end after {@code lastBindings}. Partitions have
+   * between half and twice {@code bindingsPerShard} bindings, and in between they end after a
+   * binding whose key hash is a multiple of half of {@code bindingsPerShard}, which averages to
+   * {@code bindingsPerShard} bindings per partition.
+   */
+  private static boolean isStablePartitionEnd(
+      List<Binding> partition, ImmutableList<Binding> lastBindings, int bindingsPerShard) {
+    if (partition.size() < bindingsPerShard / 2) {
+      return false;
+    }
+    int boundaryModulus = Math.max(1, bindingsPerShard / 2);
+    return partition.size() >= bindingsPerShard * 2
+        || lastBindings.stream()
+            .anyMatch(binding -> stableHash(binding.key()) % boundaryModulus == 0);
+  }
+
   /** The boolean parameter of the onProducerFutureCancelled method. */
   public static final ParameterSpec MAY_INTERRUPT_IF_RUNNING_PARAM =
       ParameterSpec.builder(boolean.class, "mayInterruptIfRunning").build();
@@ -259,11 +301,19 @@ public final class ComponentImplementation {
    */
   private static final int STATEMENTS_PER_METHOD = 25;
 
+  /**
+   * How many binding ids the switch and wave methods generated for {@code initializeEagerly()} may
+   * hold before they get partitioned. This matches the number of cases per switch in {@code
+   * SwitchingProvider}s.
+   */
+  private static final int EAGER_IDS_PER_METHOD = 100;
+
   private final ShardImplementation componentShard;
   private final Supplier<ImmutableMap<Binding, ShardImplementation>> shardsByBinding;
   private final Map<ShardImplementation, FieldSpec> shardFieldsByImplementation = new HashMap<>();
   private final List<XCodeBlock> shardInitializations = new ArrayList<>();
   private final List<XCodeBlock> shardCancellations = new ArrayList<>();
+  private final List<TypeSpec> topLevelShards = new ArrayList<>();
   private final Optional<ComponentImplementation> parent;
   private final ChildComponentImplementationFactory childComponentImplementationFactory;
   private final Provider<GeneratedImplementation> topLevelImplementationProvider;
@@ -273,6 +323,8 @@ public final class ComponentImplementation {
   private final BindingGraph graph;
   private final ComponentNames componentNames;
   private final CompilerOptions compilerOptions;
+  private final SwitchingProviderProfile switchingProviderProfile;
+  private final KeyFactory keyFactory;
   private final ImmutableMap<ComponentImplementation, FieldSpec> componentFieldsByImplementation;
   private final XMessager messager;
   private final CompilerMode compilerMode;
@@ -289,6 +341,8 @@ public final class ComponentImplementation {
       BindingGraph graph,
       ComponentNames componentNames,
       CompilerOptions compilerOptions,
+      SwitchingProviderProfile switchingProviderProfile,
+      KeyFactory keyFactory,
       XMessager messager,
       XProcessingEnv processingEnv) {
     this.parent = parent;
@@ -300,6 +354,8 @@ public final class ComponentImplementation {
     this.graph = graph;
     this.componentNames = componentNames;
     this.compilerOptions = compilerOptions;
+    this.switchingProviderProfile = switchingProviderProfile;
+    this.keyFactory = keyFactory;
     this.processingEnv = processingEnv;
 
     // The first group of keys belong to the component itself. We call this the componentShard.
@@ -449,7 +505,21 @@ public final class ComponentImplementation {
 
   /** Generates the component and returns the resulting {@link TypeSpec}. */
   public TypeSpec generate() {
-    return componentShard.generate();
+    TypeSpec component = componentShard.generate();
+    // Top-level shards access the members of the component and of other shards from outside of
+    // the top-level class, so nothing in the component can be private.
+    return compilerOptions.topLevelComponentShards() && !parent.isPresent()
+        ? TypeSpecs.withoutPrivateModifiers(component)
+        : component;
+  }
+
+  /**
+   * Returns the shards of this component and its descendants that are generated as top-level
+   * classes. This is only populated after calling {@link #generate()} on the root component.
+   */
+  public ImmutableList<TypeSpec> topLevelShards() {
+    checkState(!parent.isPresent(), "Only the root component has top-level shards.");
+    return ImmutableList.copyOf(topLevelShards);
   }
 
   /**
@@ -475,6 +545,7 @@ public final class ComponentImplementation {
     private final List<XCodeBlock> initializations = new ArrayList<>();
     private final SwitchingProviders switchingProviders;
     private final Map<Key, XCodeBlock> cancellations = new LinkedHashMap<>();
+    private Optional<XCodeBlock> executorCancellation = Optional.empty();
     private final Map<XVariableElement, String> uniqueAssistedName = new LinkedHashMap<>();
     private final List<XCodeBlock> componentRequirementInitializations = new ArrayList<>();
     private final ImmutableMap<ComponentRequirement, ParameterSpec> constructorParameters;
@@ -489,7 +560,8 @@ public final class ComponentImplementation {
 
     private ShardImplementation(XClassName name) {
       this.name = name;
-      this.switchingProviders = new SwitchingProviders(this, processingEnv);
+      this.switchingProviders =
+          new SwitchingProviders(this, compilerOptions, switchingProviderProfile, processingEnv);
       if (graph.componentDescriptor().isProduction()) {
         claimMethodName(CANCELLATION_LISTENER_METHOD_NAME);
       }
@@ -528,14 +600,17 @@ public final class ComponentImplementation {
                               .build()));
     }
 
-    private ShardImplementation createShard() {
+    private ShardImplementation createShard(String suffix) {
       checkState(isComponentShard(), "Only the componentShard can create other shards.");
-      return new ShardImplementation(
+      XClassName topLevelName = topLevelImplementation().name();
+      String shardName =
           topLevelImplementation()
-              .name()
-              .nestedClass(
-                  topLevelImplementation()
-                      .getUniqueClassName(getComponentShard().name().getSimpleName() + "Shard")));
+              .getUniqueClassName(getComponentShard().name().getSimpleName() + "Shard" + suffix);
+      return new ShardImplementation(
+          compilerOptions.topLevelComponentShards()
+              ? XClassName.get(
+                  topLevelName.getPackageName(), topLevelName.getSimpleName() + "_" + shardName)
+              : topLevelName.nestedClass(shardName));
     }
 
     /** Returns the {@link SwitchingProviders} class for this shard. */
@@ -561,12 +636,22 @@ public final class ComponentImplementation {
       return componentFieldsByImplementation;
     }
 
+    /** Returns the name of this shard without the prefix of a top-level shard's class name. */
+    private String shardSimpleName() {
+      if (XTypeNames.enclosingClassName(name) != null) {
+        return name.getSimpleName();
+      }
+      String prefix = topLevelImplementation().name().getSimpleName() + "_";
+      checkState(name.getSimpleName().startsWith(prefix), "Unexpected shard name: %s", name);
+      return name.getSimpleName().substring(prefix.length());
+    }
+
     /** Returns a reference to this implementation when called from a different class. */
     public XCodeBlock shardFieldReference() {
       if (!isComponentShard() && !shardFieldsByImplementation.containsKey(this)) {
         // Add the shard if this is the first time it's requested by something.
         String shardFieldName =
-            componentShard.getUniqueFieldName(UPPER_CAMEL.to(LOWER_CAMEL, name.getSimpleName()));
+            componentShard.getUniqueFieldName(UPPER_CAMEL.to(LOWER_CAMEL, shardSimpleName()));
         FieldSpec shardField = FieldSpec.builder(toJavaPoet(name), shardFieldName).build();
 
         shardFieldsByImplementation.put(this, shardField);
@@ -758,7 +843,13 @@ public final class ComponentImplementation {
         addCreator();
         addFactoryMethods();
         addInterfaceMethods();
+        if (compilerOptions.eagerParallelInitialization() && !parent.isPresent()) {
+          addEagerInitializationMethods();
+        }
         addChildComponents();
+        if (graph.componentDescriptor().isProduction()) {
+          executorCancellation = virtualThreadExecutorCancellation();
+        }
         addShards();
       }
 
@@ -789,6 +880,9 @@ public final class ComponentImplementation {
     }
 
     private ImmutableSet<Modifier> modifiers() {
+      if (!isComponentShard() && XTypeNames.enclosingClassName(name) == null) {
+        return ImmutableSet.of(FINAL);
+      }
       return isNested() || !isComponentShard()
           ? ImmutableSet.of(PRIVATE, STATIC, FINAL)
           : graph.componentTypeElement().isPublic()
@@ -931,6 +1025,223 @@ public final class ComponentImplementation {
       }
     }
 
+    /**
+     * Adds an {@code initializeEagerly(Executor)} method that initializes the scoped bindings of
+     * this component in parallel waves, along with a static method on the top-level class for
+     * calling it on an instance of the component type.
+     *
+     * <p>Like the {@code get()} methods of {@link SwitchingProviders}, the switch over binding ids
+     * and the literal holding the waves are split into methods of at most {@link
+     * #EAGER_IDS_PER_METHOD} ids each, so that large graphs don't exceed the size limit of a
+     * method.
+     */
+    private void addEagerInitializationMethods() {
+      checkState(!parent.isPresent());
+      ImmutableList<ImmutableList<ImmutableList<Binding>>> waves =
+          EagerInitializationWaves.compute(graph);
+      List<CodeBlock> cases = new ArrayList<>();
+      for (ImmutableList<ImmutableList<Binding>> wave : waves) {
+        for (ImmutableList<Binding> task : wave) {
+          for (Binding binding : task) {
+            XExpression instance =
+                componentRequestRepresentationsProvider
+                    .get()
+                    .getDependencyExpression(
+                        bindingRequest(binding.key(), RequestKind.INSTANCE), name);
+            cases.add(
+                CodeBlock.builder()
+                    .add("case $L: // $L\n", cases.size(), binding.key())
+                    .addStatement("return $L", toJavaPoet(instance.codeBlock()))
+                    .build());
+          }
+        }
+      }
+      String instanceMethodName = addEagerInstanceMethods(cases);
+
+      String initializeMethodName = getUniqueMethodName("initializeEagerly");
+      TypeSpec initializer =
+          TypeSpec.anonymousClassBuilder("")
+              .addSuperinterface(toJavaPoet(XTypeNames.PARALLEL_INITIALIZER_INITIALIZER))
+              .addMethod(
+                  methodBuilder("initialize")
+                      .addAnnotation(Override.class)
+                      .addModifiers(PUBLIC)
+                      .addParameter(int.class, "id")
+                      .addStatement("$N(id)", instanceMethodName)
+                      .build())
+              .build();
+      MethodSpec.Builder initializeMethod =
+          methodBuilder(initializeMethodName)
+              .addModifiers(PRIVATE)
+              .addParameter(toJavaPoet(XTypeNames.EXECUTOR), "executor");
+      if (cases.size() <= EAGER_IDS_PER_METHOD) {
+        List<CodeBlock> waveLiterals = new ArrayList<>();
+        int firstId = 0;
+        for (ImmutableList<ImmutableList<Binding>> wave : waves) {
+          waveLiterals.add(CodeBlock.of("{$L}", waveLiteral(wave, firstId)));
+          firstId += wave.stream().mapToInt(List::size).sum();
+        }
+        initializeMethod.addStatement(
+            "$T.initialize(executor, new int[][][] {$L}, $L)",
+            toJavaPoet(XTypeNames.PARALLEL_INITIALIZER),
+            CodeBlock.join(waveLiterals, ", "),
+            initializer);
+      } else {
+        initializeMethod.addStatement("int[][][] waves = new int[$L][][]", waves.size());
+        ImmutableList<List<CodeBlock>> partitions = waveAssignmentPartitions(waves);
+        for (int i = 0; i < partitions.size(); i++) {
+          MethodSpec wavesMethod =
+              methodBuilder(getUniqueMethodName("eagerInitializationWaves" + i))
+                  .addModifiers(PRIVATE)
+                  .addParameter(int[][][].class, "waves")
+                  .addCode(CodeBlock.join(partitions.get(i), ""))
+                  .build();
+          addMethod(MethodSpecKind.PRIVATE_METHOD, wavesMethod);
+          initializeMethod.addStatement("$N(waves)", wavesMethod);
+        }
+        initializeMethod.addStatement(
+            "$T.initialize(executor, waves, $L)",
+            toJavaPoet(XTypeNames.PARALLEL_INITIALIZER),
+            initializer);
+      }
+      addMethod(MethodSpecKind.PRIVATE_METHOD, initializeMethod.build());
+
+      topLevelImplementation()
+          .addMethod(
+              MethodSpecKind.BUILDER_METHOD,
+              methodBuilder("initializeEagerly")
+                  .addModifiers(PUBLIC, STATIC)
+                  .addParameter(graph.componentTypeElement().getClassName(), "component")
+                  .addParameter(toJavaPoet(XTypeNames.EXECUTOR), "executor")
+                  .addStatement(
+                      "(($T) component).$N(executor)", toJavaPoet(name), initializeMethodName)
+                  .build());
+    }
+
+    /**
+     * Adds the methods returning the instance of the binding with a given id, and returns the name
+     * of the method to call with any id.
+     */
+    private String addEagerInstanceMethods(List<CodeBlock> cases) {
+      List<List<CodeBlock>> partitions = Lists.partition(cases, EAGER_IDS_PER_METHOD);
+      String instanceMethodName = getUniqueMethodName("eagerInstance");
+      MethodSpec.Builder instanceMethod =
+          methodBuilder(instanceMethodName)
+              .addModifiers(PRIVATE)
+              .returns(Object.class)
+              .addParameter(int.class, "id");
+      if (partitions.size() <= 1) {
+        addMethod(
+            MethodSpecKind.PRIVATE_METHOD,
+            instanceMethod.addCode(eagerInstanceSwitch(cases)).build());
+        return instanceMethodName;
+      }
+      // Route each id to the method holding its case.
+      instanceMethod.beginControlFlow("switch (id / $L)", EAGER_IDS_PER_METHOD);
+      for (int i = 0; i < partitions.size(); i++) {
+        MethodSpec partitionMethod =
+            methodBuilder(getUniqueMethodName(instanceMethodName + i))
+                .addModifiers(PRIVATE)
+                .returns(Object.class)
+                .addParameter(int.class, "id")
+                .addCode(eagerInstanceSwitch(partitions.get(i)))
+                .build();
+        addMethod(MethodSpecKind.PRIVATE_METHOD, partitionMethod);
+        instanceMethod.addStatement("case $L: return $N(id)", i, partitionMethod);
+      }
+      instanceMethod
+          .addStatement("default: throw new $T(id)", AssertionError.class)
+          .endControlFlow();
+      addMethod(MethodSpecKind.PRIVATE_METHOD, instanceMethod.build());
+      return instanceMethodName;
+    }
+
+    private CodeBlock eagerInstanceSwitch(List<CodeBlock> cases) {
+      return CodeBlock.builder()
+          .beginControlFlow("switch (id)")
+          .add(CodeBlock.join(cases, ""))
+          .addStatement("default: throw new $T(id)", AssertionError.class)
+          .endControlFlow()
+          .build();
+    }
+
+    /**
+     * Returns the statements assigning each wave to {@code waves}, partitioned such that each
+     * partition holds at most {@link #EAGER_IDS_PER_METHOD} ids. Waves and tasks that are too large
+     * for a single partition are assigned task by task, and tasks that are too large are filled by
+     * a loop over their ids, which are consecutive.
+     */
+    private ImmutableList<List<CodeBlock>> waveAssignmentPartitions(
+        ImmutableList<ImmutableList<ImmutableList<Binding>>> waves) {
+      ImmutableList.Builder<List<CodeBlock>> partitions = ImmutableList.builder();
+      List<CodeBlock> partition = new ArrayList<>();
+      int partitionIds = 0;
+      int id = 0;
+      for (int w = 0; w < waves.size(); w++) {
+        ImmutableList<ImmutableList<Binding>> wave = waves.get(w);
+        int waveIds = wave.stream().mapToInt(List::size).sum();
+        List<CodeBlock> statements = new ArrayList<>();
+        List<Integer> statementIds = new ArrayList<>();
+        if (waveIds <= EAGER_IDS_PER_METHOD) {
+          statements.add(
+              CodeBlock.of("waves[$L] = new int[][] {$L};\n", w, waveLiteral(wave, id)));
+          statementIds.add(waveIds);
+        } else {
+          statements.add(CodeBlock.of("waves[$L] = new int[$L][];\n", w, wave.size()));
+          statementIds.add(0);
+          int taskId = id;
+          for (int t = 0; t < wave.size(); t++) {
+            int size = wave.get(t).size();
+            statements.add(
+                size <= EAGER_IDS_PER_METHOD
+                    ? CodeBlock.of(
+                        "waves[$L][$L] = new int[] {$L};\n", w, t, taskLiteral(taskId, size))
+                    : CodeBlock.builder()
+                        .addStatement("waves[$L][$L] = new int[$L]", w, t, size)
+                        .beginControlFlow("for (int i = 0; i < $L; i++)", size)
+                        .addStatement("waves[$L][$L][i] = $L + i", w, t, taskId)
+                        .endControlFlow()
+                        .build());
+            statementIds.add(Math.min(size, EAGER_IDS_PER_METHOD));
+            taskId += size;
+          }
+        }
+        for (int i = 0; i < statements.size(); i++) {
+          if (partitionIds + statementIds.get(i) > EAGER_IDS_PER_METHOD && !partition.isEmpty()) {
+            partitions.add(partition);
+            partition = new ArrayList<>();
+            partitionIds = 0;
+          }
+          partition.add(statements.get(i));
+          partitionIds += statementIds.get(i);
+        }
+        id += waveIds;
+      }
+      if (!partition.isEmpty()) {
+        partitions.add(partition);
+      }
+      return partitions.build();
+    }
+
+    /** Returns the literal of a wave whose first id is {@code firstId}, without its braces. */
+    private CodeBlock waveLiteral(ImmutableList<ImmutableList<Binding>> wave, int firstId) {
+      List<CodeBlock> tasks = new ArrayList<>();
+      int id = firstId;
+      for (ImmutableList<Binding> task : wave) {
+        tasks.add(CodeBlock.of("{$L}", taskLiteral(id, task.size())));
+        id += task.size();
+      }
+      return CodeBlock.join(tasks, ", ");
+    }
+
+    private CodeBlock taskLiteral(int firstId, int size) {
+      List<CodeBlock> ids = new ArrayList<>();
+      for (int id = firstId; id < firstId + size; id++) {
+        ids.add(CodeBlock.of("$L", id));
+      }
+      return CodeBlock.join(ids, ", ");
+    }
+
     private void addChildComponents() {
       for (BindingGraph subgraph : graph.subgraphs()) {
         topLevelImplementation()
@@ -946,7 +1257,13 @@ public final class ComponentImplementation {
         if (shardFieldsByImplementation.containsKey(shard)) {
           addField(FieldSpecKind.COMPONENT_SHARD_FIELD, shardFieldsByImplementation.get(shard));
           TypeSpec shardTypeSpec = shard.generate();
-          topLevelImplementation().addType(TypeSpecKind.COMPONENT_SHARD_TYPE, shardTypeSpec);
+          if (compilerOptions.topLevelComponentShards()) {
+            rootComponentImplementation()
+                .topLevelShards
+                .add(TypeSpecs.withoutPrivateModifiers(shardTypeSpec));
+          } else {
+            topLevelImplementation().addType(TypeSpecKind.COMPONENT_SHARD_TYPE, shardTypeSpec);
+          }
         }
       }
     }
@@ -1072,7 +1389,7 @@ public final class ComponentImplementation {
 
       ImmutableList<XCodeBlock> cancellationStatements =
           ImmutableList.copyOf(cancellations.values()).reverse();
-      if (cancellationStatements.size() < STATEMENTS_PER_METHOD) {
+      if (fitsInOneMethod(cancellationStatements)) {
         methodBuilder.addCode(toJavaPoet(concat(cancellationStatements))).build();
       } else {
         ImmutableList<MethodSpec> cancelProducersMethods =
@@ -1089,12 +1406,57 @@ public final class ComponentImplementation {
       }
 
       if (isComponentShard()) {
+        // Interrupt the producer methods that are still running once their producers are cancelled.
+        executorCancellation.map(XConverters::toJavaPoet).ifPresent(methodBuilder::addCode);
         cancelParentStatement().map(XConverters::toJavaPoet).ifPresent(methodBuilder::addCode);
       }
 
       addMethod(MethodSpecKind.CANCELLATION_LISTENER_METHOD, methodBuilder.build());
     }
 
+    /**
+     * Returns the statements that cancel the executor bound by {@code
+     * dagger.producers.VirtualThreadProductionModule}, if this component owns that executor rather
+     * than inheriting it from a parent.
+     *
+     * <p>The executor is read from its scoped provider without initializing it, so that cancelling
+     * a component whose producers never ran neither creates an executor nor fails on runtimes
+     * without virtual threads.
+     */
+    private Optional<XCodeBlock> virtualThreadExecutorCancellation() {
+      return graph
+          .localContributionBinding(keyFactory.forProductionExecutor())
+          .filter(
+              binding ->
+                  binding
+                      .contributingModule()
+                      .map(XTypeElement::asClassName)
+                      .filter(XTypeNames.VIRTUAL_THREAD_PRODUCTION_MODULE::equals)
+                      .isPresent())
+          .map(
+              binding ->
+                  XCodeBlock.builder()
+                      .addStatement(
+                          "%T %N = %T.getIfInitialized(%L)",
+                          XTypeName.ANY_OBJECT,
+                          "virtualThreadExecutor",
+                          XTypeNames.DOUBLE_CHECK,
+                          componentRequestRepresentationsProvider
+                              .get()
+                              .getDependencyExpression(
+                                  bindingRequest(binding.key(), RequestKind.PROVIDER), name)
+                              .codeBlock())
+                      .beginControlFlow("if (%N != null)", "virtualThreadExecutor")
+                      .addStatement(
+                          "((%T) %N).%N(%N)",
+                          XTypeNames.CANCELLATION_LISTENER,
+                          "virtualThreadExecutor",
+                          CANCELLATION_LISTENER_METHOD_NAME,
+                          MAY_INTERRUPT_IF_RUNNING_PARAM.name)
+                      .endControlFlow()
+                      .build());
+    }
+
     private Optional<XCodeBlock> cancelParentStatement() {
       if (!shouldPropagateCancellationToParent()) {
         return Optional.empty();
@@ -1124,13 +1486,16 @@ public final class ComponentImplementation {
      * given list of {@code statements} among themselves such that no method has more than {@code
      * STATEMENTS_PER_METHOD} statements in it and such that the returned methods, if called in
      * order, will execute the {@code statements} in the given order.
+     *
+     * <p>With {@link CompilerOptions#bytecodeSizePartitioning()}, each method instead has at most
+     * {@link BytecodeSizes#INITIALIZATION_METHOD_BUDGET} bytes of estimated bytecode.
      */
     private ImmutableList<MethodSpec> createPartitionedMethods(
         String methodName,
         Iterable<ParameterSpec> parameters,
         List<XCodeBlock> statements,
         Function<String, MethodSpec.Builder> methodBuilderCreator) {
-      return Lists.partition(statements, STATEMENTS_PER_METHOD).stream()
+      return statementPartitions(statements).stream()
           .map(
               partition ->
                   methodBuilderCreator
@@ -1141,6 +1506,18 @@ public final class ComponentImplementation {
                       .build())
           .collect(toImmutableList());
     }
+
+    private List<? extends List<XCodeBlock>> statementPartitions(List<XCodeBlock> statements) {
+      return compilerOptions.bytecodeSizePartitioning()
+          ? partitionBySize(statements, BytecodeSizes::estimate, INITIALIZATION_METHOD_BUDGET)
+          : Lists.partition(statements, STATEMENTS_PER_METHOD);
+    }
+
+    private boolean fitsInOneMethod(List<XCodeBlock> statements) {
+      return compilerOptions.bytecodeSizePartitioning()
+          ? statementPartitions(statements).size() <= 1
+          : statements.size() < STATEMENTS_PER_METHOD;
+    }
   }
 
   private static ImmutableList<ComponentRequirement> constructorRequirements(BindingGraph graph) {
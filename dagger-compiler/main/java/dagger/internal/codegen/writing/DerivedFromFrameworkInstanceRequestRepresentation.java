@@ -30,6 +30,7 @@ import dagger.internal.codegen.binding.ComponentDescriptor.ComponentMethodDescri
 import dagger.internal.codegen.binding.ContributionBinding;
 import dagger.internal.codegen.binding.DelegateBinding;
 import dagger.internal.codegen.binding.FrameworkType;
+import dagger.internal.codegen.compileroption.CompilerOptions;
 import dagger.internal.codegen.model.BindingKind;
 import dagger.internal.codegen.model.RequestKind;
 import dagger.internal.codegen.xprocessing.XExpression;
@@ -43,6 +44,7 @@ final class DerivedFromFrameworkInstanceRequestRepresentation extends RequestRep
   private final FrameworkType frameworkType;
   private final XProcessingEnv processingEnv;
   private final BindsTypeChecker bindsTypeChecker;
+  private final CompilerOptions compilerOptions;
 
   @AssistedInject
   DerivedFromFrameworkInstanceRequestRepresentation(
@@ -51,13 +53,15 @@ final class DerivedFromFrameworkInstanceRequestRepresentation extends RequestRep
       @Assisted RequestKind requestKind,
       @Assisted FrameworkType frameworkType,
       XProcessingEnv processingEnv,
-      BindsTypeChecker bindsTypeChecker) {
+      BindsTypeChecker bindsTypeChecker,
+      CompilerOptions compilerOptions) {
     this.binding = binding;
     this.frameworkRequestRepresentation = checkNotNull(frameworkRequestRepresentation);
     this.requestKind = requestKind;
     this.frameworkType = checkNotNull(frameworkType);
     this.processingEnv = processingEnv;
     this.bindsTypeChecker = bindsTypeChecker;
+    this.compilerOptions = compilerOptions;
   }
 
   @Override
@@ -82,7 +86,8 @@ final class DerivedFromFrameworkInstanceRequestRepresentation extends RequestRep
         frameworkType.to(
             requestKind,
             frameworkExpression,
-            processingEnv);
+            processingEnv,
+            compilerOptions);
 
     // If it is a map type we need to do a raw type cast. This is because a user requested field
     // type like dagger.internal.Provider<Map<K, javax.inject.Provider<V>>> isn't always assignable
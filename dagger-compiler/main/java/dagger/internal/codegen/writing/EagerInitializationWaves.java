@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.internal.codegen.writing;
+
+import static dagger.internal.codegen.binding.BindingType.PROVISION;
+import static dagger.internal.codegen.extension.DaggerStreams.toImmutableList;
+import static dagger.internal.codegen.writing.ProvisionBindingRepresentation.needsCaching;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import dagger.internal.codegen.binding.Binding;
+import dagger.internal.codegen.binding.BindingGraph;
+import dagger.internal.codegen.binding.BindingNode;
+import dagger.internal.codegen.binding.ContributionBinding;
+import dagger.internal.codegen.model.BindingGraph.Node;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Groups the scoped bindings of a component into waves that can be initialized in parallel.
+ *
+ * <p>A binding is placed in a wave after every wave holding one of its transitive scoped
+ * dependencies, so the bindings within a wave never depend on one another. The bindings of a
+ * dependency cycle are kept together in a single task and initialized serially, in the graph's
+ * deterministic node order.
+ */
+final class EagerInitializationWaves {
+  /**
+   * Returns the waves of scoped bindings owned by {@code graph}'s component, in initialization
+   * order. Each wave is a list of tasks, and each task is a list of bindings to initialize in
+   * order.
+   */
+  static ImmutableList<ImmutableList<ImmutableList<Binding>>> compute(BindingGraph graph) {
+    // Strongly connected components come in reverse topological order, so the depth of each
+    // component's dependencies is always known before the component itself is visited.
+    ImmutableList<ImmutableSet<Node>> components =
+        graph.topLevelBindingGraph().stronglyConnectedNodes();
+    Map<Node, Integer> componentIndex = new HashMap<>();
+    for (int i = 0; i < components.size(); i++) {
+      for (Node node : components.get(i)) {
+        componentIndex.put(node, i);
+      }
+    }
+
+    int[] depths = new int[components.size()];
+    List<ImmutableList<Binding>> eagerBindings = new ArrayList<>(components.size());
+    TreeMap<Integer, ImmutableList.Builder<ImmutableList<Binding>>> waves = new TreeMap<>();
+    for (int i = 0; i < components.size(); i++) {
+      int depth = 0;
+      for (Node node : components.get(i)) {
+        for (Node successor : graph.topLevelBindingGraph().network().successors(node)) {
+          int j = componentIndex.get(successor);
+          if (j != i) {
+            depth = Math.max(depth, depths[j] + (eagerBindings.get(j).isEmpty() ? 0 : 1));
+          }
+        }
+      }
+      depths[i] = depth;
+      ImmutableList<Binding> bindings =
+          components.get(i).stream()
+              .filter(node -> isEager(node, graph))
+              .map(node -> ((BindingNode) node).delegate())
+              .collect(toImmutableList());
+      eagerBindings.add(bindings);
+      if (!bindings.isEmpty()) {
+        waves.computeIfAbsent(depth, unused -> ImmutableList.builder()).add(bindings);
+      }
+    }
+    return waves.values().stream()
+        .map(ImmutableList.Builder::build)
+        .collect(toImmutableList());
+  }
+
+  /** Returns {@code true} if {@code node} is a scoped provision owned by {@code graph}. */
+  private static boolean isEager(Node node, BindingGraph graph) {
+    if (!(node instanceof BindingNode) || !node.componentPath().equals(graph.componentPath())) {
+      return false;
+    }
+    Binding binding = ((BindingNode) node).delegate();
+    return binding.bindingType().equals(PROVISION)
+        && binding instanceof ContributionBinding
+        && needsCaching((ContributionBinding) binding, graph)
+        && !binding.scope().get().isReusable();
+  }
+
+  private EagerInitializationWaves() {}
+}
@@ -29,6 +29,7 @@ import dagger.internal.codegen.binding.BindingRequest;
 import dagger.internal.codegen.binding.ContributionBinding;
 import dagger.internal.codegen.binding.DelegateBinding;
 import dagger.internal.codegen.binding.FrameworkType;
+import dagger.internal.codegen.compileroption.CompilerOptions;
 import dagger.internal.codegen.model.RequestKind;
 import java.util.HashMap;
 import java.util.Map;
@@ -40,6 +41,9 @@ final class FrameworkInstanceBindingRepresentation {
       derivedFromFrameworkInstanceRequestRepresentationFactory;
   private final ImmediateFutureRequestRepresentation.Factory
       immediateFutureRequestRepresentationFactory;
+  private final ProviderOfLazyFieldRequestRepresentation.Factory
+      providerOfLazyFieldRequestRepresentationFactory;
+  private final CompilerOptions compilerOptions;
   private final Map<BindingRequest, RequestRepresentation> requestRepresentations = new HashMap<>();
   private final RequestRepresentation providerRequestRepresentation;
   private final RequestRepresentation producerFromProviderRepresentation;
@@ -57,11 +61,17 @@ final class FrameworkInstanceBindingRepresentation {
           producerNodeInstanceRequestRepresentationFactory,
       ProviderInstanceRequestRepresentation.Factory providerInstanceRequestRepresentationFactory,
       ProducerFromProviderCreationExpression.Factory
-          producerFromProviderCreationExpressionFactory) {
+          producerFromProviderCreationExpressionFactory,
+      ProviderOfLazyFieldRequestRepresentation.Factory
+          providerOfLazyFieldRequestRepresentationFactory,
+      CompilerOptions compilerOptions) {
     this.binding = binding;
     this.derivedFromFrameworkInstanceRequestRepresentationFactory =
         derivedFromFrameworkInstanceRequestRepresentationFactory;
     this.immediateFutureRequestRepresentationFactory = immediateFutureRequestRepresentationFactory;
+    this.providerOfLazyFieldRequestRepresentationFactory =
+        providerOfLazyFieldRequestRepresentationFactory;
+    this.compilerOptions = compilerOptions;
     this.providerRequestRepresentation =
         binding.kind().equals(DELEGATE) && !needsCaching(binding, graph)
             ? delegateRequestRepresentationFactory.create(
@@ -88,9 +98,19 @@ final class FrameworkInstanceBindingRepresentation {
       case INSTANCE:
       case LAZY:
       case PRODUCED:
-      case PROVIDER_OF_LAZY:
         return derivedFromFrameworkInstanceRequestRepresentationFactory.create(
             binding, providerRequestRepresentation, request.requestKind(), FrameworkType.PROVIDER);
+      case PROVIDER_OF_LAZY:
+        RequestRepresentation providerOfLazyRequestRepresentation =
+            derivedFromFrameworkInstanceRequestRepresentationFactory.create(
+                binding,
+                providerRequestRepresentation,
+                RequestKind.PROVIDER_OF_LAZY,
+                FrameworkType.PROVIDER);
+        return compilerOptions.memoizeProviderOfLazy()
+            ? providerOfLazyFieldRequestRepresentationFactory.create(
+                binding, providerOfLazyRequestRepresentation)
+            : providerOfLazyRequestRepresentation;
       case PROVIDER:
         return providerRequestRepresentation;
       case PRODUCER:
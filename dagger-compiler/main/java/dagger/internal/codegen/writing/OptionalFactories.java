@@ -58,6 +58,7 @@ import dagger.internal.codegen.base.OptionalType.OptionalKind;
 import dagger.internal.codegen.binding.BindingType;
 import dagger.internal.codegen.binding.FrameworkType;
 import dagger.internal.codegen.binding.OptionalBinding;
+import dagger.internal.codegen.compileroption.CompilerOptions;
 import dagger.internal.codegen.javapoet.AnnotationSpecs;
 import dagger.internal.codegen.model.RequestKind;
 import dagger.internal.codegen.xprocessing.XTypeNames;
@@ -104,13 +105,16 @@ final class OptionalFactories {
 
   private final PerGeneratedFileCache perGeneratedFileCache;
   private final GeneratedImplementation topLevelImplementation;
+  private final CompilerOptions compilerOptions;
 
   @Inject
   OptionalFactories(
       PerGeneratedFileCache perGeneratedFileCache,
-      @TopLevel GeneratedImplementation topLevelImplementation) {
+      @TopLevel GeneratedImplementation topLevelImplementation,
+      CompilerOptions compilerOptions) {
     this.perGeneratedFileCache = perGeneratedFileCache;
     this.topLevelImplementation = topLevelImplementation;
+    this.compilerOptions = compilerOptions;
   }
 
   /**
@@ -382,7 +386,8 @@ final class OptionalFactories {
                     .presentExpression(
                         FrameworkType.PROVIDER.to(
                             spec.valueKind(),
-                            XCodeBlock.of("%N", delegateField.name))))
+                            XCodeBlock.of("%N", delegateField.name),
+                            compilerOptions)))
             .build();
 
       case PRODUCER_NODE:
@@ -399,7 +404,8 @@ final class OptionalFactories {
                         .presentExpression(
                             FrameworkType.PRODUCER_NODE.to(
                                 spec.valueKind(),
-                                XCodeBlock.of("%N", delegateField.name))))
+                                XCodeBlock.of("%N", delegateField.name),
+                                compilerOptions)))
                 .build();
 
           case INSTANCE: // return a ListenableFuture<Optional<T>>
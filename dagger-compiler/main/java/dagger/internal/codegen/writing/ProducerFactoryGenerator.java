@@ -34,6 +34,7 @@ import static dagger.internal.codegen.xprocessing.XCodeBlocks.makeParametersCode
 import static dagger.internal.codegen.xprocessing.XCodeBlocks.parameterNames;
 import static dagger.internal.codegen.xprocessing.XElements.asMethod;
 import static dagger.internal.codegen.xprocessing.XElements.getSimpleName;
+import static dagger.internal.codegen.xprocessing.XTypeNames.isCompletionStageType;
 import static dagger.internal.codegen.xprocessing.XTypeNames.isFutureType;
 import static dagger.internal.codegen.xprocessing.XTypeNames.listOf;
 import static dagger.internal.codegen.xprocessing.XTypeNames.listenableFutureOf;
@@ -77,6 +78,7 @@ import dagger.internal.codegen.model.RequestKind;
 import dagger.internal.codegen.xprocessing.XTypeNames;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import javax.inject.Inject;
 
 /** Generates {@code Producer} implementations from {@link ProductionBinding} instances. */
@@ -152,10 +154,12 @@ public final class ProducerFactoryGenerator extends SourceFileGenerator<Producti
   //   this.fooProducer = Producers.nonCancellationPropagatingViewOf(fooProducer);
   //   this.barProducer = Producers.nonCancellationPropagatingViewOf(barProducer);
   // }
+  //
+  // If the method is @Produces(inline = true), the super constructor has an extra `true` argument.
   private MethodSpec constructorMethod(ProductionBinding binding, FactoryFields factoryFields) {
     MethodSpec.Builder constructorBuilder = constructorBuilder().addModifiers(PRIVATE);
     constructorBuilder.addStatement(
-        "super($N, $L, $N)",
+        isInline(binding) ? "super($N, $L, $N, true)" : "super($N, $L, $N)",
         toJavaPoet(factoryFields.monitorField),
         toJavaPoet(producerTokenConstruction(generatedClassNameForBinding(binding), binding)),
         toJavaPoet(factoryFields.executorField));
@@ -182,6 +186,14 @@ public final class ProducerFactoryGenerator extends SourceFileGenerator<Producti
     return constructorBuilder.build();
   }
 
+  private static boolean isInline(ProductionBinding binding) {
+    return binding
+        .bindingElement()
+        .get()
+        .getAnnotation(XTypeNames.PRODUCES)
+        .getAsBoolean("inline");
+  }
+
   // public static FooModule_ProducesFooFactory create(
   //     FooModule module,
   //     Provider<Executor> executorProvider,
@@ -343,7 +355,8 @@ public final class ProducerFactoryGenerator extends SourceFileGenerator<Producti
             getSimpleName(binding.bindingElement().get()),
             makeParametersCodeBlock(parameterCodeBlocks.build()));
 
-    switch (ProductionKind.fromProducesMethod(asMethod(binding.bindingElement().get()))) {
+    switch (ProductionKind.fromProducesMethod(
+        asMethod(binding.bindingElement().get()), compilerOptions)) {
       case IMMEDIATE:
         methodBuilder.addStatement(
             "return $T.<$T>immediateFuture($L)",
@@ -354,6 +367,12 @@ public final class ProducerFactoryGenerator extends SourceFileGenerator<Producti
       case FUTURE:
         methodBuilder.addStatement("return $L", toJavaPoet(moduleCodeBlock));
         break;
+      case COMPLETION_STAGE:
+        methodBuilder.addStatement(
+            "return $T.fromCompletionStage($L)",
+            toJavaPoet(XTypeNames.PRODUCERS),
+            toJavaPoet(moduleCodeBlock));
+        break;
       case SET_OF_FUTURE:
         methodBuilder.addStatement(
             "return $T.allAsSet($L)",
@@ -402,7 +421,20 @@ public final class ProducerFactoryGenerator extends SourceFileGenerator<Producti
                     binding.bindingTypeElement().get().getClassName(),
                     getSimpleName(binding.bindingElement().get())))
             : XCodeBlock.of("%T.class", generatedTypeName);
-    return XCodeBlock.of("%T.create(%L)", XTypeNames.PRODUCER_TOKEN, producerTokenArgs);
+    XCodeBlock producerToken =
+        XCodeBlock.of("%T.create(%L)", XTypeNames.PRODUCER_TOKEN, producerTokenArgs);
+    if (!compilerOptions.producerDependencyMetadata()) {
+      return producerToken;
+    }
+    // The key of a multibinding contribution is written without its contribution identifier, so
+    // that it matches the key of the multibinding requested by the contribution's consumers.
+    ImmutableList<XCodeBlock> keys =
+        Stream.concat(
+                Stream.of(binding.key().withoutMultibindingContributionIdentifier()),
+                binding.explicitDependencies().stream().map(DependencyRequest::key).distinct())
+            .map(key -> XCodeBlock.of("%S", key.toString()))
+            .collect(toImmutableList());
+    return XCodeBlock.of("%L.withKeys(%L)", producerToken, makeParametersCodeBlock(keys));
   }
 
   /** Returns a name of the variable representing this dependency's future. */
@@ -506,13 +538,19 @@ public final class ProducerFactoryGenerator extends SourceFileGenerator<Producti
     IMMEDIATE,
     /** A {@code ListenableFuture<T>}. */
     FUTURE,
+    /** A {@code CompletionStage<T>} or {@code CompletableFuture<T>}. */
+    COMPLETION_STAGE,
     /** A {@code Set<ListenableFuture<T>>}. */
     SET_OF_FUTURE;
 
     /** Returns the kind of object a {@code @Produces}-annotated method returns. */
-    static ProductionKind fromProducesMethod(XMethodElement producesMethod) {
+    static ProductionKind fromProducesMethod(
+        XMethodElement producesMethod, CompilerOptions compilerOptions) {
       if (isFutureType(producesMethod.getReturnType())) {
         return FUTURE;
+      } else if (compilerOptions.completionStageProducers()
+          && isCompletionStageType(producesMethod.getReturnType())) {
+        return COMPLETION_STAGE;
       } else if (ContributionType.fromBindingElement(producesMethod)
               .equals(ContributionType.SET_VALUES)
           && isFutureType(SetType.from(producesMethod.getReturnType()).elementType())) {
@@ -22,6 +22,7 @@ import dagger.assisted.Assisted;
 import dagger.assisted.AssistedFactory;
 import dagger.assisted.AssistedInject;
 import dagger.internal.codegen.binding.FrameworkType;
+import dagger.internal.codegen.compileroption.CompilerOptions;
 import dagger.internal.codegen.model.RequestKind;
 import dagger.internal.codegen.writing.FrameworkFieldInitializer.FrameworkInstanceCreationExpression;
 import dagger.internal.codegen.xprocessing.XTypeNames;
@@ -31,20 +32,24 @@ import java.util.Optional;
 final class ProducerFromProviderCreationExpression implements FrameworkInstanceCreationExpression {
   private final RequestRepresentation providerRequestRepresentation;
   private final XClassName requestingClass;
+  private final CompilerOptions compilerOptions;
 
   @AssistedInject
   ProducerFromProviderCreationExpression(
       @Assisted RequestRepresentation providerRequestRepresentation,
-      @Assisted XClassName requestingClass) {
+      @Assisted XClassName requestingClass,
+      CompilerOptions compilerOptions) {
     this.providerRequestRepresentation = providerRequestRepresentation;
     this.requestingClass = requestingClass;
+    this.compilerOptions = compilerOptions;
   }
 
   @Override
   public XCodeBlock creationExpression() {
     return FrameworkType.PROVIDER.to(
         RequestKind.PRODUCER,
-        providerRequestRepresentation.getDependencyExpression(requestingClass).codeBlock());
+        providerRequestRepresentation.getDependencyExpression(requestingClass).codeBlock(),
+        compilerOptions);
   }
 
   @Override
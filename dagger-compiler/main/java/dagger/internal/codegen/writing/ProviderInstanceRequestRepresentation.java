@@ -33,6 +33,7 @@ final class ProviderInstanceRequestRepresentation extends FrameworkInstanceReque
       StaticFactoryInstanceSupplier.Factory staticFactoryInstanceSupplierFactory,
       ProviderInstanceSupplier.Factory providerInstanceSupplierFactory,
       ComponentImplementation componentImplementation,
+      BindingRepresentations bindingRepresentations,
       XProcessingEnv processingEnv) {
     super(
         binding,
@@ -41,7 +42,8 @@ final class ProviderInstanceRequestRepresentation extends FrameworkInstanceReque
             switchingProviderInstanceSupplierFactory,
             staticFactoryInstanceSupplierFactory,
             providerInstanceSupplierFactory,
-            componentImplementation),
+            componentImplementation,
+            bindingRepresentations),
         processingEnv);
   }
 
@@ -55,14 +57,18 @@ final class ProviderInstanceRequestRepresentation extends FrameworkInstanceReque
       SwitchingProviderInstanceSupplier.Factory switchingProviderInstanceSupplierFactory,
       StaticFactoryInstanceSupplier.Factory staticFactoryInstanceSupplierFactory,
       ProviderInstanceSupplier.Factory providerInstanceSupplierFactory,
-      ComponentImplementation componentImplementation) {
+      ComponentImplementation componentImplementation,
+      BindingRepresentations bindingRepresentations) {
     FrameworkInstanceKind frameworkInstanceKind =
         FrameworkInstanceKind.from(binding, componentImplementation.compilerMode());
     switch (frameworkInstanceKind) {
       case SWITCHING_PROVIDER:
         return switchingProviderInstanceSupplierFactory.create(binding);
       case STATIC_FACTORY:
-        return staticFactoryInstanceSupplierFactory.create(binding);
+        // A traced binding needs a field to hold the provider that reports its provisions.
+        return bindingRepresentations.tracesProvision(binding)
+            ? providerInstanceSupplierFactory.create(binding)
+            : staticFactoryInstanceSupplierFactory.create(binding);
       case PROVIDER_FIELD:
         return providerInstanceSupplierFactory.create(binding);
     }
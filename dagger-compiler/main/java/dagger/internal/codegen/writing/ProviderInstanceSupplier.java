@@ -34,7 +34,10 @@ final class ProviderInstanceSupplier implements FrameworkInstanceSupplier {
           unscopedFrameworkInstanceCreationExpressionFactory,
       BindingRepresentations bindingRepresentations) {
     FrameworkInstanceCreationExpression frameworkInstanceCreationExpression =
-        unscopedFrameworkInstanceCreationExpressionFactory.create(binding);
+        bindingRepresentations.tracesProvision(binding)
+            ? bindingRepresentations.traceProvision(
+                binding, unscopedFrameworkInstanceCreationExpressionFactory.create(binding))
+            : unscopedFrameworkInstanceCreationExpressionFactory.create(binding);
     this.frameworkInstanceSupplier =
         new FrameworkFieldInitializer(
             componentImplementation,
@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.internal.codegen.writing;
+
+import static androidx.room.compiler.codegen.compat.XConverters.toJavaPoet;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static dagger.internal.codegen.javapoet.AnnotationSpecs.Suppression.RAWTYPES;
+import static dagger.internal.codegen.langmodel.Accessibility.isTypeAccessibleFrom;
+import static dagger.internal.codegen.writing.ComponentImplementation.FieldSpecKind.FRAMEWORK_FIELD;
+import static dagger.internal.codegen.xprocessing.XProcessingEnvs.wrapType;
+import static javax.lang.model.element.Modifier.PRIVATE;
+
+import androidx.room.compiler.codegen.XClassName;
+import androidx.room.compiler.codegen.XCodeBlock;
+import androidx.room.compiler.processing.XProcessingEnv;
+import androidx.room.compiler.processing.XType;
+import com.squareup.javapoet.FieldSpec;
+import dagger.assisted.Assisted;
+import dagger.assisted.AssistedFactory;
+import dagger.assisted.AssistedInject;
+import dagger.internal.codegen.base.MapType;
+import dagger.internal.codegen.binding.ContributionBinding;
+import dagger.internal.codegen.binding.KeyVariableNamer;
+import dagger.internal.codegen.javapoet.AnnotationSpecs;
+import dagger.internal.codegen.writing.ComponentImplementation.ShardImplementation;
+import dagger.internal.codegen.xprocessing.XExpression;
+import dagger.internal.codegen.xprocessing.XExpressionType;
+import dagger.internal.codegen.xprocessing.XTypeNames;
+
+/**
+ * A binding expression for {@code Provider<Lazy<T>>} requests that shares a single {@code
+ * ProviderOfLazy} per binding, held in a field of the component, rather than creating a new one for
+ * each request.
+ */
+final class ProviderOfLazyFieldRequestRepresentation extends RequestRepresentation {
+  private final ContributionBinding binding;
+  private final RequestRepresentation providerOfLazyRequestRepresentation;
+  private final ShardImplementation shardImplementation;
+  private final XProcessingEnv processingEnv;
+  private FieldSpec fieldSpec;
+
+  @AssistedInject
+  ProviderOfLazyFieldRequestRepresentation(
+      @Assisted ContributionBinding binding,
+      @Assisted RequestRepresentation providerOfLazyRequestRepresentation,
+      ComponentImplementation componentImplementation,
+      XProcessingEnv processingEnv) {
+    this.binding = checkNotNull(binding);
+    this.providerOfLazyRequestRepresentation = checkNotNull(providerOfLazyRequestRepresentation);
+    this.shardImplementation = componentImplementation.shardImplementation(binding);
+    this.processingEnv = processingEnv;
+  }
+
+  @Override
+  XExpression getDependencyExpression(XClassName requestingClass) {
+    return XExpression.create(
+        usesRawType(binding, requestingClass)
+            ? XExpressionType.createRawType(type())
+            : XExpressionType.create(type()),
+        MemberSelect.localField(shardImplementation, field().name)
+            .getExpressionFor(requestingClass));
+  }
+
+  /** Adds the field and its initialization to the component the first time it is requested. */
+  private FieldSpec field() {
+    if (fieldSpec != null) {
+      return fieldSpec;
+    }
+    XExpression providerOfLazy =
+        providerOfLazyRequestRepresentation.getDependencyExpression(shardImplementation.name());
+    boolean useRawType = usesRawType(binding, shardImplementation.name());
+    FieldSpec.Builder field =
+        FieldSpec.builder(
+            toJavaPoet(useRawType ? XTypeNames.DAGGER_PROVIDER : type().asTypeName()),
+            shardImplementation.getUniqueFieldName(
+                KeyVariableNamer.name(binding.key()) + "ProviderOfLazy"));
+    // TODO(bcorso): remove once dagger.generatedClassExtendsComponent flag is removed.
+    if (!shardImplementation.isShardClassPrivate()) {
+      field.addModifiers(PRIVATE);
+    }
+    if (useRawType) {
+      field.addAnnotation(AnnotationSpecs.suppressWarnings(RAWTYPES));
+    }
+    fieldSpec = field.build();
+    shardImplementation.addField(FRAMEWORK_FIELD, fieldSpec);
+    shardImplementation.addInitialization(
+        XCodeBlock.of("this.%N = %L;", fieldSpec.name, providerOfLazy.codeBlock()));
+    return fieldSpec;
+  }
+
+  /** Returns the {@code Provider<Lazy<T>>} type for the binding. */
+  private XType type() {
+    return wrapType(
+        XTypeNames.DAGGER_PROVIDER,
+        wrapType(XTypeNames.LAZY, binding.contributedType(), processingEnv),
+        processingEnv);
+  }
+
+  private static boolean usesRawType(ContributionBinding binding, XClassName requestingClass) {
+    return MapType.isMapOfProvider(binding.contributedType())
+        || !isTypeAccessibleFrom(binding.contributedType(), requestingClass.getPackageName());
+  }
+
+  @AssistedFactory
+  static interface Factory {
+    ProviderOfLazyFieldRequestRepresentation create(
+        ContributionBinding binding, RequestRepresentation providerOfLazyRequestRepresentation);
+  }
+}
@@ -35,16 +35,19 @@ import dagger.internal.codegen.xprocessing.XTypeNames;
 final class SetFactoryCreationExpression extends MultibindingFactoryCreationExpression {
   private final BindingGraph graph;
   private final MultiboundSetBinding binding;
+  private final BindingRepresentations bindingRepresentations;
 
   @AssistedInject
   SetFactoryCreationExpression(
       @Assisted MultiboundSetBinding binding,
       ComponentImplementation componentImplementation,
       ComponentRequestRepresentations componentRequestRepresentations,
-      BindingGraph graph) {
+      BindingGraph graph,
+      BindingRepresentations bindingRepresentations) {
     super(binding, componentImplementation, componentRequestRepresentations);
     this.binding = checkNotNull(binding);
     this.graph = graph;
+    this.bindingRepresentations = bindingRepresentations;
   }
 
   @Override
@@ -89,7 +92,11 @@ final class SetFactoryCreationExpression extends MultibindingFactoryCreationExpr
     builder.add("builder(%L, %L)", individualProviders, setProviders);
     builder.add(builderMethodCalls.build());
 
-    return builder.add(".build()").build();
+    builder.add(".build()");
+
+    return bindingRepresentations.isMemoizableSetMultibinding(binding)
+        ? XCodeBlock.of("%T.provider(%L)", XTypeNames.SINGLE_CHECK, builder.build())
+        : builder.build();
   }
 
   @AssistedFactory
@@ -68,6 +68,7 @@ final class SimpleMethodRequestRepresentation extends RequestRepresentation {
   private final MembersInjectionMethods membersInjectionMethods;
   private final ComponentRequirementExpressions componentRequirementExpressions;
   private final ShardImplementation shardImplementation;
+  private final BindingRepresentations bindingRepresentations;
 
   @AssistedInject
   SimpleMethodRequestRepresentation(
@@ -77,7 +78,8 @@ final class SimpleMethodRequestRepresentation extends RequestRepresentation {
       XProcessingEnv processingEnv,
       ComponentRequestRepresentations componentRequestRepresentations,
       ComponentRequirementExpressions componentRequirementExpressions,
-      ComponentImplementation componentImplementation) {
+      ComponentImplementation componentImplementation,
+      BindingRepresentations bindingRepresentations) {
     this.compilerOptions = compilerOptions;
     this.processingEnv = processingEnv;
     this.binding = binding;
@@ -87,13 +89,18 @@ final class SimpleMethodRequestRepresentation extends RequestRepresentation {
     this.membersInjectionMethods = membersInjectionMethods;
     this.componentRequirementExpressions = componentRequirementExpressions;
     this.shardImplementation = componentImplementation.shardImplementation(binding);
+    this.bindingRepresentations = bindingRepresentations;
   }
 
   @Override
   XExpression getDependencyExpression(XClassName requestingClass) {
-    return requiresInjectionMethod(requestingClass)
-        ? invokeInjectionMethod(requestingClass)
-        : invokeMethod(requestingClass);
+    XExpression expression =
+        requiresInjectionMethod(requestingClass)
+            ? invokeInjectionMethod(requestingClass)
+            : invokeMethod(requestingClass);
+    return bindingRepresentations.tracesProvision(binding)
+        ? bindingRepresentations.traceProvision(binding, expression)
+        : expression;
   }
 
   private XExpression invokeMethod(XClassName requestingClass) {
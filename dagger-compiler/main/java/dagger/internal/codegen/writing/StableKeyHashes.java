@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.internal.codegen.writing;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.hash.Hashing;
+import dagger.internal.codegen.model.Key;
+
+/**
+ * Hashes of keys that only depend on the keys themselves, used to derive generated names and ids
+ * that don't change when unrelated bindings are added to or removed from a graph.
+ */
+final class StableKeyHashes {
+  /** Returns a non-negative hash of {@code key} that is the same across compilations. */
+  static int stableHash(Key key) {
+    return Hashing.murmur3_32_fixed().hashString(key.toString(), UTF_8).asInt()
+        & Integer.MAX_VALUE;
+  }
+
+  private StableKeyHashes() {}
+}
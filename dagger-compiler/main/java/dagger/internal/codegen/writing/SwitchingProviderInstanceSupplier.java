@@ -34,6 +34,7 @@ import dagger.internal.codegen.xprocessing.XTypeNames;
  */
 final class SwitchingProviderInstanceSupplier implements FrameworkInstanceSupplier {
   private final FrameworkInstanceSupplier frameworkInstanceSupplier;
+  private final BindingRepresentations bindingRepresentations;
 
   @AssistedInject
   SwitchingProviderInstanceSupplier(
@@ -41,7 +42,9 @@ final class SwitchingProviderInstanceSupplier implements FrameworkInstanceSuppli
       BindingGraph graph,
       ComponentImplementation componentImplementation,
       UnscopedDirectInstanceRequestRepresentationFactory
-          unscopedDirectInstanceRequestRepresentationFactory) {
+          unscopedDirectInstanceRequestRepresentationFactory,
+      BindingRepresentations bindingRepresentations) {
+    this.bindingRepresentations = bindingRepresentations;
     ShardImplementation shardImplementation = componentImplementation.shardImplementation(binding);
     FrameworkInstanceCreationExpression frameworkInstanceCreationExpression =
         shardImplementation
@@ -62,7 +65,10 @@ final class SwitchingProviderInstanceSupplier implements FrameworkInstanceSuppli
       Binding binding, FrameworkInstanceCreationExpression unscoped) {
     // Caching assisted factory provider, so that there won't be new factory created for each
     // provider.get() call.
-    if (!binding.scope().isPresent() && !binding.kind().equals(BindingKind.ASSISTED_FACTORY)) {
+    // Likewise, a set whose contributions are all scoped can be built once.
+    if (!binding.scope().isPresent()
+        && !binding.kind().equals(BindingKind.ASSISTED_FACTORY)
+        && !bindingRepresentations.isMemoizableSetMultibinding(binding)) {
       return unscoped;
     }
     return () ->
@@ -71,7 +77,7 @@ final class SwitchingProviderInstanceSupplier implements FrameworkInstanceSuppli
             binding.scope().isPresent()
                 ? (binding.scope().get().isReusable()
                     ? XTypeNames.SINGLE_CHECK
-                    : XTypeNames.DOUBLE_CHECK)
+                    : bindingRepresentations.doubleCheckType())
                 : XTypeNames.SINGLE_CHECK,
             unscoped.creationExpression());
   }
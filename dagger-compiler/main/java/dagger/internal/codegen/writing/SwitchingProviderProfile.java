@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.internal.codegen.writing;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import androidx.room.compiler.processing.XMessager;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableMap;
+import dagger.internal.codegen.compileroption.CompilerOptions;
+import dagger.internal.codegen.model.Key;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.tools.Diagnostic;
+
+/**
+ * The profile of {@code SwitchingProvider} requests read from {@code
+ * -Adagger.switchingProviderProfile=<path>}, as written by {@code
+ * dagger.internal.SwitchingProviderProfiler}.
+ *
+ * <p>Each line of the profile has a number of requests and a key, separated by a tab, with the
+ * most requested keys first. Only the order of the keys is used.
+ */
+@Singleton
+final class SwitchingProviderProfile {
+  private final Optional<String> path;
+  private final XMessager messager;
+  private final Supplier<ImmutableMap<String, Integer>> ranks =
+      Suppliers.memoize(this::readRanks);
+
+  @Inject
+  SwitchingProviderProfile(CompilerOptions compilerOptions, XMessager messager) {
+    this.path = compilerOptions.switchingProviderProfilePath();
+    this.messager = messager;
+  }
+
+  /** Returns {@code true} if a profile was given. */
+  boolean isPresent() {
+    return path.isPresent();
+  }
+
+  /** Returns the number of keys in the profile. */
+  int size() {
+    return ranks.get().size();
+  }
+
+  /**
+   * Returns the position of {@code key} in the profile, starting at 0 for the most requested key,
+   * if the profile contains it.
+   */
+  Optional<Integer> rank(Key key) {
+    return Optional.ofNullable(ranks.get().get(key.toString()));
+  }
+
+  private ImmutableMap<String, Integer> readRanks() {
+    if (!path.isPresent()) {
+      return ImmutableMap.of();
+    }
+    Map<String, Integer> ranks = new LinkedHashMap<>();
+    try {
+      for (String line : Files.readAllLines(Paths.get(path.get()), UTF_8)) {
+        String key = line.substring(line.indexOf('\t') + 1).trim();
+        if (!key.isEmpty()) {
+          ranks.putIfAbsent(key, ranks.size());
+        }
+      }
+    } catch (IOException e) {
+      messager.printMessage(
+          Diagnostic.Kind.WARNING,
+          String.format(
+              "Could not read the Dagger switching provider profile from %s: %s", path.get(), e));
+      return ImmutableMap.of();
+    }
+    return ImmutableMap.copyOf(ranks);
+  }
+}
@@ -18,16 +18,22 @@ package dagger.internal.codegen.writing;
 
 import static androidx.room.compiler.codegen.compat.XConverters.toJavaPoet;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableListMultimap.toImmutableListMultimap;
 import static com.google.common.collect.Iterables.getLast;
 import static com.google.common.collect.Iterables.getOnlyElement;
 import static com.squareup.javapoet.MethodSpec.methodBuilder;
 import static com.squareup.javapoet.TypeSpec.classBuilder;
-import static dagger.internal.codegen.extension.DaggerStreams.toImmutableList;
 import static dagger.internal.codegen.javapoet.AnnotationSpecs.Suppression.UNCHECKED;
 import static dagger.internal.codegen.javapoet.AnnotationSpecs.suppressWarnings;
+import static dagger.internal.codegen.writing.BytecodeSizes.HUGE_METHOD_LIMIT;
+import static dagger.internal.codegen.writing.BytecodeSizes.SWITCH_CASE_SIZE;
+import static dagger.internal.codegen.writing.BytecodeSizes.estimate;
+import static dagger.internal.codegen.writing.BytecodeSizes.partitionBySize;
+import static dagger.internal.codegen.writing.StableKeyHashes.stableHash;
 import static dagger.internal.codegen.xprocessing.XCodeBlocks.concat;
 import static dagger.internal.codegen.xprocessing.XCodeBlocks.toParametersCodeBlock;
 import static dagger.internal.codegen.xprocessing.XTypeNames.daggerProviderOf;
+import static java.util.stream.Collectors.partitioningBy;
 import static javax.lang.model.element.Modifier.FINAL;
 import static javax.lang.model.element.Modifier.PRIVATE;
 import static javax.lang.model.element.Modifier.PUBLIC;
@@ -38,19 +44,25 @@ import androidx.room.compiler.codegen.XCodeBlock;
 import androidx.room.compiler.codegen.XTypeName;
 import androidx.room.compiler.processing.XProcessingEnv;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedSet;
 import com.google.common.collect.Lists;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.TypeSpec;
 import com.squareup.javapoet.TypeVariableName;
 import dagger.internal.codegen.binding.ContributionBinding;
+import dagger.internal.codegen.compileroption.CompilerOptions;
 import dagger.internal.codegen.model.BindingKind;
 import dagger.internal.codegen.model.Key;
 import dagger.internal.codegen.writing.ComponentImplementation.ShardImplementation;
 import dagger.internal.codegen.writing.FrameworkFieldInitializer.FrameworkInstanceCreationExpression;
 import dagger.internal.codegen.xprocessing.XProcessingEnvs;
 import dagger.internal.codegen.xprocessing.XTypeNames;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 
@@ -72,6 +84,20 @@ final class SwitchingProviders {
   private static final int MAX_CASES_PER_SWITCH = 100;
 
   private static final long MAX_CASES_PER_CLASS = MAX_CASES_PER_SWITCH * MAX_CASES_PER_SWITCH;
+
+  /**
+   * With {@link CompilerOptions#stableComponentOutput()}, switch ids are hashes of the keys. The
+   * top bits of an id select one of a fixed number of {@code SwitchingProvider} classes, and the
+   * bits below them select the switch within the class. This keeps existing cases in the same class
+   * and method when cases are added or removed.
+   */
+  private static final int STABLE_CLASS_SHIFT = 29;
+
+  private static final int STABLE_SWITCH_SHIFT = 22;
+
+  private static final int STABLE_SWITCHES_PER_CLASS =
+      1 << (STABLE_CLASS_SHIFT - STABLE_SWITCH_SHIFT);
+
   private static final XTypeName typeVariable = XTypeNames.getTypeVariableName("T");
 
   /**
@@ -81,14 +107,42 @@ final class SwitchingProviders {
   private final Map<Key, SwitchingProviderBuilder> switchingProviderBuilders =
       new LinkedHashMap<>();
 
+  /**
+   * Maps the class index of a stable switch id to its {@link SwitchingProviderBuilder}. Only used
+   * with {@link CompilerOptions#stableComponentOutput()}.
+   */
+  private final Map<Integer, SwitchingProviderBuilder> stableSwitchingProviderBuilders =
+      new HashMap<>();
+
   private final ShardImplementation shardImplementation;
+  private final CompilerOptions compilerOptions;
+  private final SwitchingProviderProfile profile;
   private final XProcessingEnv processingEnv;
 
-  SwitchingProviders(ShardImplementation shardImplementation, XProcessingEnv processingEnv) {
+  SwitchingProviders(
+      ShardImplementation shardImplementation,
+      CompilerOptions compilerOptions,
+      SwitchingProviderProfile profile,
+      XProcessingEnv processingEnv) {
     this.shardImplementation = checkNotNull(shardImplementation);
+    this.compilerOptions = checkNotNull(compilerOptions);
+    this.profile = checkNotNull(profile);
     this.processingEnv = checkNotNull(processingEnv);
   }
 
+  /**
+   * Returns {@code true} if switch ids are assigned from the profile. Profiles are ignored with
+   * {@link CompilerOptions#stableComponentOutput()}, whose ids are derived from the keys instead.
+   */
+  private boolean usesProfile() {
+    return profile.isPresent() && !compilerOptions.stableComponentOutput();
+  }
+
+  /** Returns the index of the switch within its class for a stable switch id. */
+  private static int stableSwitchIndex(int switchId) {
+    return (switchId >>> STABLE_SWITCH_SHIFT) & (STABLE_SWITCHES_PER_CLASS - 1);
+  }
+
   /** Returns the framework instance creation expression for an inner switching provider class. */
   FrameworkInstanceCreationExpression newFrameworkInstanceCreationExpression(
       ContributionBinding binding, RequestRepresentation unscopedInstanceRequestRepresentation) {
@@ -96,23 +150,34 @@ final class SwitchingProviders {
       @Override
       public XCodeBlock creationExpression() {
         return switchingProviderBuilders
-            .computeIfAbsent(binding.key(), key -> getSwitchingProviderBuilder())
+            .computeIfAbsent(binding.key(), key -> getSwitchingProviderBuilder(key))
             .getNewInstanceCodeBlock(binding, unscopedInstanceRequestRepresentation);
       }
     };
   }
 
-  private SwitchingProviderBuilder getSwitchingProviderBuilder() {
+  private SwitchingProviderBuilder getSwitchingProviderBuilder(Key key) {
+    if (compilerOptions.stableComponentOutput()) {
+      // Name the class after its index so that its name doesn't depend on the order in which the
+      // classes are created.
+      return stableSwitchingProviderBuilders.computeIfAbsent(
+          stableHash(key) >>> STABLE_CLASS_SHIFT,
+          index -> newSwitchingProviderBuilder("SwitchingProvider" + index));
+    }
     if (switchingProviderBuilders.size() % MAX_CASES_PER_CLASS == 0) {
-      String name = shardImplementation.getUniqueClassName("SwitchingProvider");
-      SwitchingProviderBuilder switchingProviderBuilder =
-          new SwitchingProviderBuilder(shardImplementation.name().nestedClass(name));
-      shardImplementation.addTypeSupplier(switchingProviderBuilder::build);
-      return switchingProviderBuilder;
+      return newSwitchingProviderBuilder("SwitchingProvider");
     }
     return getLast(switchingProviderBuilders.values());
   }
 
+  private SwitchingProviderBuilder newSwitchingProviderBuilder(String name) {
+    SwitchingProviderBuilder switchingProviderBuilder =
+        new SwitchingProviderBuilder(
+            shardImplementation.name().nestedClass(shardImplementation.getUniqueClassName(name)));
+    shardImplementation.addTypeSupplier(switchingProviderBuilder::build);
+    return switchingProviderBuilder;
+  }
+
   // TODO(bcorso): Consider just merging this class with SwitchingProviders.
   private final class SwitchingProviderBuilder {
     // Keep the switch cases ordered by switch id. The switch Ids are assigned in pre-order
@@ -129,7 +194,7 @@ final class SwitchingProviders {
         ContributionBinding binding, RequestRepresentation unscopedInstanceRequestRepresentation) {
       Key key = binding.key();
       if (!switchIds.containsKey(key)) {
-        int switchId = switchIds.size();
+        int switchId = newSwitchId(key);
         switchIds.put(key, switchId);
         switchCases.put(
             switchId, createSwitchCaseCodeBlock(key, unscopedInstanceRequestRepresentation));
@@ -152,6 +217,21 @@ final class SwitchingProviders {
           switchIds.get(key));
     }
 
+    private int newSwitchId(Key key) {
+      if (usesProfile()) {
+        // Keys in the profile are numbered by their rank in it, and all other keys after them.
+        return profile.rank(key).orElse(profile.size() + switchIds.size());
+      }
+      if (!compilerOptions.stableComponentOutput()) {
+        return switchIds.size();
+      }
+      int switchId = stableHash(key);
+      while (switchCases.containsKey(switchId)) {
+        switchId = (switchId + 1) & Integer.MAX_VALUE;
+      }
+      return switchId;
+    }
+
     private XCodeBlock createSwitchCaseCodeBlock(
         Key key, RequestRepresentation unscopedInstanceRequestRepresentation) {
       // TODO(bcorso): Try to delay calling getDependencyExpression() until we are writing out the
@@ -163,11 +243,15 @@ final class SwitchingProviders {
               .box()
               .codeBlock();
 
-      return XCodeBlock.builder()
-          // TODO(bcorso): Is there something else more useful than the key?
-          .add("case %L: // %L\n", switchIds.get(key), key)
-          .addStatement("return (%T) %L", typeVariable, instanceCodeBlock)
-          .build();
+      XCodeBlock.Builder switchCase =
+          XCodeBlock.builder()
+              // TODO(bcorso): Is there something else more useful than the key?
+              .add("case %L: // %L\n", switchIds.get(key), key);
+      if (compilerOptions.switchingProviderProfiling()) {
+        switchCase.addStatement(
+            "%T.record(%S)", XTypeNames.SWITCHING_PROVIDER_PROFILER, key.toString());
+      }
+      return switchCase.addStatement("return (%T) %L", typeVariable, instanceCodeBlock).build();
     }
 
     private TypeSpec build() {
@@ -197,7 +281,10 @@ final class SwitchingProviders {
     }
 
     private ImmutableList<MethodSpec> getMethods() {
-      ImmutableList<XCodeBlock> switchCodeBlockPartitions = switchCodeBlockPartitions();
+      if (compilerOptions.stableComponentOutput()) {
+        return stableMethods();
+      }
+      ImmutableMap<Integer, XCodeBlock> switchCodeBlockPartitions = switchCodeBlockPartitions();
       if (switchCodeBlockPartitions.size() == 1) {
         // There are less than MAX_CASES_PER_SWITCH cases, so no need for extra get methods.
         return ImmutableList.of(
@@ -206,7 +293,7 @@ final class SwitchingProviders {
                 .addAnnotation(suppressWarnings(UNCHECKED))
                 .addAnnotation(Override.class)
                 .returns(toJavaPoet(typeVariable))
-                .addCode(toJavaPoet(getOnlyElement(switchCodeBlockPartitions)))
+                .addCode(toJavaPoet(getOnlyElement(switchCodeBlockPartitions.values())))
                 .build());
       }
 
@@ -215,20 +302,24 @@ final class SwitchingProviders {
           methodBuilder("get")
               .addModifiers(PUBLIC)
               .addAnnotation(Override.class)
-              .returns(toJavaPoet(typeVariable))
-              .beginControlFlow("switch (id / $L)", MAX_CASES_PER_SWITCH);
+              .returns(toJavaPoet(typeVariable));
+      if (compilerOptions.bytecodeSizePartitioning() || usesProfile()) {
+        return rangePartitionedMethods(switchCodeBlockPartitions, routerMethod);
+      } else {
+        routerMethod.beginControlFlow("switch (id / $L)", MAX_CASES_PER_SWITCH);
+      }
 
       ImmutableList.Builder<MethodSpec> getMethods = ImmutableList.builder();
-      for (int i = 0; i < switchCodeBlockPartitions.size(); i++) {
+      for (Map.Entry<Integer, XCodeBlock> partition : switchCodeBlockPartitions.entrySet()) {
         MethodSpec method =
-            methodBuilder("get" + i)
+            methodBuilder("get" + partition.getKey())
                 .addModifiers(PRIVATE)
                 .addAnnotation(suppressWarnings(UNCHECKED))
                 .returns(toJavaPoet(typeVariable))
-                .addCode(toJavaPoet(switchCodeBlockPartitions.get(i)))
+                .addCode(toJavaPoet(partition.getValue()))
                 .build();
         getMethods.add(method);
-        routerMethod.addStatement("case $L: return $N()", i, method);
+        routerMethod.addStatement("case $L: return $N()", partition.getKey(), method);
       }
 
       routerMethod.addStatement("default: throw new $T(id)", AssertionError.class).endControlFlow();
@@ -236,20 +327,149 @@ final class SwitchingProviders {
       return getMethods.add(routerMethod.build()).build();
     }
 
-    private ImmutableList<XCodeBlock> switchCodeBlockPartitions() {
-      return Lists.partition(ImmutableList.copyOf(switchCases.values()), MAX_CASES_PER_SWITCH)
-          .stream()
-          .map(
-              partitionCases ->
-                  XCodeBlock.builder()
-                      .beginControlFlow("switch (id)")
-                      .add(concat(partitionCases))
-                      .addStatement(
-                          "default: throw new %T(id)",
-                          XClassName.get("java.lang", "AssertionError"))
-                      .endControlFlow()
-                      .build())
-          .collect(toImmutableList());
+    /**
+     * Returns the methods for {@link CompilerOptions#stableComponentOutput()}. The {@code get}
+     * method routes on the switch bits of the id, even when there is only one switch, so that the
+     * methods don't change shape when cases are added. A switch with more than {@code
+     * MAX_CASES_PER_SWITCH} cases is split into ranges of consecutive ids, which only changes the
+     * methods of that one switch.
+     */
+    private ImmutableList<MethodSpec> stableMethods() {
+      MethodSpec.Builder routerMethod =
+          methodBuilder("get")
+              .addModifiers(PUBLIC)
+              .addAnnotation(Override.class)
+              .returns(toJavaPoet(typeVariable))
+              .beginControlFlow(
+                  "switch ((id >>> $L) & $L)", STABLE_SWITCH_SHIFT, STABLE_SWITCHES_PER_CLASS - 1);
+      ImmutableListMultimap<Integer, Map.Entry<Integer, XCodeBlock>> casesBySwitch =
+          switchCases.entrySet().stream()
+              .collect(
+                  toImmutableListMultimap(
+                      entry -> stableSwitchIndex(entry.getKey()), entry -> entry));
+      ImmutableList.Builder<MethodSpec> getMethods = ImmutableList.builder();
+      for (int index : ImmutableSortedSet.copyOf(casesBySwitch.keySet())) {
+        List<List<Map.Entry<Integer, XCodeBlock>>> casePartitions =
+            Lists.partition(casesBySwitch.get(index), MAX_CASES_PER_SWITCH);
+        if (casePartitions.size() == 1) {
+          MethodSpec method = switchMethod("get" + index, getOnlyElement(casePartitions));
+          getMethods.add(method);
+          routerMethod.addStatement("case $L: return $N()", index, method);
+        } else {
+          routerMethod.addCode("case $L:\n$>", index);
+          for (int i = 0; i < casePartitions.size(); i++) {
+            MethodSpec method = switchMethod("get" + index + "_" + i, casePartitions.get(i));
+            getMethods.add(method);
+            if (i + 1 < casePartitions.size()) {
+              routerMethod
+                  .beginControlFlow("if (id < $L)", casePartitions.get(i + 1).get(0).getKey())
+                  .addStatement("return $N()", method)
+                  .endControlFlow();
+            } else {
+              routerMethod.addStatement("return $N()", method);
+            }
+          }
+          routerMethod.addCode("$<");
+        }
+      }
+      routerMethod.addStatement("default: throw new $T(id)", AssertionError.class).endControlFlow();
+      return getMethods.add(routerMethod.build()).build();
+    }
+
+    private MethodSpec switchMethod(String name, List<Map.Entry<Integer, XCodeBlock>> cases) {
+      return methodBuilder(name)
+          .addModifiers(PRIVATE)
+          .addAnnotation(suppressWarnings(UNCHECKED))
+          .returns(toJavaPoet(typeVariable))
+          .addCode(toJavaPoet(switchCodeBlock(Lists.transform(cases, Map.Entry::getValue))))
+          .build();
+    }
+
+    /**
+     * Returns the methods for switch statements keyed by the first id of each partition. Since the
+     * partitions cover ranges of ids of varying lengths, the {@code get} method routes to them by
+     * comparing the id against the start of the next partition.
+     */
+    private ImmutableList<MethodSpec> rangePartitionedMethods(
+        ImmutableMap<Integer, XCodeBlock> switchCodeBlockPartitions,
+        MethodSpec.Builder routerMethod) {
+      ImmutableList<Integer> firstIds = switchCodeBlockPartitions.keySet().asList();
+      ImmutableList.Builder<MethodSpec> getMethods = ImmutableList.builder();
+      for (int i = 0; i < firstIds.size(); i++) {
+        MethodSpec method =
+            methodBuilder("get" + i)
+                .addModifiers(PRIVATE)
+                .addAnnotation(suppressWarnings(UNCHECKED))
+                .returns(toJavaPoet(typeVariable))
+                .addCode(toJavaPoet(switchCodeBlockPartitions.get(firstIds.get(i))))
+                .build();
+        getMethods.add(method);
+        if (i + 1 < firstIds.size()) {
+          routerMethod
+              .beginControlFlow("if (id < $L)", firstIds.get(i + 1))
+              .addStatement("return $N()", method)
+              .endControlFlow();
+        } else {
+          routerMethod.addStatement("return $N()", method);
+        }
+      }
+      return getMethods.add(routerMethod.build()).build();
+    }
+
+    /**
+     * Returns the switch statements, keyed by the index the {@code get} method routes on, or by
+     * the first id of the partition when partitioning by bytecode size or by a profile.
+     */
+    private ImmutableMap<Integer, XCodeBlock> switchCodeBlockPartitions() {
+      ImmutableMap.Builder<Integer, XCodeBlock> partitions = ImmutableMap.builder();
+      if (usesProfile()) {
+        // Partition the profiled cases separately so that the most requested keys share the first
+        // switch rather than with whichever keys were numbered next to them.
+        Map<Boolean, List<Map.Entry<Integer, XCodeBlock>>> casesByProfiled =
+            switchCases.entrySet().stream()
+                .collect(partitioningBy(entry -> entry.getKey() < profile.size()));
+        rangePartitions(casesByProfiled.get(true)).forEach(partitions::put);
+        rangePartitions(casesByProfiled.get(false)).forEach(partitions::put);
+      } else if (compilerOptions.bytecodeSizePartitioning()) {
+        rangePartitions(ImmutableList.copyOf(switchCases.entrySet())).forEach(partitions::put);
+      } else {
+        List<List<XCodeBlock>> casePartitions =
+            Lists.partition(ImmutableList.copyOf(switchCases.values()), MAX_CASES_PER_SWITCH);
+        for (int i = 0; i < casePartitions.size(); i++) {
+          partitions.put(i, switchCodeBlock(casePartitions.get(i)));
+        }
+      }
+      return partitions.buildOrThrow();
+    }
+
+    /** Returns the switch statements for {@code cases}, keyed by the first id of each partition. */
+    private ImmutableMap<Integer, XCodeBlock> rangePartitions(
+        List<Map.Entry<Integer, XCodeBlock>> cases) {
+      List<? extends List<Map.Entry<Integer, XCodeBlock>>> casePartitions =
+          compilerOptions.bytecodeSizePartitioning()
+              // Keep each switch well under the size at which HotSpot stops JIT-compiling it.
+              ? partitionBySize(
+                  cases,
+                  entry -> estimate(entry.getValue()) + SWITCH_CASE_SIZE,
+                  HUGE_METHOD_LIMIT / 2)
+              : Lists.partition(cases, MAX_CASES_PER_SWITCH);
+      ImmutableMap.Builder<Integer, XCodeBlock> partitions = ImmutableMap.builder();
+      for (List<Map.Entry<Integer, XCodeBlock>> casePartition : casePartitions) {
+        partitions.put(
+            casePartition.get(0).getKey(),
+            switchCodeBlock(Lists.transform(casePartition, Map.Entry::getValue)));
+      }
+      return partitions.buildOrThrow();
+    }
+
+    private XCodeBlock switchCodeBlock(Collection<XCodeBlock> cases) {
+      return XCodeBlock.builder()
+          .beginControlFlow("switch (id)")
+          .add(concat(cases))
+          .addStatement(
+              "default: throw new %T(id)", XClassName.get("java.lang", "AssertionError"))
+          .endControlFlow()
+          .build();
     }
   }
 }
@@ -84,16 +84,25 @@ object XTypeNames {
   @JvmField
   val INJECTED_FIELD_SIGNATURE = XClassName.get("dagger.internal", "InjectedFieldSignature")
   @JvmField val INSTANCE_FACTORY = XClassName.get("dagger.internal", "InstanceFactory")
+  @JvmField val LOCK_FREE_DOUBLE_CHECK = XClassName.get("dagger.internal", "LockFreeDoubleCheck")
   @JvmField val MAP_BUILDER = XClassName.get("dagger.internal", "MapBuilder")
   @JvmField val MAP_FACTORY = XClassName.get("dagger.internal", "MapFactory")
   @JvmField val MAP_PROVIDER_FACTORY = XClassName.get("dagger.internal", "MapProviderFactory")
   @JvmField val MEMBERS_INJECTOR = XClassName.get("dagger", "MembersInjector")
   @JvmField val MEMBERS_INJECTORS = XClassName.get("dagger.internal", "MembersInjectors")
+  @JvmField val PARALLEL_INITIALIZER = XClassName.get("dagger.internal", "ParallelInitializer")
+  @JvmField
+  val PARALLEL_INITIALIZER_INITIALIZER =
+    XClassName.get("dagger.internal", "ParallelInitializer", "Initializer")
   @JvmField val PROVIDER = XClassName.get("javax.inject", "Provider")
   @JvmField val JAKARTA_PROVIDER = XClassName.get("jakarta.inject", "Provider")
   @JvmField val DAGGER_PROVIDER = XClassName.get("dagger.internal", "Provider")
   @JvmField val DAGGER_PROVIDERS = XClassName.get("dagger.internal", "Providers")
   @JvmField val PROVIDER_OF_LAZY = XClassName.get("dagger.internal", "ProviderOfLazy")
+  @JvmField val PROVISION_TRACING = XClassName.get("dagger.internal", "ProvisionTracing")
+  @JvmField
+  val SWITCHING_PROVIDER_PROFILER =
+    XClassName.get("dagger.internal", "SwitchingProviderProfiler")
   @JvmField val SCOPE_METADATA = XClassName.get("dagger.internal", "ScopeMetadata")
   @JvmField val QUALIFIER_METADATA = XClassName.get("dagger.internal", "QualifierMetadata")
   @JvmField val SET_BUILDER = XClassName.get("dagger.internal", "SetBuilder")
@@ -148,6 +157,9 @@ object XTypeNames {
   @JvmField
   val PRODUCTION_SUBCOMPONENT_FACTORY =
     XClassName.get("dagger.producers", "ProductionSubcomponent", "Factory")
+  @JvmField
+  val VIRTUAL_THREAD_PRODUCTION_MODULE =
+    XClassName.get("dagger.producers", "VirtualThreadProductionModule")
   @JvmField val PRODUCER_TOKEN = XClassName.get("dagger.producers.monitoring", "ProducerToken")
   @JvmField
   val PRODUCTION_COMPONENT_MONITOR =
@@ -184,6 +196,8 @@ object XTypeNames {
   @JvmField
   val LISTENABLE_FUTURE = XClassName.get("com.google.common.util.concurrent", "ListenableFuture")
   @JvmField val FLUENT_FUTURE = XClassName.get("com.google.common.util.concurrent", "FluentFuture")
+  @JvmField val COMPLETION_STAGE = XClassName.get("java.util.concurrent", "CompletionStage")
+  @JvmField val COMPLETABLE_FUTURE = XClassName.get("java.util.concurrent", "CompletableFuture")
   @JvmField val GUAVA_OPTIONAL = XClassName.get("com.google.common.base", "Optional")
   @JvmField val GUAVA_FUNCTION = XClassName.get("com.google.common.base", "Function")
   @JvmField val JDK_OPTIONAL = XClassName.get("java.util", "Optional")
@@ -265,6 +279,13 @@ object XTypeNames {
     return FUTURE_TYPES.contains(typeName.rawTypeName)
   }
 
+  private val COMPLETION_STAGE_TYPES = setOf(COMPLETION_STAGE, COMPLETABLE_FUTURE)
+
+  @JvmStatic
+  fun isCompletionStageType(type: XType): Boolean {
+    return COMPLETION_STAGE_TYPES.contains(type.asTypeName().rawTypeName)
+  }
+
   /**
    * Returns the {@link TypeName} for the raw type of the given {@link TypeName}. If the argument
    * isn't a parameterized type, it returns the argument unchanged.
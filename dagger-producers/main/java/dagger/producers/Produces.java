@@ -37,4 +37,16 @@ import java.lang.annotation.Target;
 @Target(METHOD)
 @Retention(RUNTIME)
 @Beta
-public @interface Produces {}
+public @interface Produces {
+  /**
+   * If {@code true}, the method is called directly on the thread that completes its last
+   * dependency, or on the thread that requests it if its dependencies are already done, instead of
+   * on the {@link Production @Production} executor. This saves submitting a task to the executor,
+   * which is worthwhile for cheap methods such as synchronous transformations of their
+   * dependencies.
+   *
+   * <p>Inline methods must not block, since they may be called on any thread that completes one of
+   * their dependencies, including threads that aren't owned by the production executor.
+   */
+  boolean inline() default false;
+}
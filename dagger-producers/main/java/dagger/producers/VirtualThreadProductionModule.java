@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.producers;
+
+import dagger.Module;
+import dagger.Provides;
+import dagger.internal.Beta;
+import dagger.producers.internal.VirtualThreadExecutor;
+import java.util.concurrent.Executor;
+
+/**
+ * Binds the {@link Production @Production} {@link Executor} of a {@link ProductionComponent} to an
+ * executor that runs each {@link Produces @Produces} method on its own virtual thread. This suits
+ * producer methods that block, for example on I/O.
+ *
+ * <p>Each instance of the component gets its own executor. When the component is cancelled with
+ * {@code mayInterruptIfRunning}, the virtual threads running its producer methods are interrupted.
+ *
+ * <p>Virtual threads require Java 21 or later. On older runtimes, the producers of the component
+ * fail with an {@link UnsupportedOperationException}.
+ */
+@Beta
+@Module
+public final class VirtualThreadProductionModule {
+  @Provides
+  @ProductionScope
+  @Production
+  static Executor virtualThreadExecutor() {
+    return new VirtualThreadExecutor();
+  }
+
+  private VirtualThreadProductionModule() {}
+}
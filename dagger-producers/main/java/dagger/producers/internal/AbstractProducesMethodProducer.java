@@ -44,15 +44,29 @@ public abstract class AbstractProducesMethodProducer<D, T> extends AbstractProdu
   private final Provider<ProductionComponentMonitor> monitorProvider;
   @NullableDecl private final ProducerToken token;
   private final Provider<Executor> executorProvider;
+  private final boolean inline;
   private volatile ProducerMonitor monitor = null;
 
   protected AbstractProducesMethodProducer(
       Provider<ProductionComponentMonitor> monitorProvider,
       @NullableDecl ProducerToken token,
       Provider<Executor> executorProvider) {
+    this(monitorProvider, token, executorProvider, false);
+  }
+
+  /**
+   * Creates a producer that, if {@code inline} is {@code true}, calls the {@code @Produces} method
+   * on the thread that completes its dependencies rather than on the executor.
+   */
+  protected AbstractProducesMethodProducer(
+      Provider<ProductionComponentMonitor> monitorProvider,
+      @NullableDecl ProducerToken token,
+      Provider<Executor> executorProvider,
+      boolean inline) {
     this.monitorProvider = checkNotNull(monitorProvider);
     this.token = token;
     this.executorProvider = checkNotNull(executorProvider);
+    this.inline = inline;
   }
 
   /**
@@ -99,7 +113,8 @@ public abstract class AbstractProducesMethodProducer<D, T> extends AbstractProdu
 
   /**
    * Calls the {@link dagger.producers.Produces} method. This will always be called on the {@link
-   * Executor} provided to this producer.
+   * Executor} provided to this producer, unless the method is {@linkplain
+   * dagger.producers.Produces#inline() inline}.
    */
   protected abstract ListenableFuture<T> callProducesMethod(D asyncDependencies) throws Exception;
 
@@ -108,6 +123,10 @@ public abstract class AbstractProducesMethodProducer<D, T> extends AbstractProdu
   @Override
   public final void execute(Runnable runnable) {
     monitor.ready();
-    executorProvider.get().execute(runnable);
+    if (inline) {
+      runnable.run();
+    } else {
+      executorProvider.get().execute(runnable);
+    }
   }
 }
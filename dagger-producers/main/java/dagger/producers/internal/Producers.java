@@ -25,6 +25,7 @@ import static dagger.internal.Providers.asDaggerProvider;
 import com.google.common.base.Function;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.AbstractFuture;
 import com.google.common.util.concurrent.AsyncFunction;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
@@ -34,6 +35,12 @@ import dagger.producers.Producer;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
 
 /**
  * Utility methods for use in generated producer code.
@@ -121,6 +128,63 @@ public final class Producers {
         directExecutor());
   }
 
+  /**
+   * Returns a {@code ListenableFuture} that completes with the result of the given stage. This is
+   * used by {@code @Produces} methods that return a {@link CompletionStage} or {@link
+   * CompletableFuture}.
+   *
+   * <p>An already successful {@code CompletableFuture} is returned as an immediate future. Any
+   * other stage is adapted by a future that is registered as the stage's completion action, which
+   * allocates that future and the dependent stage returned by {@link
+   * CompletionStage#whenComplete}. Cancelling the resulting future cancels the stage if it is a
+   * {@link Future}.
+   */
+  public static <T> ListenableFuture<T> fromCompletionStage(CompletionStage<T> stage) {
+    checkNotNull(stage);
+    if (stage instanceof CompletableFuture) {
+      CompletableFuture<T> future = (CompletableFuture<T>) stage;
+      if (future.isDone() && !future.isCompletedExceptionally()) {
+        return Futures.immediateFuture(future.getNow(null));
+      }
+    }
+    CompletionStageFuture<T> future = new CompletionStageFuture<>(stage);
+    stage.whenComplete(future);
+    return future;
+  }
+
+  /** A future that completes with the result of a {@link CompletionStage}. */
+  private static final class CompletionStageFuture<T> extends AbstractFuture<T>
+      implements BiConsumer<T, Throwable> {
+    private final CompletionStage<T> stage;
+
+    CompletionStageFuture(CompletionStage<T> stage) {
+      this.stage = stage;
+    }
+
+    @Override
+    public void accept(T value, Throwable failure) {
+      if (failure == null) {
+        set(value);
+        return;
+      }
+      if (failure instanceof CompletionException && failure.getCause() != null) {
+        failure = failure.getCause();
+      }
+      if (failure instanceof CancellationException) {
+        cancel(false);
+      } else {
+        setException(failure);
+      }
+    }
+
+    @Override
+    protected void afterDone() {
+      if (isCancelled() && stage instanceof Future) {
+        ((Future<?>) stage).cancel(wasInterrupted());
+      }
+    }
+  }
+
   /**
    * Returns a producer that immediately executes the binding logic for the given provider every
    * time it is called.
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.producers.internal;
+
+import static dagger.internal.Preconditions.checkNotNull;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import org.checkerframework.checker.nullness.compatqual.NullableDecl;
+
+/**
+ * An {@link Executor} that runs each task on a new virtual thread, and that interrupts the threads
+ * it started when the production component that owns it is cancelled.
+ *
+ * <p>Tasks submitted after the component is cancelled with {@code mayInterruptIfRunning} still
+ * run, so that the futures waiting for them complete, but they run on an interrupted thread.
+ */
+public final class VirtualThreadExecutor implements Executor, CancellationListener {
+  @NullableDecl private static final ThreadFactory VIRTUAL_THREAD_FACTORY = virtualThreadFactory();
+
+  private final Set<Thread> runningThreads =
+      Collections.newSetFromMap(new ConcurrentHashMap<Thread, Boolean>());
+  private volatile boolean interrupted;
+
+  /**
+   * Creates an executor.
+   *
+   * @throws UnsupportedOperationException if the runtime doesn't support virtual threads
+   */
+  public VirtualThreadExecutor() {
+    if (VIRTUAL_THREAD_FACTORY == null) {
+      throw new UnsupportedOperationException("Virtual threads require Java 21 or later");
+    }
+  }
+
+  /** Returns {@code true} if the runtime supports virtual threads. */
+  public static boolean isSupported() {
+    return VIRTUAL_THREAD_FACTORY != null;
+  }
+
+  @Override
+  public void execute(Runnable task) {
+    checkNotNull(task);
+    VIRTUAL_THREAD_FACTORY.newThread(new InterruptibleTask(task)).start();
+  }
+
+  @Override
+  public void onProducerFutureCancelled(boolean mayInterruptIfRunning) {
+    if (!mayInterruptIfRunning) {
+      return;
+    }
+    // Tasks check this after registering their thread, so each task either sees it or is
+    // interrupted below.
+    interrupted = true;
+    for (Thread thread : runningThreads) {
+      thread.interrupt();
+    }
+  }
+
+  private final class InterruptibleTask implements Runnable {
+    private final Runnable task;
+
+    InterruptibleTask(Runnable task) {
+      this.task = task;
+    }
+
+    @Override
+    public void run() {
+      Thread thread = Thread.currentThread();
+      runningThreads.add(thread);
+      try {
+        if (interrupted) {
+          thread.interrupt();
+        }
+        task.run();
+      } finally {
+        runningThreads.remove(thread);
+      }
+    }
+  }
+
+  @NullableDecl
+  private static ThreadFactory virtualThreadFactory() {
+    // Thread.ofVirtual() is only available in Java 21, and this library targets older versions.
+    try {
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      return (ThreadFactory)
+          Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+    } catch (ReflectiveOperationException e) {
+      return null;
+    }
+  }
+}
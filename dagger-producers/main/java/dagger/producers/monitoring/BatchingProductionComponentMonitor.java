@@ -0,0 +1,360 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.producers.monitoring;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.Ticker;
+import dagger.internal.Beta;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.checkerframework.checker.nullness.compatqual.NullableDecl;
+
+/**
+ * A monitor that records the events of a production component's producers in a preallocated
+ * buffer, and delivers them to a delegate monitor in batches instead of as they happen.
+ *
+ * <p>Recording an event only claims a slot in the buffer with an atomic increment and writes the
+ * event to it, so monitoring costs little more per producer than not monitoring at all, and
+ * producers never block on one another to record. The events are delivered, in the order in which
+ * they claimed their slots, when the buffer is full or when every producer that was requested so
+ * far has completed. Deliveries happen on the thread that triggered them, one batch at a time, and
+ * the delegate is only asked for a producer's monitor once the first event of that producer is
+ * delivered.
+ *
+ * <p>Since callbacks are delayed, the delegate must not depend on the time or the thread of a
+ * callback, e.g. to set up a context for the producer method. Timings can still be recorded with
+ * {@link Factory#timing}, whose monitors read the time at which each event was recorded.
+ *
+ * <p>Exceptions thrown by the delegate monitors are logged and otherwise ignored.
+ */
+@Beta
+public final class BatchingProductionComponentMonitor extends ProductionComponentMonitor {
+  private static final Logger logger =
+      Logger.getLogger(BatchingProductionComponentMonitor.class.getName());
+
+  private static final byte REQUESTED = 0;
+  private static final byte READY = 1;
+  private static final byte METHOD_STARTING = 2;
+  private static final byte METHOD_FINISHED = 3;
+  private static final byte SUCCEEDED = 4;
+  private static final byte FAILED = 5;
+
+  private final ProductionComponentMonitor delegate;
+  private final RecordedTicker ticker;
+  private final int capacity;
+  private final AtomicInteger pendingProducers = new AtomicInteger();
+  private final ReentrantLock flushLock = new ReentrantLock();
+
+  private volatile Batch recording;
+
+  // Guarded by flushLock. Null until the first flush.
+  @NullableDecl private Batch spare;
+
+  private BatchingProductionComponentMonitor(
+      ProductionComponentMonitor delegate, RecordedTicker ticker, int capacity) {
+    this.delegate = delegate;
+    this.ticker = ticker;
+    this.capacity = capacity;
+    this.recording = new Batch(capacity);
+  }
+
+  @Override
+  public ProducerMonitor producerMonitorFor(ProducerToken token) {
+    return new BatchedProducerMonitor(token);
+  }
+
+  private void record(BatchedProducerMonitor monitor, byte event, @NullableDecl Object argument) {
+    long nanos = System.nanoTime();
+    Batch batch;
+    int slot;
+    while (true) {
+      batch = recording;
+      slot = batch.claimed.getAndIncrement();
+      if (slot < capacity) {
+        batch.set(slot, monitor, event, nanos, argument);
+        batch.written.incrementAndGet();
+        break;
+      }
+      // The batch is full and being flushed. Wait for it to be swapped out.
+      flushIfRecording(batch);
+    }
+    int pending =
+        event == REQUESTED
+            ? pendingProducers.incrementAndGet()
+            : event == SUCCEEDED || event == FAILED
+                ? pendingProducers.decrementAndGet()
+                : pendingProducers.get();
+    if (pending == 0) {
+      flushIfRecording(recording);
+    } else if (slot == capacity - 1) {
+      flushIfRecording(batch);
+    }
+  }
+
+  /**
+   * Delivers the events of {@code batch} unless it was already delivered. This is the only place
+   * that locks, and it uses a {@link ReentrantLock} so that virtual threads waiting for a flush
+   * aren't pinned to their carrier threads.
+   */
+  private void flushIfRecording(Batch batch) {
+    flushLock.lock();
+    try {
+      if (recording != batch) {
+        return;
+      }
+      // Closes the batch to further events. Events that claim a slot after this retry in the next
+      // batch.
+      int size = Math.min(batch.claimed.getAndSet(capacity), capacity);
+      Batch next = spare == null ? new Batch(capacity) : spare;
+      next.claimed.set(0);
+      recording = next;
+      // Events that claimed a slot before the batch was closed may still be writing to it.
+      while (batch.written.get() < size) {
+        Thread.yield();
+      }
+      try {
+        batch.deliver(size);
+      } finally {
+        batch.clear(size);
+        spare = batch;
+      }
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  /**
+   * A buffer of recorded events. Events claim a slot with {@link #claimed} and count themselves in
+   * {@link #written} once their slot is written, so that a batch can be filled without locking.
+   */
+  private final class Batch {
+    private final BatchedProducerMonitor[] monitors;
+    private final byte[] events;
+    private final long[] nanos;
+    private final Object[] arguments;
+    private final AtomicInteger claimed = new AtomicInteger();
+    private final AtomicInteger written = new AtomicInteger();
+
+    Batch(int capacity) {
+      this.monitors = new BatchedProducerMonitor[capacity];
+      this.events = new byte[capacity];
+      this.nanos = new long[capacity];
+      this.arguments = new Object[capacity];
+    }
+
+    void set(
+        int slot,
+        BatchedProducerMonitor monitor,
+        byte event,
+        long eventNanos,
+        @NullableDecl Object argument) {
+      monitors[slot] = monitor;
+      events[slot] = event;
+      nanos[slot] = eventNanos;
+      arguments[slot] = argument;
+    }
+
+    void deliver(int size) {
+      for (int i = 0; i < size; i++) {
+        ticker.nanos = nanos[i];
+        ticker.recorded = true;
+        try {
+          monitors[i].deliver(events[i], arguments[i]);
+        } finally {
+          ticker.recorded = false;
+        }
+      }
+    }
+
+    /** Clears the first {@code size} slots, leaving the batch closed to further events. */
+    void clear(int size) {
+      for (int i = 0; i < size; i++) {
+        monitors[i] = null;
+        arguments[i] = null;
+      }
+      written.set(0);
+    }
+  }
+
+  /** A producer monitor that records its events in the component's buffer. */
+  private final class BatchedProducerMonitor extends ProducerMonitor {
+    private final ProducerToken token;
+
+    // Only accessed while delivering a batch.
+    @NullableDecl private ProducerMonitor delegateMonitor;
+
+    BatchedProducerMonitor(ProducerToken token) {
+      this.token = token;
+    }
+
+    @Override
+    public void requested() {
+      record(this, REQUESTED, null);
+    }
+
+    @Override
+    public void ready() {
+      record(this, READY, null);
+    }
+
+    @Override
+    public void methodStarting() {
+      record(this, METHOD_STARTING, null);
+    }
+
+    @Override
+    public void methodFinished() {
+      record(this, METHOD_FINISHED, null);
+    }
+
+    @Override
+    public void succeeded(Object value) {
+      record(this, SUCCEEDED, value);
+    }
+
+    @Override
+    public void failed(Throwable t) {
+      record(this, FAILED, t);
+    }
+
+    void deliver(byte event, @NullableDecl Object argument) {
+      ProducerMonitor monitor = delegateMonitor();
+      try {
+        switch (event) {
+          case REQUESTED:
+            monitor.requested();
+            break;
+          case READY:
+            monitor.ready();
+            break;
+          case METHOD_STARTING:
+            monitor.methodStarting();
+            break;
+          case METHOD_FINISHED:
+            monitor.methodFinished();
+            break;
+          case SUCCEEDED:
+            monitor.succeeded(argument);
+            break;
+          case FAILED:
+            monitor.failed((Throwable) argument);
+            break;
+          default:
+            throw new AssertionError(event);
+        }
+      } catch (RuntimeException e) {
+        logger.log(
+            Level.SEVERE,
+            "RuntimeException while delivering a batched event to ProducerMonitor " + monitor,
+            e);
+      }
+    }
+
+    private ProducerMonitor delegateMonitor() {
+      if (delegateMonitor == null) {
+        try {
+          delegateMonitor = delegate.producerMonitorFor(token);
+        } catch (RuntimeException e) {
+          logger.log(
+              Level.SEVERE,
+              "RuntimeException while calling ProductionComponentMonitor.producerMonitorFor on "
+                  + "monitor "
+                  + delegate
+                  + " with token "
+                  + token,
+              e);
+        }
+        if (delegateMonitor == null) {
+          delegateMonitor = ProducerMonitor.noOp();
+        }
+      }
+      return delegateMonitor;
+    }
+  }
+
+  /**
+   * A ticker that reads the time at which an event was recorded while it is being delivered, and
+   * the current time otherwise.
+   */
+  private static final class RecordedTicker extends Ticker {
+    // Only written while delivering a batch.
+    long nanos;
+    boolean recorded;
+
+    @Override
+    public long read() {
+      return recorded ? nanos : System.nanoTime();
+    }
+  }
+
+  /** A factory for {@link BatchingProductionComponentMonitor}s. */
+  public static final class Factory extends ProductionComponentMonitor.Factory {
+    private static final int DEFAULT_CAPACITY = 256;
+
+    @NullableDecl private final ProductionComponentMonitor.Factory delegateFactory;
+    @NullableDecl private final ProductionComponentTimingRecorder.Factory recorderFactory;
+    private final int capacity;
+
+    /** Creates a factory that batches the events for the monitors of the given factory. */
+    public Factory(ProductionComponentMonitor.Factory delegateFactory) {
+      this(delegateFactory, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a factory that batches the events for the monitors of the given factory, delivering
+     * them at least once every {@code capacity} events.
+     */
+    public Factory(ProductionComponentMonitor.Factory delegateFactory, int capacity) {
+      this(checkNotNull(delegateFactory), null, capacity);
+    }
+
+    private Factory(
+        @NullableDecl ProductionComponentMonitor.Factory delegateFactory,
+        @NullableDecl ProductionComponentTimingRecorder.Factory recorderFactory,
+        int capacity) {
+      checkArgument(capacity > 0, "capacity must be positive: %s", capacity);
+      this.delegateFactory = delegateFactory;
+      this.recorderFactory = recorderFactory;
+      this.capacity = capacity;
+    }
+
+    /**
+     * Returns a factory that batches the events for {@linkplain TimingProductionComponentMonitor
+     * timing monitors} of the given recorders. The recorded timings are those at which the events
+     * happened, not those at which they were delivered.
+     */
+    public static Factory timing(ProductionComponentTimingRecorder.Factory recorderFactory) {
+      return new Factory(null, checkNotNull(recorderFactory), DEFAULT_CAPACITY);
+    }
+
+    @Override
+    public ProductionComponentMonitor create(Object component) {
+      RecordedTicker ticker = new RecordedTicker();
+      ProductionComponentMonitor delegate =
+          recorderFactory != null
+              ? new TimingProductionComponentMonitor(recorderFactory.create(component), ticker)
+              : delegateFactory.create(component);
+      return delegate == null
+          ? ProductionComponentMonitor.noOp()
+          : new BatchingProductionComponentMonitor(delegate, ticker, capacity);
+    }
+  }
+}
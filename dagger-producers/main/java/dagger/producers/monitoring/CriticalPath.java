@@ -0,0 +1,262 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.producers.monitoring;
+
+import com.google.common.collect.ImmutableList;
+import dagger.internal.Beta;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.checkerframework.checker.nullness.compatqual.NullableDecl;
+
+/**
+ * The producers of one execution of a production component, and the chain of producers among them
+ * that determined its latency.
+ *
+ * <p>A producer's dependencies are only known if its component was compiled with {@code
+ * -Adagger.producerDependencyMetadata=enabled}. Otherwise, the critical path consists of the last
+ * producer that completed only.
+ *
+ * <p>All times are in nanoseconds since the creation of the component's monitor.
+ *
+ * @see CriticalPathProductionComponentMonitor
+ */
+@Beta
+@SuppressWarnings("GoodTime") // should use java.time.Duration
+public final class CriticalPath {
+  private final ImmutableList<Node> path;
+  private final ImmutableList<Node> nodes;
+
+  private CriticalPath(ImmutableList<Node> path, ImmutableList<Node> nodes) {
+    this.path = path;
+    this.nodes = nodes;
+  }
+
+  /**
+   * Returns the producers whose completion gated each other, from the first producer of the chain
+   * to the last producer that completed. Each producer became ready when the previous one
+   * completed.
+   */
+  public ImmutableList<Node> path() {
+    return path;
+  }
+
+  /** Returns all producers of the execution, in the order in which they completed. */
+  public ImmutableList<Node> nodes() {
+    return nodes;
+  }
+
+  /** Returns the time from the first request of a producer until the last producer completed. */
+  public long latencyNanos() {
+    long requested = Long.MAX_VALUE;
+    for (Node node : nodes) {
+      requested = Math.min(requested, node.requestedNanos);
+    }
+    return nodes.isEmpty() ? 0 : nodes.get(nodes.size() - 1).completedNanos - requested;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("CriticalPath{latencyNanos=").append(latencyNanos());
+    for (Node node : path) {
+      builder.append(path.get(0) == node ? ", path=[" : " -> ").append(node);
+    }
+    return builder.append(path.isEmpty() ? "}" : "]}").toString();
+  }
+
+  /** Returns the critical path of the given completed producers. */
+  static CriticalPath analyze(List<Node> completedNodes) {
+    List<Node> nodes = new ArrayList<>(completedNodes);
+    Collections.sort(nodes, COMPLETION_ORDER);
+
+    Map<String, List<Node>> nodesByKey = new HashMap<>();
+    for (Node node : nodes) {
+      String key = node.token.key();
+      if (key != null) {
+        List<Node> nodesForKey = nodesByKey.get(key);
+        if (nodesForKey == null) {
+          nodesForKey = new ArrayList<>();
+          nodesByKey.put(key, nodesForKey);
+        }
+        nodesForKey.add(node);
+      }
+    }
+
+    // A producer is gated by the dependency that completed last before it became ready.
+    for (Node node : nodes) {
+      for (String dependencyKey : node.token.dependencyKeys()) {
+        List<Node> dependencies = nodesByKey.get(dependencyKey);
+        if (dependencies == null) {
+          continue;
+        }
+        for (Node dependency : dependencies) {
+          if (dependency == node) {
+            continue;
+          }
+          dependency.consumers.add(node);
+          if (dependency.completedNanos <= node.gatedNanos()
+              && (node.criticalDependency == null
+                  || dependency.completedNanos > node.criticalDependency.completedNanos)) {
+            node.criticalDependency = dependency;
+          }
+        }
+      }
+    }
+
+    ImmutableList.Builder<Node> path = ImmutableList.builder();
+    if (!nodes.isEmpty()) {
+      long endNanos = nodes.get(nodes.size() - 1).completedNanos;
+      for (Node node : nodes) {
+        computeSlack(node, endNanos);
+      }
+      List<Node> reversedPath = new ArrayList<>();
+      for (Node node = nodes.get(nodes.size() - 1); node != null; node = node.criticalDependency) {
+        reversedPath.add(node);
+      }
+      path.addAll(ImmutableList.copyOf(reversedPath).reverse());
+    }
+    return new CriticalPath(path.build(), ImmutableList.copyOf(nodes));
+  }
+
+  /**
+   * Computes the time by which the completion of the given producer could have been delayed
+   * without delaying the completion of the last producer.
+   */
+  private static long computeSlack(Node node, long endNanos) {
+    if (node.slackNanos >= 0) {
+      return node.slackNanos;
+    }
+    // Treat the node as a sink while its consumers are visited, in case the recorded keys form a
+    // cycle.
+    node.slackNanos = endNanos - node.completedNanos;
+    long slack = node.consumers.isEmpty() ? node.slackNanos : Long.MAX_VALUE;
+    for (Node consumer : node.consumers) {
+      slack =
+          Math.min(
+              slack,
+              consumer.gatedNanos() - node.completedNanos + computeSlack(consumer, endNanos));
+    }
+    node.slackNanos = Math.max(0, slack);
+    return node.slackNanos;
+  }
+
+  private static final Comparator<Node> COMPLETION_ORDER =
+      new Comparator<Node>() {
+        @Override
+        public int compare(Node a, Node b) {
+          return Long.compare(a.completedNanos, b.completedNanos);
+        }
+      };
+
+  /** The timings of a producer in one execution of a production component. */
+  public static final class Node {
+    private final ProducerToken token;
+    private final List<Node> consumers = new ArrayList<>();
+    @NullableDecl private Node criticalDependency;
+    long requestedNanos = -1;
+    long readyNanos = -1;
+    long startedNanos = -1;
+    long finishedNanos = -1;
+    long completedNanos = -1;
+    boolean succeeded;
+    private long slackNanos = -1;
+
+    Node(ProducerToken token) {
+      this.token = token;
+    }
+
+    /** Returns the token of the producer. */
+    public ProducerToken token() {
+      return token;
+    }
+
+    /** Returns the time at which the producer was requested. */
+    public long requestedNanos() {
+      return requestedNanos;
+    }
+
+    /**
+     * Returns the time at which the producer's dependencies were available, or -1 if it never
+     * became ready because a dependency failed.
+     */
+    public long readyNanos() {
+      return readyNanos;
+    }
+
+    /** Returns the time at which the producer method started, or -1 if it did not run. */
+    public long startedNanos() {
+      return startedNanos;
+    }
+
+    /** Returns the time at which the producer method returned, or -1 if it did not run. */
+    public long finishedNanos() {
+      return finishedNanos;
+    }
+
+    /** Returns the time at which the producer's future completed. */
+    public long completedNanos() {
+      return completedNanos;
+    }
+
+    /** Returns whether the producer succeeded. */
+    public boolean succeeded() {
+      return succeeded;
+    }
+
+    /**
+     * Returns the time that the producer waited for the executor between becoming ready and its
+     * method starting.
+     */
+    public long queueingNanos() {
+      return readyNanos >= 0 && startedNanos >= 0 ? startedNanos - readyNanos : 0;
+    }
+
+    /**
+     * Returns the time by which the producer's completion could have been delayed without delaying
+     * the completion of the last producer. This is close to zero for the producers on the
+     * {@linkplain CriticalPath#path() critical path}.
+     */
+    public long slackNanos() {
+      return slackNanos;
+    }
+
+    /** Returns the dependency that completed last before this producer became ready, if known. */
+    @NullableDecl
+    public Node criticalDependency() {
+      return criticalDependency;
+    }
+
+    private long gatedNanos() {
+      return readyNanos >= 0 ? readyNanos : completedNanos;
+    }
+
+    @Override
+    public String toString() {
+      return token
+          + "{queueingNanos="
+          + queueingNanos()
+          + ", methodNanos="
+          + (startedNanos >= 0 && finishedNanos >= 0 ? finishedNanos - startedNanos : 0)
+          + ", completedNanos="
+          + completedNanos
+          + "}";
+    }
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.producers.monitoring;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.Ticker;
+import dagger.internal.Beta;
+import dagger.producers.monitoring.CriticalPath.Node;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A monitor that reconstructs the graph of a production component's producers at runtime, and
+ * reports the {@linkplain CriticalPath critical path} that determined the latency of each execution
+ * of the component, along with the slack and the executor queueing delay of every producer.
+ *
+ * <p>An execution ends when every producer that was requested so far has completed. The edges of
+ * the graph are read from the keys that generated producers record in their {@link ProducerToken}
+ * when the component is compiled with {@code -Adagger.producerDependencyMetadata=enabled}.
+ *
+ * <p>To install it, contribute a {@link Factory} to the set binding of {@code
+ * ProductionComponentMonitor.Factory}.
+ */
+@Beta
+@SuppressWarnings("GoodTime") // should use java.time.Duration
+public final class CriticalPathProductionComponentMonitor extends ProductionComponentMonitor {
+  private final Object component;
+  private final Recorder recorder;
+  private final Ticker ticker;
+  private final long createdNanos;
+
+  // Guarded by this.
+  private final List<Node> completedNodes = new ArrayList<>();
+  private int pendingProducers;
+
+  CriticalPathProductionComponentMonitor(Object component, Recorder recorder, Ticker ticker) {
+    this.component = component;
+    this.recorder = recorder;
+    this.ticker = ticker;
+    this.createdNanos = ticker.read();
+  }
+
+  @Override
+  public ProducerMonitor producerMonitorFor(ProducerToken token) {
+    return new CriticalPathProducerMonitor(new Node(token));
+  }
+
+  private long elapsedNanos() {
+    return ticker.read() - createdNanos;
+  }
+
+  private void completed(Node node, boolean succeeded) {
+    CriticalPath criticalPath = null;
+    synchronized (this) {
+      node.completedNanos = elapsedNanos();
+      node.succeeded = succeeded;
+      completedNodes.add(node);
+      if (--pendingProducers == 0) {
+        criticalPath = CriticalPath.analyze(completedNodes);
+        completedNodes.clear();
+      }
+    }
+    if (criticalPath != null) {
+      recorder.recordCriticalPath(component, criticalPath);
+    }
+  }
+
+  /** A producer monitor that records the timings of a producer in its component's graph. */
+  private final class CriticalPathProducerMonitor extends ProducerMonitor {
+    private final Node node;
+
+    CriticalPathProducerMonitor(Node node) {
+      this.node = node;
+    }
+
+    @Override
+    public void requested() {
+      synchronized (CriticalPathProductionComponentMonitor.this) {
+        node.requestedNanos = elapsedNanos();
+        pendingProducers++;
+      }
+    }
+
+    @Override
+    public void ready() {
+      synchronized (CriticalPathProductionComponentMonitor.this) {
+        node.readyNanos = elapsedNanos();
+      }
+    }
+
+    @Override
+    public void methodStarting() {
+      synchronized (CriticalPathProductionComponentMonitor.this) {
+        node.startedNanos = elapsedNanos();
+      }
+    }
+
+    @Override
+    public void methodFinished() {
+      synchronized (CriticalPathProductionComponentMonitor.this) {
+        node.finishedNanos = elapsedNanos();
+      }
+    }
+
+    @Override
+    public void succeeded(Object value) {
+      completed(node, true);
+    }
+
+    @Override
+    public void failed(Throwable t) {
+      completed(node, false);
+    }
+  }
+
+  /** Receives the critical paths of the executions of production components. */
+  public abstract static class Recorder {
+    /**
+     * Records the critical path of an execution of the given component. This is called on the
+     * thread that completed the execution's last producer.
+     */
+    public abstract void recordCriticalPath(Object component, CriticalPath criticalPath);
+  }
+
+  /** A factory for {@link CriticalPathProductionComponentMonitor}s. */
+  public static final class Factory extends ProductionComponentMonitor.Factory {
+    private final Recorder recorder;
+    private final Ticker ticker;
+
+    public Factory(Recorder recorder) {
+      this(recorder, Ticker.systemTicker());
+    }
+
+    Factory(Recorder recorder, Ticker ticker) {
+      this.recorder = checkNotNull(recorder);
+      this.ticker = ticker;
+    }
+
+    @Override
+    public ProductionComponentMonitor create(Object component) {
+      return new CriticalPathProductionComponentMonitor(component, recorder, ticker);
+    }
+  }
+}
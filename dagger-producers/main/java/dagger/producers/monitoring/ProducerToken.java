@@ -26,10 +26,22 @@ import org.checkerframework.checker.nullness.compatqual.NullableDecl;
 public final class ProducerToken {
   @NullableDecl private final Class<?> classToken;
   @NullableDecl private final String methodName;
+  @NullableDecl private final String key;
+  private final String[] dependencyKeys;
 
   private ProducerToken(@NullableDecl Class<?> classToken, @NullableDecl String methodName) {
+    this(classToken, methodName, null, new String[0]);
+  }
+
+  private ProducerToken(
+      @NullableDecl Class<?> classToken,
+      @NullableDecl String methodName,
+      @NullableDecl String key,
+      String[] dependencyKeys) {
     this.classToken = classToken;
     this.methodName = methodName;
+    this.key = key;
+    this.dependencyKeys = dependencyKeys;
   }
 
   /**
@@ -52,6 +64,28 @@ public final class ProducerToken {
     return new ProducerToken(null, checkNotNull(methodName));
   }
 
+  /**
+   * Returns a token for the same producer method that also records the key that the method binds
+   * and the keys of its dependencies. The keys are not part of the token's identity.
+   *
+   * <p><b>Do not use this!</b> This is intended to be called by generated code only, and its
+   * signature may change at any time.
+   */
+  public ProducerToken withKeys(String key, String... dependencyKeys) {
+    return new ProducerToken(classToken, methodName, checkNotNull(key), dependencyKeys);
+  }
+
+  /** Returns the key that the producer method binds, if it was recorded. */
+  @NullableDecl
+  String key() {
+    return key;
+  }
+
+  /** Returns the keys of the producer method's dependencies, if they were recorded. */
+  String[] dependencyKeys() {
+    return dependencyKeys;
+  }
+
   /** Two tokens are equal if they represent the same method. */
   @Override
   public boolean equals(Object o) {
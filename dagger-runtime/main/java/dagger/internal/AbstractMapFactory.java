@@ -18,7 +18,6 @@ package dagger.internal;
 
 import static dagger.internal.DaggerCollections.newLinkedHashMapWithExpectedSize;
 import static dagger.internal.Preconditions.checkNotNull;
-import static java.util.Collections.unmodifiableMap;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -31,14 +30,17 @@ import java.util.Map;
  * @param <V2> the value type of the map that this provides
  */
 abstract class AbstractMapFactory<K, V, V2> implements Factory<Map<K, V2>> {
-  private final Map<K, Provider<V>> contributingMap;
+  private final CompactMap<K, Provider<V>> contributingMap;
 
   AbstractMapFactory(Map<K, Provider<V>> map) {
-    this.contributingMap = unmodifiableMap(map);
+    this.contributingMap = CompactMap.copyOf(map);
   }
 
-  /** The map of {@link Provider}s that contribute to this map binding. */
-  final Map<K, Provider<V>> contributingMap() {
+  /**
+   * The map of {@link Provider}s that contribute to this map binding. Its {@link
+   * CompactMap.KeyIndex} is shared by every map this factory creates.
+   */
+  final CompactMap<K, Provider<V>> contributingMap() {
     return contributingMap;
   }
 
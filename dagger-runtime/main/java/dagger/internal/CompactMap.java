@@ -0,0 +1,285 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.internal;
+
+import static dagger.internal.DaggerCollections.hashTableSize;
+import static dagger.internal.DaggerCollections.smear;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * An immutable {@link Map} whose keys are fixed by a shared {@link KeyIndex}. The key index holds
+ * the keys in insertion order and an open-addressed table that maps each key to its position, so
+ * a map only needs to store its values in an array of the same order.
+ *
+ * <p>Map multibindings have keys that are known when the factory is built, so the key index is
+ * computed once per factory and every map the factory creates costs two allocations regardless of
+ * its size.
+ */
+final class CompactMap<K, V> extends AbstractMap<K, V> {
+  private final KeyIndex<K> keyIndex;
+  private final Object[] values;
+
+  /** Returns a {@link CompactMap} with the entries of {@code map}, in its iteration order. */
+  static <K, V> CompactMap<K, V> copyOf(Map<K, V> map) {
+    Object[] keys = new Object[map.size()];
+    Object[] values = new Object[map.size()];
+    int i = 0;
+    for (Map.Entry<K, V> entry : map.entrySet()) {
+      keys[i] = entry.getKey();
+      values[i] = entry.getValue();
+      i++;
+    }
+    return new CompactMap<>(KeyIndex.<K>of(keys), values);
+  }
+
+  /**
+   * Creates a map from the keys in {@code keyIndex} to the values at the same positions in {@code
+   * values}. {@code values} is not copied and must not be modified afterwards.
+   */
+  CompactMap(KeyIndex<K> keyIndex, Object[] values) {
+    this.keyIndex = keyIndex;
+    this.values = values;
+  }
+
+  KeyIndex<K> keyIndex() {
+    return keyIndex;
+  }
+
+  /** Returns the value at {@code index} in iteration order. */
+  @SuppressWarnings("unchecked") // only values of type V are stored
+  V valueAt(int index) {
+    return (V) values[index];
+  }
+
+  @Override
+  public int size() {
+    return values.length;
+  }
+
+  @Override
+  public boolean containsKey(@Nullable Object key) {
+    return keyIndex.indexOf(key) >= 0;
+  }
+
+  @Override
+  public @Nullable V get(@Nullable Object key) {
+    int index = keyIndex.indexOf(key);
+    return index < 0 ? null : valueAt(index);
+  }
+
+  @Override
+  public Set<Map.Entry<K, V>> entrySet() {
+    return new AbstractSet<Map.Entry<K, V>>() {
+      @Override
+      public int size() {
+        return values.length;
+      }
+
+      @Override
+      public Iterator<Map.Entry<K, V>> iterator() {
+        return new Iterator<Map.Entry<K, V>>() {
+          private int index;
+
+          @Override
+          public boolean hasNext() {
+            return index < values.length;
+          }
+
+          @Override
+          public Map.Entry<K, V> next() {
+            if (index >= values.length) {
+              throw new NoSuchElementException();
+            }
+            Map.Entry<K, V> entry =
+                new SimpleImmutableEntry<>(keyIndex.keyAt(index), valueAt(index));
+            index++;
+            return entry;
+          }
+        };
+      }
+    };
+  }
+
+  /**
+   * The keys of a {@link CompactMap}, in insertion order, and a hash table from each key to its
+   * position. Maps whose keys are all {@link Integer}s or all {@link Long}s (i.e. {@code @IntKey}
+   * and {@code @LongKey} map multibindings) use a table of primitives, so lookups compare
+   * primitive values instead of calling {@link Object#equals} on boxed keys.
+   */
+  abstract static class KeyIndex<K> {
+    private final Object[] keys;
+
+    /** Returns a key index for {@code keys}, which must not contain duplicates or nulls. */
+    static <K> KeyIndex<K> of(Object[] keys) {
+      if (allInstancesOf(keys, Integer.class)) {
+        return new IntKeyIndex<>(keys);
+      } else if (allInstancesOf(keys, Long.class)) {
+        return new LongKeyIndex<>(keys);
+      }
+      return new ObjectKeyIndex<>(keys);
+    }
+
+    KeyIndex(Object[] keys) {
+      this.keys = keys;
+    }
+
+    final int size() {
+      return keys.length;
+    }
+
+    @SuppressWarnings("unchecked") // only keys of type K are stored
+    final K keyAt(int index) {
+      return (K) keys[index];
+    }
+
+    /** Returns the position of {@code key}, or -1 if it is not a key of this index. */
+    abstract int indexOf(@Nullable Object key);
+
+    private static boolean allInstancesOf(Object[] keys, Class<?> type) {
+      if (keys.length == 0) {
+        return false;
+      }
+      for (Object key : keys) {
+        if (key.getClass() != type) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  /**
+   * A {@link KeyIndex} for arbitrary keys. Each slot of the table holds the position of a key plus
+   * one, so that zero marks an empty slot.
+   */
+  private static final class ObjectKeyIndex<K> extends KeyIndex<K> {
+    private final Object[] keys;
+    private final int[] table;
+
+    ObjectKeyIndex(Object[] keys) {
+      super(keys);
+      this.keys = keys;
+      this.table = new int[hashTableSize(keys.length)];
+      int mask = table.length - 1;
+      for (int index = 0; index < keys.length; index++) {
+        int slot = smear(keys[index].hashCode()) & mask;
+        while (table[slot] != 0) {
+          slot = (slot + 1) & mask;
+        }
+        table[slot] = index + 1;
+      }
+    }
+
+    @Override
+    int indexOf(@Nullable Object key) {
+      if (key == null) {
+        return -1;
+      }
+      int mask = table.length - 1;
+      for (int slot = smear(key.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+        int index = table[slot] - 1;
+        if (index < 0) {
+          return -1;
+        }
+        if (keys[index].equals(key)) {
+          return index;
+        }
+      }
+    }
+  }
+
+  /** A {@link KeyIndex} for {@link Integer} keys that probes a table of {@code int}s. */
+  private static final class IntKeyIndex<K> extends KeyIndex<K> {
+    private final int[] tableKeys;
+    private final int[] table;
+
+    IntKeyIndex(Object[] keys) {
+      super(keys);
+      this.tableKeys = new int[hashTableSize(keys.length)];
+      this.table = new int[tableKeys.length];
+      int mask = table.length - 1;
+      for (int index = 0; index < keys.length; index++) {
+        int key = (Integer) keys[index];
+        int slot = smear(key) & mask;
+        while (table[slot] != 0) {
+          slot = (slot + 1) & mask;
+        }
+        tableKeys[slot] = key;
+        table[slot] = index + 1;
+      }
+    }
+
+    @Override
+    int indexOf(@Nullable Object key) {
+      if (!(key instanceof Integer)) {
+        return -1;
+      }
+      int intKey = (Integer) key;
+      int mask = table.length - 1;
+      for (int slot = smear(intKey) & mask; ; slot = (slot + 1) & mask) {
+        int index = table[slot] - 1;
+        if (index < 0 || tableKeys[slot] == intKey) {
+          return index;
+        }
+      }
+    }
+  }
+
+  /** A {@link KeyIndex} for {@link Long} keys that probes a table of {@code long}s. */
+  private static final class LongKeyIndex<K> extends KeyIndex<K> {
+    private final long[] tableKeys;
+    private final int[] table;
+
+    LongKeyIndex(Object[] keys) {
+      super(keys);
+      this.tableKeys = new long[hashTableSize(keys.length)];
+      this.table = new int[tableKeys.length];
+      int mask = table.length - 1;
+      for (int index = 0; index < keys.length; index++) {
+        long key = (Long) keys[index];
+        int slot = smear(Long.hashCode(key)) & mask;
+        while (table[slot] != 0) {
+          slot = (slot + 1) & mask;
+        }
+        tableKeys[slot] = key;
+        table[slot] = index + 1;
+      }
+    }
+
+    @Override
+    int indexOf(@Nullable Object key) {
+      if (!(key instanceof Long)) {
+        return -1;
+      }
+      long longKey = (Long) key;
+      int mask = table.length - 1;
+      for (int slot = smear(Long.hashCode(longKey)) & mask; ; slot = (slot + 1) & mask) {
+        int index = table[slot] - 1;
+        if (index < 0 || tableKeys[slot] == longKey) {
+          return index;
+        }
+      }
+    }
+  }
+}
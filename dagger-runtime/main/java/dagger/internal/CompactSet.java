@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.internal;
+
+import static dagger.internal.DaggerCollections.MAX_HASH_TABLE_SIZE;
+import static dagger.internal.DaggerCollections.hashTableSize;
+import static dagger.internal.DaggerCollections.smear;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * An immutable {@link Set} backed by two arrays: the elements in insertion order and an
+ * open-addressed hash table used for lookups. Unlike {@link java.util.HashSet}, it does not
+ * allocate a node per element, and unlike {@link Collections#unmodifiableSet} it does not need a
+ * wrapper, so a set of {@code n} elements costs three allocations regardless of {@code n}.
+ */
+final class CompactSet<E> extends AbstractSet<E> {
+  private final Object[] elements;
+  private final Object[] table;
+
+  private CompactSet(Object[] elements, Object[] table) {
+    this.elements = elements;
+    this.table = table;
+  }
+
+  /**
+   * Returns a new {@link Builder} that can hold {@code expectedSize} elements without growing. More
+   * elements may be added, but doing so allocates.
+   */
+  static <E> Builder<E> builder(int expectedSize) {
+    return new Builder<E>(expectedSize);
+  }
+
+  @Override
+  public int size() {
+    return elements.length;
+  }
+
+  @Override
+  public boolean contains(@Nullable Object o) {
+    if (o == null) {
+      return false;
+    }
+    int mask = table.length - 1;
+    for (int i = smear(o.hashCode()) & mask; ; i = (i + 1) & mask) {
+      Object candidate = table[i];
+      if (candidate == null) {
+        return false;
+      }
+      if (candidate.equals(o)) {
+        return true;
+      }
+    }
+  }
+
+  @Override
+  public Iterator<E> iterator() {
+    return new Iterator<E>() {
+      private int index;
+
+      @Override
+      public boolean hasNext() {
+        return index < elements.length;
+      }
+
+      @SuppressWarnings("unchecked") // only elements of type E are added
+      @Override
+      public E next() {
+        if (index >= elements.length) {
+          throw new NoSuchElementException();
+        }
+        return (E) elements[index++];
+      }
+    };
+  }
+
+  @Override
+  public Object[] toArray() {
+    return elements.clone();
+  }
+
+  /**
+   * A single-use builder for {@link CompactSet}. Elements are hashed as they are added, so building
+   * the set requires a single pass over the elements. Duplicate elements are ignored.
+   */
+  static final class Builder<E> {
+    private Object[] elements;
+    private Object[] table;
+    private int size;
+
+    private Builder(int expectedSize) {
+      elements = new Object[expectedSize];
+      table = new Object[hashTableSize(expectedSize)];
+    }
+
+    /** Adds {@code element} if it is not already present. {@code element} must not be null. */
+    Builder<E> add(E element) {
+      if (insert(table, element)) {
+        if (size == elements.length) {
+          elements = Arrays.copyOf(elements, Math.max(size * 2, 1));
+        }
+        elements[size++] = element;
+        if (size * 2 > table.length && table.length < MAX_HASH_TABLE_SIZE) {
+          rehash();
+        }
+      }
+      return this;
+    }
+
+    Set<E> build() {
+      switch (size) {
+        case 0:
+          return Collections.emptySet();
+        case 1:
+          @SuppressWarnings("unchecked") // only elements of type E are added
+          E element = (E) elements[0];
+          return Collections.singleton(element);
+        default:
+          return new CompactSet<E>(
+              size == elements.length ? elements : Arrays.copyOf(elements, size), table);
+      }
+    }
+
+    private void rehash() {
+      Object[] newTable = new Object[table.length * 2];
+      for (int i = 0; i < size; i++) {
+        insert(newTable, elements[i]);
+      }
+      table = newTable;
+    }
+
+    /** Inserts {@code element} into {@code table}, returning {@code false} if it was present. */
+    private static boolean insert(Object[] table, Object element) {
+      int mask = table.length - 1;
+      for (int i = smear(element.hashCode()) & mask; ; i = (i + 1) & mask) {
+        Object candidate = table[i];
+        if (candidate == null) {
+          table[i] = element;
+          return true;
+        }
+        if (candidate.equals(element)) {
+          return false;
+        }
+      }
+    }
+  }
+}
@@ -34,6 +34,9 @@ public final class DaggerCollections {
    */
   private static final int MAX_POWER_OF_TWO = 1 << (Integer.SIZE - 2);
 
+  /** The maximum length of the open-addressed tables returned by {@link #hashTableSize}. */
+  static final int MAX_HASH_TABLE_SIZE = MAX_POWER_OF_TWO;
+
   private DaggerCollections() {}
 
   /**
@@ -73,6 +76,22 @@ public final class DaggerCollections {
     return new LinkedHashMap<K, V>(calculateInitialCapacity(expectedSize));
   }
 
+  /**
+   * Returns a power of two length for an open-addressed hash table that keeps the load factor
+   * below 1/2 when holding {@code expectedSize} elements.
+   */
+  static int hashTableSize(int expectedSize) {
+    if (expectedSize >= MAX_HASH_TABLE_SIZE / 2) {
+      return MAX_HASH_TABLE_SIZE;
+    }
+    return Integer.highestOneBit(Math.max(expectedSize, 1) * 2 - 1) << 1;
+  }
+
+  /** Spreads the higher bits of a hash code to the lower bits used to index a hash table. */
+  static int smear(int hashCode) {
+    return hashCode ^ (hashCode >>> 16);
+  }
+
   private static int calculateInitialCapacity(int expectedSize) {
     if (expectedSize < 3) {
       return expectedSize + 1;
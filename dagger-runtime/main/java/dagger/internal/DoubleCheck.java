@@ -76,11 +76,28 @@ public final class DoubleCheck<T extends @Nullable Object> implements Provider<T
     return newInstance;
   }
 
+  /**
+   * Returns the value memoized by {@code provider} if it is a {@link DoubleCheck} or {@link
+   * LockFreeDoubleCheck} that has already been initialized, or {@code null} otherwise. Unlike
+   * {@link #get()}, this never invokes the delegate.
+   */
+  public static @Nullable Object getIfInitialized(Provider<?> provider) {
+    checkNotNull(provider);
+    if (provider instanceof DoubleCheck) {
+      @Nullable Object result = ((DoubleCheck<?>) provider).instance;
+      return result == UNINITIALIZED ? null : result;
+    }
+    if (provider instanceof LockFreeDoubleCheck) {
+      return ((LockFreeDoubleCheck<?>) provider).getIfInitialized();
+    }
+    return null;
+  }
+
   /** Returns a {@link Provider} that caches the value from the given delegate provider. */
   public static <T extends @Nullable Object> dagger.internal.Provider<T> provider(
       dagger.internal.Provider<T> delegate) {
     checkNotNull(delegate);
-    if (delegate instanceof DoubleCheck) {
+    if (delegate instanceof DoubleCheck || delegate instanceof LockFreeDoubleCheck) {
       /* This should be a rare case, but if we have a scoped @Binds that delegates to a scoped
        * binding, we shouldn't cache the value again. */
       return delegate;
@@ -0,0 +1,237 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.internal;
+
+import static dagger.internal.Preconditions.checkNotNull;
+
+import dagger.Lazy;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A {@link Lazy} and {@link Provider} implementation that memoizes the value returned from a
+ * delegate, like {@link DoubleCheck}, but without acquiring a monitor.
+ *
+ * <p>The first thread to call {@link #get()} claims the initialization with a compare-and-set and
+ * invokes the delegate. Threads that lose that race park until the value has been published
+ * instead of blocking on a monitor, so they do not contend on a lock during cold start and do not
+ * pin the carrier of a virtual thread. If the delegate throws, the claim is released and the next
+ * caller retries, as with {@link DoubleCheck}.
+ *
+ * <p>Reentrant calls from the initializing thread invoke the delegate again and are subject to the
+ * same check as {@link DoubleCheck}: if they return a different instance than the outer call, an
+ * {@link IllegalStateException} is thrown.
+ */
+public final class LockFreeDoubleCheck<T extends @Nullable Object> implements Provider<T>, Lazy<T> {
+  private static final Object UNINITIALIZED = new Object();
+
+  @SuppressWarnings("rawtypes") // field updaters cannot be created for generic types
+  private static final AtomicReferenceFieldUpdater<LockFreeDoubleCheck, Object> STATE =
+      AtomicReferenceFieldUpdater.newUpdater(LockFreeDoubleCheck.class, Object.class, "state");
+
+  private volatile @Nullable Provider<T> provider;
+
+  /**
+   * Either {@link #UNINITIALIZED}, the {@link Initialization} in progress, or the memoized value.
+   */
+  private volatile @Nullable Object state = UNINITIALIZED;
+
+  private LockFreeDoubleCheck(Provider<T> provider) {
+    assert provider != null;
+    this.provider = provider;
+  }
+
+  @SuppressWarnings("unchecked") // cast only happens when result comes from the provider
+  @Override
+  public T get() {
+    @Nullable Object result = state;
+    if (result == UNINITIALIZED || result instanceof Initialization) {
+      result = getSlowPath();
+    }
+    return (T) result;
+  }
+
+  /** Returns the memoized value, or {@code null} if it hasn't been initialized yet. */
+  @Nullable Object getIfInitialized() {
+    @Nullable Object result = state;
+    return result == UNINITIALIZED || result instanceof Initialization ? null : result;
+  }
+
+  @SuppressWarnings("nullness:dereference.of.nullable") // provider is non-null while initializing
+  private @Nullable Object getSlowPath() {
+    boolean interrupted = false;
+    try {
+      while (true) {
+        @Nullable Object current = state;
+        if (current == UNINITIALIZED) {
+          Initialization initialization = new Initialization(Thread.currentThread());
+          if (STATE.compareAndSet(this, UNINITIALIZED, initialization)) {
+            return initialize(initialization);
+          }
+        } else if (current instanceof Initialization) {
+          Initialization initialization = (Initialization) current;
+          if (initialization.owner == Thread.currentThread()) {
+            // A reentrant call while this thread is initializing, e.g. through a dependency cycle
+            // that is broken by a Provider or Lazy.
+            if (initialization.value != UNINITIALIZED) {
+              return initialization.value;
+            }
+            @Nullable Object result = provider.get();
+            initialization.value = reentrantCheck(initialization.value, result);
+            return result;
+          }
+          interrupted |= awaitInitialization(initialization);
+        } else {
+          return current;
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  @SuppressWarnings("nullness:dereference.of.nullable") // provider is non-null while initializing
+  private @Nullable Object initialize(Initialization initialization) {
+    @Nullable Object result;
+    try {
+      result = provider.get();
+      result = reentrantCheck(initialization.value, result);
+    } catch (RuntimeException | Error e) {
+      // Release the claim so that the next caller can retry, like DoubleCheck does.
+      state = UNINITIALIZED;
+      initialization.releaseWaiters();
+      throw e;
+    }
+    state = result;
+    /* Null out the reference to the provider. We are never going to need it again, so we
+     * can make it eligible for GC. */
+    provider = null;
+    initialization.releaseWaiters();
+    return result;
+  }
+
+  /**
+   * Parks the current thread until {@code initialization} has completed. Returns {@code true} if
+   * the thread was interrupted while waiting.
+   */
+  private boolean awaitInitialization(Initialization initialization) {
+    boolean interrupted = false;
+    if (initialization.addWaiter(Thread.currentThread())) {
+      while (state == initialization) {
+        LockSupport.park(this);
+        interrupted |= Thread.interrupted();
+      }
+    }
+    return interrupted;
+  }
+
+  /**
+   * Checks to see if creating the new instance has resulted in a recursive call. If it has, and the
+   * new instance is the same as the current instance, return the instance. However, if the new
+   * instance differs from the current instance, an {@link IllegalStateException} is thrown.
+   */
+  private static @Nullable Object reentrantCheck(
+      @Nullable Object currentInstance, @Nullable Object newInstance) {
+    boolean isReentrant = currentInstance != UNINITIALIZED;
+    if (isReentrant && currentInstance != newInstance) {
+      throw new IllegalStateException("Scoped provider was invoked recursively returning "
+          + "different results: " + currentInstance + " & " + newInstance + ". This is likely "
+          + "due to a circular dependency.");
+    }
+    return newInstance;
+  }
+
+  /** An in-progress initialization, owned by the thread that is invoking the delegate. */
+  private static final class Initialization {
+    private static final Waiter RELEASED = new Waiter(null, null);
+
+    private static final AtomicReferenceFieldUpdater<Initialization, Waiter> WAITERS =
+        AtomicReferenceFieldUpdater.newUpdater(Initialization.class, Waiter.class, "waiters");
+
+    final Thread owner;
+
+    /** The value returned by a reentrant call from {@link #owner}, if any. */
+    @Nullable Object value = UNINITIALIZED;
+
+    /** A stack of threads waiting for this initialization, or {@link #RELEASED}. */
+    volatile @Nullable Waiter waiters;
+
+    Initialization(Thread owner) {
+      this.owner = owner;
+    }
+
+    /**
+     * Registers {@code thread} to be unparked when this initialization completes. Returns {@code
+     * false} if it has already completed.
+     */
+    boolean addWaiter(Thread thread) {
+      while (true) {
+        @Nullable Waiter head = waiters;
+        if (head == RELEASED) {
+          return false;
+        }
+        if (WAITERS.compareAndSet(this, head, new Waiter(thread, head))) {
+          return true;
+        }
+      }
+    }
+
+    /** Unparks all waiting threads. Must be called after the state has been updated. */
+    void releaseWaiters() {
+      for (@Nullable Waiter waiter = WAITERS.getAndSet(this, RELEASED);
+          waiter != null;
+          waiter = waiter.next) {
+        LockSupport.unpark(waiter.thread);
+      }
+    }
+  }
+
+  private static final class Waiter {
+    final @Nullable Thread thread;
+    final @Nullable Waiter next;
+
+    Waiter(@Nullable Thread thread, @Nullable Waiter next) {
+      this.thread = thread;
+      this.next = next;
+    }
+  }
+
+  /** Returns a {@link Provider} that caches the value from the given delegate provider. */
+  public static <T extends @Nullable Object> Provider<T> provider(Provider<T> delegate) {
+    checkNotNull(delegate);
+    if (delegate instanceof LockFreeDoubleCheck || delegate instanceof DoubleCheck) {
+      /* This should be a rare case, but if we have a scoped @Binds that delegates to a scoped
+       * binding, we shouldn't cache the value again. */
+      return delegate;
+    }
+    return new LockFreeDoubleCheck<T>(delegate);
+  }
+
+  /** Returns a {@link Lazy} that caches the value from the given provider. */
+  public static <T extends @Nullable Object> Lazy<T> lazy(Provider<T> provider) {
+    if (provider instanceof Lazy) {
+      @SuppressWarnings("unchecked")
+      final Lazy<T> lazy = (Lazy<T>) provider;
+      // Avoids memoizing a value that is already memoized.
+      return lazy;
+    }
+    return new LockFreeDoubleCheck<T>(checkNotNull(provider));
+  }
+}
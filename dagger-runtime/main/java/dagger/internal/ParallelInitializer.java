@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.internal;
+
+import static dagger.internal.Preconditions.checkNotNull;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Eagerly initializes the scoped bindings of a component in parallel. Used by the {@code
+ * initializeEagerly(Executor)} methods that components generate when {@code
+ * -Adagger.eagerParallelInitialization} is enabled.
+ *
+ * <p>Bindings are identified by ids that the component maps to its own binding expressions, and
+ * are grouped into waves such that no binding depends on another binding in the same or a later
+ * wave. Each wave is a list of tasks, and each task is a list of ids that are initialized in order
+ * on a single thread (a task with more than one id is a dependency cycle, which cannot be safely
+ * initialized in parallel). The tasks of a wave run concurrently on the executor, and the next wave
+ * starts only once every task of the previous wave has finished.
+ */
+public final class ParallelInitializer {
+  /** Initializes the binding with a given id. Implemented by generated components. */
+  public interface Initializer {
+    void initialize(int id);
+  }
+
+  /**
+   * Runs {@code waves} on {@code executor}, blocking until every binding is initialized. Tasks the
+   * executor rejects run on the calling thread.
+   *
+   * @throws RuntimeException or {@link Error} the first exception thrown by a binding, after the
+   *     wave in which it was thrown has finished
+   */
+  public static void initialize(Executor executor, int[][][] waves, Initializer initializer) {
+    checkNotNull(executor);
+    for (int[][] wave : waves) {
+      if (wave.length == 1) {
+        // No parallelism to gain, so avoid the hand-off to the executor.
+        run(wave[0], initializer);
+        continue;
+      }
+      CountDownLatch remaining = new CountDownLatch(wave.length);
+      AtomicReference<@Nullable Throwable> failure = new AtomicReference<>();
+      for (int[] task : wave) {
+        Runnable runnable = new Task(task, initializer, remaining, failure);
+        try {
+          executor.execute(runnable);
+        } catch (RejectedExecutionException e) {
+          runnable.run();
+        }
+      }
+      awaitUninterruptibly(remaining);
+      Throwable throwable = failure.get();
+      if (throwable != null) {
+        throwUnchecked(throwable);
+      }
+    }
+  }
+
+  private static void run(int[] task, Initializer initializer) {
+    for (int id : task) {
+      initializer.initialize(id);
+    }
+  }
+
+  private static void awaitUninterruptibly(CountDownLatch latch) {
+    boolean interrupted = false;
+    try {
+      while (true) {
+        try {
+          latch.await();
+          return;
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private static void throwUnchecked(Throwable throwable) {
+    if (throwable instanceof RuntimeException) {
+      throw (RuntimeException) throwable;
+    } else if (throwable instanceof Error) {
+      throw (Error) throwable;
+    }
+    throw new RuntimeException(throwable);
+  }
+
+  private static final class Task implements Runnable {
+    private final int[] ids;
+    private final Initializer initializer;
+    private final CountDownLatch remaining;
+    private final AtomicReference<@Nullable Throwable> failure;
+
+    Task(
+        int[] ids,
+        Initializer initializer,
+        CountDownLatch remaining,
+        AtomicReference<@Nullable Throwable> failure) {
+      this.ids = ids;
+      this.initializer = initializer;
+      this.remaining = remaining;
+      this.failure = failure;
+    }
+
+    @Override
+    public void run() {
+      try {
+        ParallelInitializer.run(ids, initializer);
+      } catch (Throwable t) {
+        failure.compareAndSet(null, t);
+      } finally {
+        remaining.countDown();
+      }
+    }
+  }
+
+  private ParallelInitializer() {}
+}
@@ -27,10 +27,12 @@ import dagger.Lazy;
 public final class ProviderOfLazy<T> implements Provider<Lazy<T>> {
 
   private final Provider<T> provider;
+  private final boolean lockFree;
 
-  private ProviderOfLazy(Provider<T> provider) {
+  private ProviderOfLazy(Provider<T> provider, boolean lockFree) {
     assert provider != null;
     this.provider = provider;
+    this.lockFree = lockFree;
   }
 
   /**
@@ -39,7 +41,7 @@ public final class ProviderOfLazy<T> implements Provider<Lazy<T>> {
    */
   @Override
   public Lazy<T> get() {
-    return DoubleCheck.lazy(provider);
+    return lockFree ? LockFreeDoubleCheck.lazy(provider) : DoubleCheck.lazy(provider);
   }
 
   /**
@@ -49,7 +51,17 @@ public final class ProviderOfLazy<T> implements Provider<Lazy<T>> {
    * @see #get()
    */
   public static <T> Provider<Lazy<T>> create(Provider<T> provider) {
-    return new ProviderOfLazy<T>(checkNotNull(provider));
+    return new ProviderOfLazy<T>(checkNotNull(provider), /* lockFree= */ false);
+  }
+
+  /**
+   * Creates a new {@link Provider Provider&lt;Lazy&lt;T&gt;&gt;} that decorates the given {@link
+   * Provider} with {@link LockFreeDoubleCheck#lazy} instances, which never acquire a monitor.
+   *
+   * @see #get()
+   */
+  public static <T> Provider<Lazy<T>> createLockFree(Provider<T> provider) {
+    return new ProviderOfLazy<T>(checkNotNull(provider), /* lockFree= */ true);
   }
 
   /**
@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.internal;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Receives the time taken to provision each binding of components generated with {@code
+ * -Adagger.provisionTracing=enabled}. Installed with {@link ProvisionTracing#setListener}.
+ *
+ * <p>Listeners are called on the thread that provisioned the binding, after it was provisioned, so
+ * they should be fast and thread-safe.
+ */
+public interface ProvisionListener {
+  /**
+   * Called after a binding has been provisioned.
+   *
+   * @param key the binding's key, e.g. {@code @javax.inject.Named("foo") java.lang.String}
+   * @param scope the binding's scope annotation, e.g. {@code @javax.inject.Singleton}, or {@code
+   *     null} if the binding is unscoped
+   * @param nanos the time taken to provision the binding, including any of its dependencies that
+   *     had to be provisioned first
+   * @param thread the thread that provisioned the binding
+   */
+  void onProvision(String key, @Nullable String scope, long nanos, Thread thread);
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.internal;
+
+import static dagger.internal.Preconditions.checkNotNull;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Reports the provisions of components generated with {@code -Adagger.provisionTracing=enabled} to
+ * the installed {@link ProvisionListener}.
+ *
+ * <p>Components generated without that option never call this class. Components generated with it
+ * read the volatile listener field twice per provision, once in {@link #start} and once in {@link
+ * #end}, and read the clock only while a listener is installed.
+ */
+public final class ProvisionTracing {
+  /**
+   * The start time of a provision that began while no listener was installed. {@link
+   * System#nanoTime()} may return any value, including {@code 0}, but it doesn't return this one
+   * within the lifetime of a process.
+   */
+  static final long NOT_TRACED = Long.MIN_VALUE;
+
+  private static volatile @Nullable ProvisionListener listener;
+
+  /** Installs {@code listener}, replacing any previous one, or uninstalls it if {@code null}. */
+  public static void setListener(@Nullable ProvisionListener listener) {
+    ProvisionTracing.listener = listener;
+  }
+
+  /**
+   * Returns the time at which a provision starts, to be passed to {@link #end}, or {@link
+   * #NOT_TRACED} if no listener is installed.
+   */
+  public static long start() {
+    return listener == null ? NOT_TRACED : System.nanoTime();
+  }
+
+  /**
+   * Reports the provision of {@code instance} that began at {@code start} and returns {@code
+   * instance}.
+   */
+  public static <T extends @Nullable Object> T end(
+      long start, T instance, String key, @Nullable String scope) {
+    @Nullable ProvisionListener local = listener;
+    if (local != null && start != NOT_TRACED) {
+      local.onProvision(key, scope, System.nanoTime() - start, Thread.currentThread());
+    }
+    return instance;
+  }
+
+  /** Returns a {@link Provider} that reports each provision from {@code delegate}. */
+  public static <T extends @Nullable Object> Provider<T> provider(
+      Provider<T> delegate, String key, @Nullable String scope) {
+    return new TracingProvider<>(checkNotNull(delegate), key, scope);
+  }
+
+  private static final class TracingProvider<T extends @Nullable Object> implements Provider<T> {
+    private final Provider<T> delegate;
+    private final String key;
+    private final @Nullable String scope;
+
+    TracingProvider(Provider<T> delegate, String key, @Nullable String scope) {
+      this.delegate = delegate;
+      this.key = key;
+      this.scope = scope;
+    }
+
+    @Override
+    public T get() {
+      return end(start(), delegate.get(), key, scope);
+    }
+  }
+
+  private ProvisionTracing() {}
+}
@@ -21,7 +21,6 @@ import static dagger.internal.Preconditions.checkNotNull;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -65,8 +64,11 @@ public final class SetBuilder<T> {
       return Collections.emptySet();
     } else if (contributions.size() == 1) {
       return Collections.singleton(contributions.get(0));
-    } else {
-      return Collections.unmodifiableSet(new HashSet<>(contributions));
     }
+    CompactSet.Builder<T> builder = CompactSet.builder(contributions.size());
+    for (int i = 0, c = contributions.size(); i < c; i++) {
+      builder.add(contributions.get(i));
+    }
+    return builder.build();
   }
 }
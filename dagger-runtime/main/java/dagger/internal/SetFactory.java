@@ -17,14 +17,11 @@
 package dagger.internal;
 
 import static dagger.internal.DaggerCollections.hasDuplicates;
-import static dagger.internal.DaggerCollections.newHashSetWithExpectedSize;
 import static dagger.internal.DaggerCollections.presizedList;
 import static dagger.internal.Preconditions.checkNotNull;
 import static dagger.internal.Providers.asDaggerProvider;
 import static java.util.Collections.emptySet;
-import static java.util.Collections.unmodifiableSet;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
@@ -129,29 +126,39 @@ public final class SetFactory<T extends @Nullable Object> implements Factory<Set
    */
   @Override
   public Set<T> get() {
-    int size = individualProviders.size();
+    int individualSize = individualProviders.size();
     // Profiling revealed that this method was a CPU-consuming hotspot in some applications, so
     // these loops were changed to use c-style for.  Versus enhanced for-each loops, C-style for is
     // faster for ArrayLists, at least through Java 8.
+    if (collectionProviders.isEmpty()) {
+      // The common case of only @IntoSet contributions: the final size is known up front, so the
+      // elements can be hashed directly into a presized CompactSet.
+      CompactSet.Builder<T> providedValues = CompactSet.builder(individualSize);
+      for (int i = 0; i < individualSize; i++) {
+        providedValues.add(checkNotNull(individualProviders.get(i).get()));
+      }
+      return providedValues.build();
+    }
 
-    List<Collection<T>> providedCollections =
-        new ArrayList<Collection<T>>(collectionProviders.size());
-    for (int i = 0, c = collectionProviders.size(); i < c; i++) {
+    int size = individualSize;
+    int collectionSize = collectionProviders.size();
+    @SuppressWarnings({"unchecked", "rawtypes"}) // only Collection<T> instances are stored
+    Collection<T>[] providedCollections = new Collection[collectionSize];
+    for (int i = 0; i < collectionSize; i++) {
       Collection<T> providedCollection = collectionProviders.get(i).get();
       size += providedCollection.size();
-      providedCollections.add(providedCollection);
+      providedCollections[i] = providedCollection;
     }
 
-    Set<T> providedValues = newHashSetWithExpectedSize(size);
-    for (int i = 0, c = individualProviders.size(); i < c; i++) {
+    CompactSet.Builder<T> providedValues = CompactSet.builder(size);
+    for (int i = 0; i < individualSize; i++) {
       providedValues.add(checkNotNull(individualProviders.get(i).get()));
     }
-    for (int i = 0, c = providedCollections.size(); i < c; i++) {
-      for (T element : providedCollections.get(i)) {
+    for (int i = 0; i < collectionSize; i++) {
+      for (T element : providedCollections[i]) {
         providedValues.add(checkNotNull(element));
       }
     }
-
-    return unmodifiableSet(providedValues);
+    return providedValues.build();
   }
 }
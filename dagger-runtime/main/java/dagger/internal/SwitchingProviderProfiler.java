@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.internal;
+
+import java.io.IOException;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the instances requested from the {@code SwitchingProvider}s of components generated with
+ * {@code -Adagger.switchingProviderProfiling=enabled}.
+ *
+ * <p>The profile written by {@link #writeTo} can be passed back to the compiler with {@code
+ * -Adagger.switchingProviderProfile=<path>}, so that the most requested keys are moved into the
+ * first switch of each {@code SwitchingProvider}.
+ */
+public final class SwitchingProviderProfiler {
+  private static final ConcurrentMap<String, AtomicLong> counts = new ConcurrentHashMap<>();
+
+  /** Records a request for an instance of {@code key}. */
+  public static void record(String key) {
+    AtomicLong count = counts.get(key);
+    if (count == null) {
+      AtomicLong newCount = new AtomicLong();
+      count = counts.putIfAbsent(key, newCount);
+      if (count == null) {
+        count = newCount;
+      }
+    }
+    count.incrementAndGet();
+  }
+
+  /**
+   * Writes the keys recorded so far to {@code out}, most requested first. Each line has the number
+   * of requests and the key, separated by a tab.
+   */
+  public static void writeTo(Appendable out) throws IOException {
+    List<Map.Entry<String, Long>> entries = new ArrayList<>(counts.size());
+    for (Map.Entry<String, AtomicLong> entry : counts.entrySet()) {
+      entries.add(new SimpleImmutableEntry<>(entry.getKey(), entry.getValue().get()));
+    }
+    Collections.sort(
+        entries,
+        new Comparator<Map.Entry<String, Long>>() {
+          @Override
+          public int compare(Map.Entry<String, Long> a, Map.Entry<String, Long> b) {
+            int byCount = b.getValue().compareTo(a.getValue());
+            return byCount != 0 ? byCount : a.getKey().compareTo(b.getKey());
+          }
+        });
+    for (Map.Entry<String, Long> entry : entries) {
+      out.append(entry.getValue().toString()).append('\t').append(entry.getKey()).append('\n');
+    }
+  }
+
+  /** Discards the requests recorded so far. */
+  public static void reset() {
+    counts.clear();
+  }
+
+  private SwitchingProviderProfiler() {}
+}
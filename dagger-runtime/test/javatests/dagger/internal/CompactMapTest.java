@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.internal;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class CompactMapTest {
+  @Test
+  public void copyOf_empty() {
+    Map<String, String> map = CompactMap.copyOf(new HashMap<String, String>());
+    assertThat(map).isEmpty();
+    assertThat(map.get("a")).isNull();
+  }
+
+  @Test
+  public void copyOf_preservesIterationOrder() {
+    Map<String, Integer> source = new LinkedHashMap<>();
+    source.put("c", 3);
+    source.put("a", 1);
+    source.put("b", 2);
+    Map<String, Integer> map = CompactMap.copyOf(source);
+    assertThat(map).containsExactly("c", 3, "a", 1, "b", 2).inOrder();
+    assertThat(map).isEqualTo(source);
+    assertThat(map.hashCode()).isEqualTo(source.hashCode());
+  }
+
+  @Test
+  public void get_objectKeys() {
+    Map<Object, Integer> source = new LinkedHashMap<>();
+    for (int i = 0; i < 100; i++) {
+      source.put("key" + i, i);
+    }
+    source.put(Object.class, -1);
+    Map<Object, Integer> map = CompactMap.copyOf(source);
+    for (int i = 0; i < 100; i++) {
+      assertThat(map.get("key" + i)).isEqualTo(i);
+    }
+    assertThat(map.get(Object.class)).isEqualTo(-1);
+    assertThat(map.get("missing")).isNull();
+    assertThat(map.get(null)).isNull();
+    assertThat(map.containsKey("key42")).isTrue();
+    assertThat(map.containsKey("key100")).isFalse();
+  }
+
+  @Test
+  public void get_intKeys() {
+    Map<Integer, String> source = new LinkedHashMap<>();
+    source.put(0, "zero");
+    source.put(-1, "minus one");
+    source.put(1 << 16, "2^16");
+    source.put(Integer.MAX_VALUE, "max");
+    Map<Integer, String> map = CompactMap.copyOf(source);
+    assertThat(map.get(0)).isEqualTo("zero");
+    assertThat(map.get(-1)).isEqualTo("minus one");
+    assertThat(map.get(1 << 16)).isEqualTo("2^16");
+    assertThat(map.get(Integer.MAX_VALUE)).isEqualTo("max");
+    assertThat(map.get(1)).isNull();
+    assertThat(map.get(0L)).isNull();
+    assertThat(map.get("0")).isNull();
+  }
+
+  @Test
+  public void get_longKeys() {
+    Map<Long, String> source = new LinkedHashMap<>();
+    source.put(0L, "zero");
+    source.put(1L << 32, "2^32");
+    source.put(Long.MIN_VALUE, "min");
+    Map<Long, String> map = CompactMap.copyOf(source);
+    assertThat(map.get(0L)).isEqualTo("zero");
+    assertThat(map.get(1L << 32)).isEqualTo("2^32");
+    assertThat(map.get(Long.MIN_VALUE)).isEqualTo("min");
+    assertThat(map.get(1L)).isNull();
+    assertThat(map.get(0)).isNull();
+  }
+
+  @Test
+  public void immutable() {
+    Map<String, Integer> source = new LinkedHashMap<>();
+    source.put("a", 1);
+    Map<String, Integer> map = CompactMap.copyOf(source);
+    try {
+      map.put("b", 2);
+      throw new AssertionError();
+    } catch (UnsupportedOperationException expected) {
+    }
+    try {
+      map.entrySet().iterator().next().setValue(2);
+      throw new AssertionError();
+    } catch (UnsupportedOperationException expected) {
+    }
+  }
+
+  @Test
+  public void mapFactory_sharesKeysAcrossCalls() {
+    AtomicInteger value = new AtomicInteger();
+    MapFactory<Integer, Integer> factory =
+        MapFactory.<Integer, Integer>builder(2)
+            .put(1, value::incrementAndGet)
+            .put(2, value::incrementAndGet)
+            .build();
+    Map<Integer, Integer> first = factory.get();
+    Map<Integer, Integer> second = factory.get();
+    assertThat(first).containsExactly(1, 1, 2, 2).inOrder();
+    assertThat(second).containsExactly(1, 3, 2, 4).inOrder();
+    assertThat(((CompactMap<Integer, Integer>) first).keyIndex())
+        .isSameInstanceAs(((CompactMap<Integer, Integer>) second).keyIndex());
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.internal;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class CompactSetTest {
+  @Test
+  public void build_empty() {
+    assertThat(CompactSet.<String>builder(0).build()).isEmpty();
+  }
+
+  @Test
+  public void build_preservesInsertionOrder() {
+    Set<String> set = CompactSet.<String>builder(3).add("c").add("a").add("b").build();
+    assertThat(set).containsExactly("c", "a", "b").inOrder();
+  }
+
+  @Test
+  public void build_ignoresDuplicates() {
+    Set<Integer> set = CompactSet.<Integer>builder(4).add(1).add(2).add(1).add(2).build();
+    assertThat(set).containsExactly(1, 2).inOrder();
+    assertThat(set).hasSize(2);
+  }
+
+  @Test
+  public void build_moreElementsThanExpected() {
+    CompactSet.Builder<Integer> builder = CompactSet.builder(1);
+    Set<Integer> expected = new HashSet<>();
+    for (int i = 0; i < 1000; i++) {
+      builder.add(i);
+      expected.add(i);
+    }
+    Set<Integer> set = builder.build();
+    assertThat(set).isEqualTo(expected);
+    assertThat(expected).isEqualTo(set);
+    assertThat(set.hashCode()).isEqualTo(expected.hashCode());
+  }
+
+  @Test
+  public void contains_collidingHashCodes() {
+    Set<CollidingKey> set =
+        CompactSet.<CollidingKey>builder(3)
+            .add(new CollidingKey("a"))
+            .add(new CollidingKey("b"))
+            .add(new CollidingKey("c"))
+            .build();
+    assertThat(set.contains(new CollidingKey("b"))).isTrue();
+    assertThat(set.contains(new CollidingKey("d"))).isFalse();
+    assertThat(set.contains(null)).isFalse();
+  }
+
+  @Test
+  public void immutable() {
+    Set<String> set = CompactSet.<String>builder(2).add("a").add("b").build();
+    try {
+      set.add("c");
+      fail();
+    } catch (UnsupportedOperationException expected) {
+    }
+    Iterator<String> iterator = set.iterator();
+    iterator.next();
+    try {
+      iterator.remove();
+      fail();
+    } catch (UnsupportedOperationException expected) {
+    }
+  }
+
+  private static final class CollidingKey {
+    private final String name;
+
+    CollidingKey(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof CollidingKey && ((CollidingKey) o).name.equals(name);
+    }
+
+    @Override
+    public int hashCode() {
+      return 42;
+    }
+  }
+}
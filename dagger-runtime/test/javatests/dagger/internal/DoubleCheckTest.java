@@ -56,6 +56,32 @@ public class DoubleCheckTest {
     }
   }
 
+  @Test
+  public void getIfInitialized_doesNotInitialize() {
+    AtomicInteger calls = new AtomicInteger();
+    Provider<Object> provider = DoubleCheck.provider(() -> calls.incrementAndGet());
+    assertThat(DoubleCheck.getIfInitialized(provider)).isNull();
+    assertThat(calls.get()).isEqualTo(0);
+
+    Object value = provider.get();
+    assertThat(DoubleCheck.getIfInitialized(provider)).isSameInstanceAs(value);
+    assertThat(calls.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void getIfInitialized_lockFreeDoubleCheck() {
+    Provider<Object> provider = LockFreeDoubleCheck.provider(Object::new);
+    assertThat(DoubleCheck.getIfInitialized(provider)).isNull();
+
+    Object value = provider.get();
+    assertThat(DoubleCheck.getIfInitialized(provider)).isSameInstanceAs(value);
+  }
+
+  @Test
+  public void getIfInitialized_unscopedProvider() {
+    assertThat(DoubleCheck.getIfInitialized((Provider<Object>) Object::new)).isNull();
+  }
+
   private static final Provider<Object> DOUBLE_CHECK_OBJECT_PROVIDER =
       DoubleCheck.provider(Object::new);
 
@@ -0,0 +1,267 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.internal;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Uninterruptibles;
+import dagger.Lazy;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class LockFreeDoubleCheckTest {
+  @Test
+  public void provider_nullPointerException() {
+    try {
+      LockFreeDoubleCheck.provider(null);
+      fail();
+    } catch (NullPointerException expected) {
+    }
+  }
+
+  @Test
+  public void lazy_nullPointerException() {
+    try {
+      LockFreeDoubleCheck.lazy(null);
+      fail();
+    } catch (NullPointerException expected) {
+    }
+  }
+
+  @Test
+  public void doubleWrapping_provider() {
+    Provider<Object> lockFreeDoubleCheck = LockFreeDoubleCheck.provider(Object::new);
+    assertThat(LockFreeDoubleCheck.provider(lockFreeDoubleCheck))
+        .isSameInstanceAs(lockFreeDoubleCheck);
+    assertThat(DoubleCheck.provider(lockFreeDoubleCheck)).isSameInstanceAs(lockFreeDoubleCheck);
+    assertThat(SingleCheck.provider(lockFreeDoubleCheck)).isSameInstanceAs(lockFreeDoubleCheck);
+  }
+
+  @Test
+  public void doubleWrapping_doubleCheck() {
+    Provider<Object> doubleCheck = DoubleCheck.provider(Object::new);
+    assertThat(LockFreeDoubleCheck.provider(doubleCheck)).isSameInstanceAs(doubleCheck);
+  }
+
+  @Test
+  public void doubleWrapping_lazy() {
+    Provider<Object> lockFreeDoubleCheck = LockFreeDoubleCheck.provider(Object::new);
+    assertThat(LockFreeDoubleCheck.lazy(lockFreeDoubleCheck)).isSameInstanceAs(lockFreeDoubleCheck);
+  }
+
+  @Test
+  public void get() throws Exception {
+    int numThreads = 10;
+    ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+
+    final CountDownLatch latch = new CountDownLatch(numThreads);
+    LatchedProvider provider = new LatchedProvider(latch);
+    final Lazy<Object> lazy = LockFreeDoubleCheck.lazy(provider);
+
+    List<Callable<Object>> tasks = Lists.newArrayListWithCapacity(numThreads);
+    for (int i = 0; i < numThreads; i++) {
+      tasks.add(
+          () -> {
+            latch.countDown();
+            return lazy.get();
+          });
+    }
+
+    List<Future<Object>> futures = executor.invokeAll(tasks);
+
+    assertThat(provider.provisions.get()).isEqualTo(1);
+    Set<Object> results = Sets.newIdentityHashSet();
+    for (Future<Object> future : futures) {
+      results.add(future.get());
+    }
+    assertThat(results).hasSize(1);
+  }
+
+  @Test
+  public void get_waitingThreadsObserveInitializedValue() throws Exception {
+    int numThreads = 10;
+    ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+
+    CountDownLatch initializing = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Object instance = new Object();
+    Provider<Object> lockFreeDoubleCheck =
+        LockFreeDoubleCheck.provider(
+            () -> {
+              initializing.countDown();
+              Uninterruptibles.awaitUninterruptibly(release);
+              return instance;
+            });
+
+    Future<Object> initializer = executor.submit(lockFreeDoubleCheck::get);
+    initializing.await();
+    List<Future<Object>> waiters = Lists.newArrayList();
+    for (int i = 1; i < numThreads; i++) {
+      waiters.add(executor.submit(lockFreeDoubleCheck::get));
+    }
+    release.countDown();
+
+    assertThat(initializer.get()).isSameInstanceAs(instance);
+    for (Future<Object> waiter : waiters) {
+      assertThat(waiter.get()).isSameInstanceAs(instance);
+    }
+  }
+
+  @Test
+  public void get_waitingThreadsParkInsteadOfBlockingOnMonitor() throws Exception {
+    CountDownLatch initializing = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Provider<Object> lockFreeDoubleCheck =
+        LockFreeDoubleCheck.provider(
+            () -> {
+              initializing.countDown();
+              Uninterruptibles.awaitUninterruptibly(release);
+              return new Object();
+            });
+
+    Thread initializer = new Thread(lockFreeDoubleCheck::get);
+    initializer.start();
+    initializing.await();
+    Thread waiter = new Thread(lockFreeDoubleCheck::get);
+    waiter.start();
+
+    // A thread blocked on a monitor would be BLOCKED, and would pin the carrier of a virtual thread.
+    Thread.State state = waiter.getState();
+    while (state == Thread.State.NEW || state == Thread.State.RUNNABLE) {
+      Thread.yield();
+      state = waiter.getState();
+    }
+    assertThat(state).isEqualTo(Thread.State.WAITING);
+
+    release.countDown();
+    initializer.join();
+    waiter.join();
+  }
+
+  @Test
+  public void providerOfLazy_createLockFree() {
+    Provider<Lazy<Object>> providerOfLazy = ProviderOfLazy.createLockFree(Object::new);
+    Lazy<Object> lazy = providerOfLazy.get();
+    assertThat(lazy).isInstanceOf(LockFreeDoubleCheck.class);
+    assertThat(lazy.get()).isSameInstanceAs(lazy.get());
+    assertThat(providerOfLazy.get()).isNotSameInstanceAs(lazy);
+  }
+
+  private static class LatchedProvider implements Provider<Object> {
+    final AtomicInteger provisions;
+    final CountDownLatch latch;
+
+    LatchedProvider(CountDownLatch latch) {
+      this.latch = latch;
+      this.provisions = new AtomicInteger();
+    }
+
+    @Override
+    public Object get() {
+      if (latch != null) {
+        Uninterruptibles.awaitUninterruptibly(latch);
+      }
+      provisions.incrementAndGet();
+      return new Object();
+    }
+  }
+
+  @Test
+  public void exceptionDuringInitialization_retries() {
+    final AtomicInteger invocationCount = new AtomicInteger();
+    final Object object = new Object();
+    Provider<Object> lockFreeDoubleCheck =
+        LockFreeDoubleCheck.provider(
+            () -> {
+              if (invocationCount.incrementAndGet() == 1) {
+                throw new UnsupportedOperationException();
+              }
+              return object;
+            });
+    try {
+      lockFreeDoubleCheck.get();
+      fail();
+    } catch (UnsupportedOperationException expected) {}
+    assertThat(lockFreeDoubleCheck.get()).isSameInstanceAs(object);
+    assertThat(lockFreeDoubleCheck.get()).isSameInstanceAs(object);
+    assertThat(invocationCount.get()).isEqualTo(2);
+  }
+
+  @Test public void reentranceWithoutCondition_throwsStackOverflow() {
+    final AtomicReference<Provider<Object>> doubleCheckReference =
+        new AtomicReference<>();
+    Provider<Object> doubleCheck =
+        LockFreeDoubleCheck.provider(() -> doubleCheckReference.get().get());
+    doubleCheckReference.set(doubleCheck);
+    try {
+      doubleCheck.get();
+      fail();
+    } catch (StackOverflowError expected) {}
+  }
+
+  @Test public void reentranceReturningSameInstance() {
+    final AtomicReference<Provider<Object>> doubleCheckReference =
+        new AtomicReference<>();
+    final AtomicInteger invocationCount = new AtomicInteger();
+    final Object object = new Object();
+    Provider<Object> doubleCheck = LockFreeDoubleCheck.provider(() -> {
+        if (invocationCount.incrementAndGet() == 1) {
+         doubleCheckReference.get().get();
+       }
+       return object;
+     });
+    doubleCheckReference.set(doubleCheck);
+    assertThat(doubleCheck.get()).isSameInstanceAs(object);
+  }
+
+  @Test public void reentranceReturningDifferentInstances_throwsIllegalStateException() {
+    final AtomicReference<Provider<Object>> doubleCheckReference =
+        new AtomicReference<>();
+    final AtomicInteger invocationCount = new AtomicInteger();
+    Provider<Object> doubleCheck = LockFreeDoubleCheck.provider(() -> {
+       if (invocationCount.incrementAndGet() == 1) {
+         doubleCheckReference.get().get();
+       }
+       return new Object();
+     });
+    doubleCheckReference.set(doubleCheck);
+    try {
+      doubleCheck.get();
+      fail();
+    } catch (IllegalStateException expected) {}
+  }
+
+  @Test
+  public void instanceFactoryAsLazyDoesNotWrap() {
+    Factory<Object> factory = InstanceFactory.create(new Object());
+    assertThat(LockFreeDoubleCheck.lazy(factory)).isSameInstanceAs(factory);
+  }
+}
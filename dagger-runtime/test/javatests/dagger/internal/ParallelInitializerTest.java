@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.internal;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests {@link ParallelInitializer}. */
+@RunWith(JUnit4.class)
+public class ParallelInitializerTest {
+  @Test(expected = NullPointerException.class)
+  public void initialize_nullExecutor() {
+    ParallelInitializer.initialize(null, new int[][][] {}, id -> {});
+  }
+
+  @Test
+  public void initialize_wavesRunInOrder() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Integer> initialized = Collections.synchronizedList(new ArrayList<>());
+      ParallelInitializer.initialize(
+          executor,
+          new int[][][] {{{0}, {1}, {2}}, {{3}, {4}}, {{5}}},
+          initialized::add);
+      assertThat(initialized).hasSize(6);
+      assertThat(initialized.subList(0, 3)).containsExactly(0, 1, 2);
+      assertThat(initialized.subList(3, 5)).containsExactly(3, 4);
+      assertThat(initialized.get(5)).isEqualTo(5);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void initialize_taskRunsSerially() {
+    List<Integer> initialized = new ArrayList<>();
+    ParallelInitializer.initialize(
+        Runnable::run, new int[][][] {{{2, 0, 1}}, {{3}, {4}}}, initialized::add);
+    assertThat(initialized).containsExactly(2, 0, 1, 3, 4).inOrder();
+  }
+
+  @Test
+  public void initialize_singleTaskWaveRunsOnCallingThread() {
+    Executor failingExecutor =
+        runnable -> {
+          throw new AssertionError("should not be called");
+        };
+    List<Thread> threads = new ArrayList<>();
+    ParallelInitializer.initialize(
+        failingExecutor, new int[][][] {{{0, 1}}}, id -> threads.add(Thread.currentThread()));
+    assertThat(threads).containsExactly(Thread.currentThread(), Thread.currentThread());
+  }
+
+  @Test
+  public void initialize_rejectedTasksRunOnCallingThread() {
+    Executor rejectingExecutor =
+        runnable -> {
+          throw new RejectedExecutionException();
+        };
+    List<Integer> initialized = new ArrayList<>();
+    ParallelInitializer.initialize(
+        rejectingExecutor, new int[][][] {{{0}, {1}}}, initialized::add);
+    assertThat(initialized).containsExactly(0, 1).inOrder();
+  }
+
+  @Test
+  public void initialize_failureStopsLaterWaves() {
+    List<Integer> initialized = new ArrayList<>();
+    IllegalStateException exception = new IllegalStateException();
+    try {
+      ParallelInitializer.initialize(
+          Runnable::run,
+          new int[][][] {{{0}, {1}}, {{2}}},
+          id -> {
+            if (id == 0) {
+              throw exception;
+            }
+            initialized.add(id);
+          });
+      fail();
+    } catch (IllegalStateException expected) {
+      assertThat(expected).isSameInstanceAs(exception);
+    }
+    assertThat(initialized).containsExactly(1);
+  }
+}
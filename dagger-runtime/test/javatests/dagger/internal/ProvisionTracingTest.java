@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.internal;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests {@link ProvisionTracing}. */
+@RunWith(JUnit4.class)
+public class ProvisionTracingTest {
+  private final List<String> provisions = new ArrayList<>();
+  private final List<Thread> threads = new ArrayList<>();
+
+  private final ProvisionListener listener =
+      (key, scope, nanos, thread) -> {
+        assertThat(nanos).isAtLeast(0L);
+        provisions.add(key + " " + scope);
+        threads.add(thread);
+      };
+
+  @After
+  public void uninstallListener() {
+    ProvisionTracing.setListener(null);
+  }
+
+  @Test
+  public void end_noListener_returnsInstance() {
+    Object instance = new Object();
+    assertThat(ProvisionTracing.start()).isEqualTo(ProvisionTracing.NOT_TRACED);
+    assertThat(ProvisionTracing.end(ProvisionTracing.start(), instance, "key", null))
+        .isSameInstanceAs(instance);
+    assertThat(provisions).isEmpty();
+  }
+
+  @Test
+  public void end_reportsProvision() {
+    ProvisionTracing.setListener(listener);
+    Object instance = new Object();
+    assertThat(ProvisionTracing.end(ProvisionTracing.start(), instance, "Foo", "@Singleton"))
+        .isSameInstanceAs(instance);
+    assertThat(provisions).containsExactly("Foo @Singleton");
+    assertThat(threads).containsExactly(Thread.currentThread());
+  }
+
+  @Test
+  public void end_startAtZero_reportsProvision() {
+    // System.nanoTime() may legitimately return 0, so 0 isn't treated as untraced.
+    ProvisionTracing.setListener(listener);
+    ProvisionTracing.end(0L, new Object(), "Foo", null);
+    assertThat(provisions).containsExactly("Foo null");
+  }
+
+  @Test
+  public void end_listenerInstalledAfterStart_notReported() {
+    long start = ProvisionTracing.start();
+    ProvisionTracing.setListener(listener);
+    ProvisionTracing.end(start, new Object(), "Foo", null);
+    assertThat(provisions).isEmpty();
+  }
+
+  @Test
+  public void provider_reportsEachProvision() {
+    ProvisionTracing.setListener(listener);
+    Provider<String> provider = ProvisionTracing.provider(() -> "value", "Foo", null);
+    assertThat(provider.get()).isEqualTo("value");
+    assertThat(provider.get()).isEqualTo("value");
+    assertThat(provisions).containsExactly("Foo null", "Foo null");
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void provider_nullDelegate() {
+    ProvisionTracing.provider(null, "Foo", null);
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.internal;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests {@link SwitchingProviderProfiler}. */
+@RunWith(JUnit4.class)
+public class SwitchingProviderProfilerTest {
+  @After
+  public void reset() {
+    SwitchingProviderProfiler.reset();
+  }
+
+  @Test
+  public void writeTo_mostRequestedFirst() throws Exception {
+    SwitchingProviderProfiler.record("Foo");
+    SwitchingProviderProfiler.record("Bar");
+    SwitchingProviderProfiler.record("Bar");
+    SwitchingProviderProfiler.record("Baz");
+
+    StringBuilder profile = new StringBuilder();
+    SwitchingProviderProfiler.writeTo(profile);
+    assertThat(profile.toString()).isEqualTo("2\tBar\n1\tBaz\n1\tFoo\n");
+  }
+
+  @Test
+  public void reset_discardsRequests() throws Exception {
+    SwitchingProviderProfiler.record("Foo");
+    SwitchingProviderProfiler.reset();
+
+    StringBuilder profile = new StringBuilder();
+    SwitchingProviderProfiler.writeTo(profile);
+    assertThat(profile.toString()).isEmpty();
+  }
+}
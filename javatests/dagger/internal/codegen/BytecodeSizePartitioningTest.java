@@ -0,0 +1,246 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.internal.codegen;
+
+import static com.google.common.truth.Truth.assertWithMessage;
+import static com.google.testing.compile.CompilationSubject.assertThat;
+import static dagger.internal.codegen.Compilers.compilerWithOptions;
+import static dagger.internal.codegen.extension.DaggerStreams.toImmutableList;
+
+import androidx.room.compiler.processing.util.Source;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.ByteStreams;
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.JavaFileObjects;
+import dagger.testing.compile.CompilerTests;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import javax.tools.JavaFileObject;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class BytecodeSizePartitioningTest {
+  /** HotSpot doesn't JIT-compile methods larger than this many bytes ({@code HugeMethodLimit}). */
+  private static final int HUGE_METHOD_LIMIT = 8000;
+
+  private static final ImmutableMap<String, String> PROCESSOR_OPTIONS =
+      ImmutableMap.<String, String>builder()
+          .putAll(CompilerMode.FAST_INIT_MODE.processorOptions())
+          .put("dagger.bytecodeSizePartitioning", "enabled")
+          .buildOrThrow();
+
+  @Test
+  public void switchingProvidersArePartitionedBySize() {
+    ImmutableList.Builder<Source> sources = ImmutableList.builder();
+    ImmutableList.Builder<String> entryPoints = ImmutableList.builder();
+    for (int i = 0; i < 300; i++) {
+      sources.add(binding("Foo" + i));
+      entryPoints.add("Foo" + i + " foo" + i + "();");
+    }
+    sources.add(component(entryPoints.build()));
+    CompilerTests.daggerCompiler(sources.build())
+        .withProcessingOptions(PROCESSOR_OPTIONS)
+        .compile(
+            subject -> {
+              subject.hasErrorCount(0);
+              subject
+                  .generatedSourceFileWithPath("dagger/internal/codegen/DaggerTestComponent.java")
+                  .contains("if (id < ");
+              subject
+                  .generatedSourceFileWithPath("dagger/internal/codegen/DaggerTestComponent.java")
+                  .doesNotContain("switch (id / 100)");
+            });
+  }
+
+  @Test
+  public void generatedMethodsAreUnderHugeMethodLimit() throws IOException {
+    // Each binding depends on the previous five, so 100 of its switch cases are over the limit.
+    ImmutableList.Builder<JavaFileObject> sources = ImmutableList.builder();
+    ImmutableList.Builder<String> entryPoints = ImmutableList.builder();
+    for (int i = 0; i < 300; i++) {
+      ImmutableList.Builder<String> dependencies = ImmutableList.builder();
+      for (int j = Math.max(0, i - 5); j < i; j++) {
+        dependencies.add("Foo" + j + " foo" + j);
+      }
+      sources.add(
+          JavaFileObjects.forSourceLines(
+              "test.Foo" + i,
+              "package test;",
+              "",
+              "import javax.inject.Inject;",
+              "import javax.inject.Singleton;",
+              "",
+              "@Singleton",
+              "final class Foo" + i + " {",
+              "  @Inject Foo" + i + "(" + String.join(", ", dependencies.build()) + ") {}",
+              "}"));
+      entryPoints.add("Foo" + i + " foo" + i + "();");
+    }
+    sources.add(
+        JavaFileObjects.forSourceLines(
+            "test.TestComponent",
+            ImmutableList.<String>builder()
+                .add(
+                    "package test;",
+                    "",
+                    "import dagger.Component;",
+                    "import javax.inject.Singleton;",
+                    "",
+                    "@Singleton",
+                    "@Component",
+                    "interface TestComponent {")
+                .addAll(entryPoints.build())
+                .add("}")
+                .build()));
+    Compilation compilation =
+        compilerWithOptions(
+                CompilerMode.FAST_INIT_MODE
+                    .javacopts()
+                    .append("-Adagger.bytecodeSizePartitioning=enabled"))
+            .compile(sources.build());
+    assertThat(compilation).succeeded();
+
+    ImmutableList<JavaFileObject> componentClasses =
+        compilation.generatedFiles().stream()
+            .filter(file -> file.getKind() == JavaFileObject.Kind.CLASS)
+            .filter(file -> file.getName().contains("DaggerTestComponent"))
+            .collect(toImmutableList());
+    assertWithMessage("generated component classes").that(componentClasses).isNotEmpty();
+    for (JavaFileObject componentClass : componentClasses) {
+      try (InputStream in = componentClass.openInputStream()) {
+        codeLengths(ByteStreams.toByteArray(in))
+            .forEach(
+                (method, codeLength) ->
+                    assertWithMessage("%s.%s", componentClass.getName(), method)
+                        .that(codeLength)
+                        .isLessThan(HUGE_METHOD_LIMIT));
+      }
+    }
+  }
+
+  /** Returns the length of the code of each method in {@code classFile}, by method name. */
+  private static ImmutableMap<String, Integer> codeLengths(byte[] classFile) throws IOException {
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(classFile));
+    in.skipBytes(8); // magic, minor_version, major_version
+    int constantPoolCount = in.readUnsignedShort();
+    String[] utf8Constants = new String[constantPoolCount];
+    for (int i = 1; i < constantPoolCount; i++) {
+      int tag = in.readUnsignedByte();
+      switch (tag) {
+        case 1: // Utf8
+          utf8Constants[i] = in.readUTF();
+          break;
+        case 7: // Class
+        case 8: // String
+        case 16: // MethodType
+        case 19: // Module
+        case 20: // Package
+          in.skipBytes(2);
+          break;
+        case 15: // MethodHandle
+          in.skipBytes(3);
+          break;
+        case 3: // Integer
+        case 4: // Float
+        case 9: // Fieldref
+        case 10: // Methodref
+        case 11: // InterfaceMethodref
+        case 12: // NameAndType
+        case 17: // Dynamic
+        case 18: // InvokeDynamic
+          in.skipBytes(4);
+          break;
+        case 5: // Long
+        case 6: // Double
+          in.skipBytes(8);
+          i++; // These take two entries in the constant pool.
+          break;
+        default:
+          throw new IOException("Unknown constant pool tag: " + tag);
+      }
+    }
+    in.skipBytes(6); // access_flags, this_class, super_class
+    in.skipBytes(2 * in.readUnsignedShort()); // interfaces
+    int fieldsCount = in.readUnsignedShort();
+    for (int i = 0; i < fieldsCount; i++) {
+      in.skipBytes(6); // access_flags, name_index, descriptor_index
+      int attributesCount = in.readUnsignedShort();
+      for (int j = 0; j < attributesCount; j++) {
+        in.skipBytes(2);
+        in.skipBytes(in.readInt());
+      }
+    }
+    ImmutableMap.Builder<String, Integer> codeLengths = ImmutableMap.builder();
+    int methodsCount = in.readUnsignedShort();
+    for (int i = 0; i < methodsCount; i++) {
+      in.skipBytes(2); // access_flags
+      String name = utf8Constants[in.readUnsignedShort()];
+      String descriptor = utf8Constants[in.readUnsignedShort()];
+      int attributesCount = in.readUnsignedShort();
+      for (int j = 0; j < attributesCount; j++) {
+        String attributeName = utf8Constants[in.readUnsignedShort()];
+        int attributeLength = in.readInt();
+        if (attributeName.equals("Code")) {
+          in.skipBytes(4); // max_stack, max_locals
+          codeLengths.put(name + descriptor, in.readInt());
+          in.skipBytes(attributeLength - 8);
+        } else {
+          in.skipBytes(attributeLength);
+        }
+      }
+    }
+    return codeLengths.buildOrThrow();
+  }
+
+  private static Source binding(String name) {
+    return CompilerTests.javaSource(
+        "dagger.internal.codegen." + name,
+        "package dagger.internal.codegen;",
+        "",
+        "import javax.inject.Inject;",
+        "import javax.inject.Singleton;",
+        "",
+        "@Singleton",
+        "final class " + name + " {",
+        "  @Inject " + name + "() {}",
+        "}");
+  }
+
+  private static Source component(ImmutableList<String> entryPoints) {
+    return CompilerTests.javaSource(
+        "dagger.internal.codegen.TestComponent",
+        ImmutableList.<String>builder()
+            .add(
+                "package dagger.internal.codegen;",
+                "",
+                "import dagger.Component;",
+                "import javax.inject.Singleton;",
+                "",
+                "@Singleton",
+                "@Component",
+                "interface TestComponent {")
+            .addAll(entryPoints)
+            .add("}")
+            .build()
+            .toArray(new String[0]));
+  }
+}
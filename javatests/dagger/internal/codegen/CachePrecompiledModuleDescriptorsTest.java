@@ -0,0 +1,301 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.internal.codegen;
+
+import static androidx.room.compiler.codegen.compat.XConverters.toJavaPoet;
+import static androidx.room.compiler.processing.compat.XConverters.toJavac;
+import static com.google.common.truth.Truth.assertThat;
+
+import androidx.room.compiler.processing.XElement;
+import androidx.room.compiler.processing.XProcessingEnv;
+import androidx.room.compiler.processing.XProcessingStep;
+import androidx.room.compiler.processing.util.Source;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeSpec;
+import dagger.BindsInstance;
+import dagger.Component;
+import dagger.internal.codegen.binding.ModuleDescriptor;
+import dagger.internal.codegen.xprocessing.XTypeNames;
+import dagger.testing.compile.CompilerTests;
+import java.io.File;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.inject.Singleton;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class CachePrecompiledModuleDescriptorsTest {
+  @Parameters(name = "{0}")
+  public static ImmutableList<Object[]> parameters() {
+    return CompilerMode.TEST_PARAMETERS;
+  }
+
+  private static final Source COMPONENT =
+      CompilerTests.javaSource(
+          "test.TestComponent",
+          "package test;",
+          "",
+          "import dagger.Component;",
+          "import library.Foo;",
+          "import library.FooModule;",
+          "",
+          "@Component(modules = FooModule.class)",
+          "interface TestComponent {",
+          "  Foo foo();",
+          "}");
+
+  private static final Source SIBLING_COMPONENT =
+      CompilerTests.javaSource(
+          "test.SiblingComponent",
+          "package test;",
+          "",
+          "import dagger.Component;",
+          "import library.Foo;",
+          "import library.FooModule;",
+          "",
+          "@Component(modules = FooModule.class)",
+          "interface SiblingComponent {",
+          "  Foo foo();",
+          "}");
+
+  // Generated in the first round, so the component that depends on it is processed in the second.
+  private static final TypeSpec GENERATED_TYPE =
+      TypeSpec.classBuilder("GeneratedType")
+          .addMethod(
+              MethodSpec.constructorBuilder()
+                  .addAnnotation(toJavaPoet(XTypeNames.INJECT_JAVAX))
+                  .build())
+          .build();
+
+  private static final Source GENERATED_TYPE_COMPONENT =
+      CompilerTests.javaSource(
+          "test.TestComponent",
+          "package test;",
+          "",
+          "import dagger.Component;",
+          "import library.Foo;",
+          "import library.FooModule;",
+          "",
+          "@Component(modules = {FooModule.class, SourceModule.class})",
+          "interface TestComponent {",
+          "  Foo foo();",
+          "  String string();",
+          "  GeneratedType generatedType();",
+          "}");
+
+  private static final Source SOURCE_MODULE =
+      CompilerTests.javaSource(
+          "test.SourceModule",
+          "package test;",
+          "",
+          "import dagger.Module;",
+          "import dagger.Provides;",
+          "",
+          "@Module",
+          "final class SourceModule {",
+          "  @Provides",
+          "  static String string() {",
+          "    return \"string\";",
+          "  }",
+          "}");
+
+  private final CompilerMode compilerMode;
+
+  public CachePrecompiledModuleDescriptorsTest(CompilerMode compilerMode) {
+    this.compilerMode = compilerMode;
+  }
+
+  @Test
+  public void precompiledModule() {
+    CompilerTests.daggerCompiler(COMPONENT, SIBLING_COMPONENT)
+        .withProcessingOptions(processingOptions())
+        .withAdditionalClasspath(library())
+        .compile(
+            subject -> {
+              subject.hasErrorCount(0);
+              subject
+                  .generatedSourceFileWithPath("test/DaggerTestComponent.java")
+                  .contains("FooImpl");
+              subject
+                  .generatedSourceFileWithPath("test/DaggerSiblingComponent.java")
+                  .contains("FooImpl");
+            });
+  }
+
+  @Test
+  public void multipleRounds_reusesPrecompiledModuleDescriptor() {
+    CompilerTests.daggerCompiler(GENERATED_TYPE_COMPONENT, SOURCE_MODULE)
+        .withProcessingOptions(processingOptions())
+        .withAdditionalClasspath(library())
+        .withProcessingSteps(
+            () -> new GeneratingProcessingStep("test", GENERATED_TYPE),
+            () -> new ModuleDescriptorStep(/* wrapProcessingEnv= */ false))
+        .compile(
+            subject -> {
+              subject.hasErrorCount(0);
+              subject
+                  .generatedSourceFileWithPath("test/DaggerTestComponent.java")
+                  .contains("FooImpl");
+              subject
+                  .generatedSourceFileWithPath("test/DaggerTestComponent.java")
+                  .contains("GeneratedType");
+            });
+  }
+
+  @Test
+  public void multipleRounds_wrappedProcessingEnv_clearsAllModuleDescriptors() {
+    CompilerTests.daggerCompiler(GENERATED_TYPE_COMPONENT, SOURCE_MODULE)
+        .withProcessingOptions(processingOptions())
+        .withAdditionalClasspath(library())
+        .withProcessingSteps(
+            () -> new GeneratingProcessingStep("test", GENERATED_TYPE),
+            () -> new ModuleDescriptorStep(/* wrapProcessingEnv= */ true))
+        .compile(subject -> subject.hasErrorCount(0));
+  }
+
+  private ImmutableMap<String, String> processingOptions() {
+    return ImmutableMap.<String, String>builder()
+        .putAll(compilerMode.processorOptions())
+        .put("dagger.cachePrecompiledModuleDescriptors", "enabled")
+        .buildOrThrow();
+  }
+
+  private static ImmutableList<File> library() {
+    return CompilerTests.libraryCompiler(
+            CompilerTests.javaSource(
+                "library.Foo",
+                "package library;",
+                "",
+                "public interface Foo {}"),
+            CompilerTests.javaSource(
+                "library.FooImpl",
+                "package library;",
+                "",
+                "import javax.inject.Inject;",
+                "",
+                "public final class FooImpl implements Foo {",
+                "  @Inject FooImpl() {}",
+                "}"),
+            CompilerTests.javaSource(
+                "library.FooModule",
+                "package library;",
+                "",
+                "import dagger.Binds;",
+                "import dagger.Module;",
+                "",
+                "@Module",
+                "public interface FooModule {",
+                "  @Binds Foo foo(FooImpl impl);",
+                "}"))
+        .compile();
+  }
+
+  /**
+   * Creates the descriptors of {@code library.FooModule} and {@code test.SourceModule} in each
+   * round, clearing the cache between rounds as the processor does, and checks which of them were
+   * derived again once processing is over.
+   */
+  private static final class ModuleDescriptorStep implements XProcessingStep {
+    private final boolean wrapProcessingEnv;
+    private final List<ModuleDescriptor> precompiledModuleDescriptors = new ArrayList<>();
+    private final List<ModuleDescriptor> sourceModuleDescriptors = new ArrayList<>();
+    private XProcessingEnv processingEnv;
+    private ModuleDescriptor.Factory moduleDescriptorFactory;
+
+    ModuleDescriptorStep(boolean wrapProcessingEnv) {
+      this.wrapProcessingEnv = wrapProcessingEnv;
+    }
+
+    @Override
+    public ImmutableSet<String> annotations() {
+      // The module is processed in the first round, and the generated type in the second.
+      return ImmutableSet.of("dagger.Module", "javax.inject.Inject");
+    }
+
+    @Override
+    public ImmutableSet<XElement> process(
+        XProcessingEnv env, Map<String, ? extends Set<? extends XElement>> elementsByAnnotation) {
+      if (moduleDescriptorFactory == null) {
+        processingEnv =
+            wrapProcessingEnv && env.getBackend() == XProcessingEnv.Backend.JAVAC
+                ? wrap(env)
+                : env;
+        moduleDescriptorFactory =
+            DaggerCachePrecompiledModuleDescriptorsTest_TestComponent.factory()
+                .create(processingEnv)
+                .moduleDescriptorFactory();
+      } else {
+        moduleDescriptorFactory.clearCache();
+      }
+      precompiledModuleDescriptors.add(
+          moduleDescriptorFactory.create(processingEnv.requireTypeElement("library.FooModule")));
+      sourceModuleDescriptors.add(
+          moduleDescriptorFactory.create(processingEnv.requireTypeElement("test.SourceModule")));
+      return ImmutableSet.of();
+    }
+
+    @Override
+    public void processOver(
+        XProcessingEnv env, Map<String, ? extends Set<? extends XElement>> elementsByAnnotation) {
+      assertThat(sourceModuleDescriptors.size()).isAtLeast(2);
+      // Modules compiled from source are always derived again in a new round. Precompiled modules
+      // are only kept by javac, and only if sources can be told apart from class files, which
+      // needs javac's own processing environment.
+      assertThat(sourceModuleDescriptors.get(1))
+          .isNotSameInstanceAs(sourceModuleDescriptors.get(0));
+      if (env.getBackend() == XProcessingEnv.Backend.JAVAC && !wrapProcessingEnv) {
+        assertThat(precompiledModuleDescriptors.get(1))
+            .isSameInstanceAs(precompiledModuleDescriptors.get(0));
+      } else {
+        assertThat(precompiledModuleDescriptors.get(1))
+            .isNotSameInstanceAs(precompiledModuleDescriptors.get(0));
+      }
+    }
+
+    /** Returns {@code env} behind a {@link ProcessingEnvironment} that isn't javac's own. */
+    private static XProcessingEnv wrap(XProcessingEnv env) {
+      ProcessingEnvironment delegate = toJavac(env);
+      return XProcessingEnv.create(
+          (ProcessingEnvironment)
+              Proxy.newProxyInstance(
+                  CachePrecompiledModuleDescriptorsTest.class.getClassLoader(),
+                  new Class<?>[] {ProcessingEnvironment.class},
+                  (proxy, method, args) -> method.invoke(delegate, args)));
+    }
+  }
+
+  @Singleton
+  @Component(modules = ProcessingEnvironmentModule.class)
+  interface TestComponent {
+    ModuleDescriptor.Factory moduleDescriptorFactory();
+
+    @Component.Factory
+    interface Factory {
+      TestComponent create(@BindsInstance XProcessingEnv processingEnv);
+    }
+  }
+}
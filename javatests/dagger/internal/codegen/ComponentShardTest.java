@@ -49,6 +49,48 @@ public class ComponentShardTest {
 
   @Test
   public void testNewShardCreated() throws Exception {
+    CompilerTests.daggerCompiler(newShardCreatedSources())
+        .withProcessingOptions(compilerOptions())
+        .compile(
+            subject -> {
+              subject.hasErrorCount(0);
+              subject.generatedSource(
+                  goldenFileRule.goldenSource("dagger/internal/codegen/DaggerTestComponent"));
+            });
+  }
+
+  @Test
+  public void testTopLevelComponentShards() throws Exception {
+    CompilerTests.daggerCompiler(newShardCreatedSources())
+        .withProcessingOptions(
+            ImmutableMap.<String, String>builder()
+                .putAll(compilerOptions())
+                .put("dagger.topLevelComponentShards", "enabled")
+                .buildOrThrow())
+        .compile(
+            subject -> {
+              subject.hasErrorCount(0);
+              subject
+                  .generatedSourceFileWithPath("dagger/internal/codegen/DaggerTestComponent.java")
+                  .contains("static final class TestComponentImpl implements TestComponent {");
+              subject
+                  .generatedSourceFileWithPath("dagger/internal/codegen/DaggerTestComponent.java")
+                  .contains("DaggerTestComponent_TestComponentImplShard testComponentImplShard;");
+              subject
+                  .generatedSourceFileWithPath("dagger/internal/codegen/DaggerTestComponent.java")
+                  .doesNotContain("class TestComponentImplShard");
+              subject
+                  .generatedSourceFileWithPath(
+                      "dagger/internal/codegen/DaggerTestComponent_TestComponentImplShard.java")
+                  .contains("final class DaggerTestComponent_TestComponentImplShard {");
+              subject
+                  .generatedSourceFileWithPath(
+                      "dagger/internal/codegen/DaggerTestComponent_TestComponentImplShard2.java")
+                  .contains("final class DaggerTestComponent_TestComponentImplShard2 {");
+            });
+  }
+
+  private static ImmutableList<Source> newShardCreatedSources() {
     // Add all bindings.
     //
     //     1 -> 2 -> 3 -> 4 -> 5 -> 6 -> 7
@@ -95,15 +137,7 @@ public class ComponentShardTest {
             "  Provider<Binding6> providerBinding6();",
             "  Provider<Binding7> providerBinding7();",
             "}"));
-
-    CompilerTests.daggerCompiler(sources.build())
-        .withProcessingOptions(compilerOptions())
-        .compile(
-            subject -> {
-              subject.hasErrorCount(0);
-              subject.generatedSource(
-                  goldenFileRule.goldenSource("dagger/internal/codegen/DaggerTestComponent"));
-            });
+    return sources.build();
   }
 
   @Test
@@ -0,0 +1,205 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.internal.codegen;
+
+import androidx.room.compiler.processing.util.Source;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import dagger.testing.compile.CompilerTests;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class EagerParallelInitializationTest {
+  @Parameters(name = "{0}")
+  public static ImmutableList<Object[]> parameters() {
+    return CompilerMode.TEST_PARAMETERS;
+  }
+
+  private static final Source DEPENDENCY =
+      CompilerTests.javaSource(
+          "test.Dependency",
+          "package test;",
+          "",
+          "import javax.inject.Inject;",
+          "import javax.inject.Singleton;",
+          "",
+          "@Singleton",
+          "final class Dependency {",
+          "  @Inject Dependency() {}",
+          "}");
+
+  private static final Source OTHER_DEPENDENCY =
+      CompilerTests.javaSource(
+          "test.OtherDependency",
+          "package test;",
+          "",
+          "import javax.inject.Inject;",
+          "import javax.inject.Singleton;",
+          "",
+          "@Singleton",
+          "final class OtherDependency {",
+          "  @Inject OtherDependency() {}",
+          "}");
+
+  private static final Source SERVICE =
+      CompilerTests.javaSource(
+          "test.Service",
+          "package test;",
+          "",
+          "import javax.inject.Inject;",
+          "import javax.inject.Singleton;",
+          "",
+          "@Singleton",
+          "final class Service {",
+          "  @Inject Service(Dependency dependency, OtherDependency otherDependency) {}",
+          "}");
+
+  private static final Source COMPONENT =
+      CompilerTests.javaSource(
+          "test.TestComponent",
+          "package test;",
+          "",
+          "import dagger.Component;",
+          "import javax.inject.Singleton;",
+          "",
+          "@Singleton",
+          "@Component",
+          "interface TestComponent {",
+          "  Service service();",
+          "}");
+
+  private final CompilerMode compilerMode;
+
+  public EagerParallelInitializationTest(CompilerMode compilerMode) {
+    this.compilerMode = compilerMode;
+  }
+
+  @Test
+  public void enabled_generatesInitializeEagerly() {
+    CompilerTests.daggerCompiler(DEPENDENCY, OTHER_DEPENDENCY, SERVICE, COMPONENT)
+        .withProcessingOptions(
+            ImmutableMap.<String, String>builder()
+                .putAll(compilerMode.processorOptions())
+                .put("dagger.eagerParallelInitialization", "enabled")
+                .buildOrThrow())
+        .compile(
+            subject -> {
+              subject.hasErrorCount(0);
+              subject
+                  .generatedSourceFileWithPath("test/DaggerTestComponent.java")
+                  .containsMatch(
+                      "public static void initializeEagerly\\(\\s*TestComponent component,"
+                          + "\\s*Executor executor\\)");
+              // The two dependencies are independent, so they share the first wave.
+              subject
+                  .generatedSourceFileWithPath("test/DaggerTestComponent.java")
+                  .containsMatch(
+                      "ParallelInitializer\\.initialize\\(\\s*executor,"
+                          + "\\s*new int\\[\\]\\[\\]\\[\\]"
+                          + "\\s*\\{\\{\\{0\\},\\s*\\{1\\}\\},\\s*\\{\\{2\\}\\}\\}");
+            });
+  }
+
+  @Test
+  public void largeGraph_partitionsEagerInitializationMethods() {
+    // More independent bindings than fit in one method, so both the switch over binding ids and
+    // the first wave are split across methods.
+    int bindingCount = 250;
+    ImmutableList.Builder<Source> sources = ImmutableList.builder();
+    ImmutableList.Builder<String> component = ImmutableList.builder();
+    component.add(
+        "package test;",
+        "",
+        "import dagger.Component;",
+        "import javax.inject.Singleton;",
+        "",
+        "@Singleton",
+        "@Component",
+        "interface TestComponent {",
+        "  Root root();");
+    for (int i = 0; i < bindingCount; i++) {
+      sources.add(
+          CompilerTests.javaSource(
+              "test.Binding" + i,
+              "package test;",
+              "",
+              "import javax.inject.Inject;",
+              "import javax.inject.Singleton;",
+              "",
+              "@Singleton",
+              "final class Binding" + i + " {",
+              "  @Inject Binding" + i + "() {}",
+              "}"));
+      component.add("  Binding" + i + " binding" + i + "();");
+    }
+    component.add("}");
+    sources.add(
+        CompilerTests.javaSource(
+            "test.Root",
+            "package test;",
+            "",
+            "import javax.inject.Inject;",
+            "import javax.inject.Singleton;",
+            "",
+            "@Singleton",
+            "final class Root {",
+            "  @Inject Root(Binding0 binding0, Binding" + (bindingCount - 1) + " last) {}",
+            "}"));
+    sources.add(
+        CompilerTests.javaSource("test.TestComponent", component.build().toArray(new String[0])));
+
+    CompilerTests.daggerCompiler(sources.build())
+        .withProcessingOptions(
+            ImmutableMap.<String, String>builder()
+                .putAll(compilerMode.processorOptions())
+                .put("dagger.eagerParallelInitialization", "enabled")
+                .buildOrThrow())
+        .compile(
+            subject -> {
+              subject.hasErrorCount(0);
+              subject
+                  .generatedSourceFileWithPath("test/DaggerTestComponent.java")
+                  .contains("case 2: return eagerInstance2(id);");
+              subject
+                  .generatedSourceFileWithPath("test/DaggerTestComponent.java")
+                  .contains("waves[0] = new int[" + bindingCount + "][];");
+              // Root depends on the first wave, so it's initialized on its own in the second one.
+              subject
+                  .generatedSourceFileWithPath("test/DaggerTestComponent.java")
+                  .contains("waves[1] = new int[][] {{" + bindingCount + "}};");
+              subject
+                  .generatedSourceFileWithPath("test/DaggerTestComponent.java")
+                  .contains("eagerInitializationWaves2(waves);");
+            });
+  }
+
+  @Test
+  public void disabled_noInitializeEagerly() {
+    CompilerTests.daggerCompiler(DEPENDENCY, OTHER_DEPENDENCY, SERVICE, COMPONENT)
+        .withProcessingOptions(compilerMode.processorOptions())
+        .compile(
+            subject -> {
+              subject.hasErrorCount(0);
+              subject
+                  .generatedSourceFileWithPath("test/DaggerTestComponent.java")
+                  .doesNotContain("initializeEagerly");
+            });
+  }
+}
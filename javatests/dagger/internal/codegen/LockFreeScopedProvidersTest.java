@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.internal.codegen;
+
+import androidx.room.compiler.processing.util.Source;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import dagger.testing.compile.CompilerTests;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class LockFreeScopedProvidersTest {
+  @Parameters(name = "{0}")
+  public static ImmutableList<Object[]> parameters() {
+    return CompilerMode.TEST_PARAMETERS;
+  }
+
+  private static final Source SCOPED_TYPE =
+      CompilerTests.javaSource(
+          "test.ScopedType",
+          "package test;",
+          "",
+          "import javax.inject.Inject;",
+          "import javax.inject.Singleton;",
+          "",
+          "@Singleton",
+          "final class ScopedType {",
+          "  @Inject ScopedType() {}",
+          "}");
+
+  private static final Source REUSABLE_TYPE =
+      CompilerTests.javaSource(
+          "test.ReusableType",
+          "package test;",
+          "",
+          "import dagger.Reusable;",
+          "import javax.inject.Inject;",
+          "",
+          "@Reusable",
+          "final class ReusableType {",
+          "  @Inject ReusableType() {}",
+          "}");
+
+  private static final Source COMPONENT =
+      CompilerTests.javaSource(
+          "test.TestComponent",
+          "package test;",
+          "",
+          "import dagger.Component;",
+          "import javax.inject.Provider;",
+          "import javax.inject.Singleton;",
+          "",
+          "@Singleton",
+          "@Component",
+          "interface TestComponent {",
+          "  Provider<ScopedType> scopedType();",
+          "  Provider<ReusableType> reusableType();",
+          "}");
+
+  private final CompilerMode compilerMode;
+
+  public LockFreeScopedProvidersTest(CompilerMode compilerMode) {
+    this.compilerMode = compilerMode;
+  }
+
+  @Test
+  public void enabled_usesLockFreeDoubleCheck() {
+    CompilerTests.daggerCompiler(SCOPED_TYPE, REUSABLE_TYPE, COMPONENT)
+        .withProcessingOptions(
+            ImmutableMap.<String, String>builder()
+                .putAll(compilerMode.processorOptions())
+                .put("dagger.lockFreeScopedProviders", "enabled")
+                .buildOrThrow())
+        .compile(
+            subject -> {
+              subject.hasErrorCount(0);
+              subject
+                  .generatedSourceFileWithPath("test/DaggerTestComponent.java")
+                  .contains("LockFreeDoubleCheck.provider(");
+              subject
+                  .generatedSourceFileWithPath("test/DaggerTestComponent.java")
+                  .contains("SingleCheck.provider(");
+              subject
+                  .generatedSourceFileWithPath("test/DaggerTestComponent.java")
+                  .doesNotContain(" DoubleCheck.provider(");
+            });
+  }
+
+  @Test
+  public void disabled_usesDoubleCheck() {
+    CompilerTests.daggerCompiler(SCOPED_TYPE, REUSABLE_TYPE, COMPONENT)
+        .withProcessingOptions(compilerMode.processorOptions())
+        .compile(
+            subject -> {
+              subject.hasErrorCount(0);
+              subject
+                  .generatedSourceFileWithPath("test/DaggerTestComponent.java")
+                  .doesNotContain("LockFreeDoubleCheck");
+            });
+  }
+}
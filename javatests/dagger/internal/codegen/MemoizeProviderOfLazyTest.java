@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.internal.codegen;
+
+import androidx.room.compiler.processing.util.Source;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import dagger.testing.compile.CompilerTests;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class MemoizeProviderOfLazyTest {
+  @Parameters(name = "{0}")
+  public static ImmutableList<Object[]> parameters() {
+    return CompilerMode.TEST_PARAMETERS;
+  }
+
+  private static final Source FOO =
+      CompilerTests.javaSource(
+          "test.Foo",
+          "package test;",
+          "",
+          "import javax.inject.Inject;",
+          "",
+          "final class Foo {",
+          "  @Inject Foo() {}",
+          "}");
+
+  private static final Source BAR =
+      CompilerTests.javaSource(
+          "test.Bar",
+          "package test;",
+          "",
+          "import dagger.Lazy;",
+          "import javax.inject.Inject;",
+          "import javax.inject.Provider;",
+          "",
+          "final class Bar {",
+          "  @Inject Bar(Provider<Lazy<Foo>> fooProviderOfLazy) {}",
+          "}");
+
+  private static final Source COMPONENT =
+      CompilerTests.javaSource(
+          "test.TestComponent",
+          "package test;",
+          "",
+          "import dagger.Component;",
+          "import dagger.Lazy;",
+          "import javax.inject.Provider;",
+          "",
+          "@Component",
+          "interface TestComponent {",
+          "  Bar bar();",
+          "  Provider<Lazy<Foo>> fooProviderOfLazy();",
+          "}");
+
+  private final CompilerMode compilerMode;
+
+  public MemoizeProviderOfLazyTest(CompilerMode compilerMode) {
+    this.compilerMode = compilerMode;
+  }
+
+  @Test
+  public void enabled_sharesProviderOfLazy() {
+    CompilerTests.daggerCompiler(FOO, BAR, COMPONENT)
+        .withProcessingOptions(
+            ImmutableMap.<String, String>builder()
+                .putAll(compilerMode.processorOptions())
+                .put("dagger.memoizeProviderOfLazy", "enabled")
+                .buildOrThrow())
+        .compile(
+            subject -> {
+              subject.hasErrorCount(0);
+              subject
+                  .generatedSourceFileWithPath("test/DaggerTestComponent.java")
+                  .contains("Provider<Lazy<Foo>> fooProviderOfLazy;");
+              subject
+                  .generatedSourceFileWithPath("test/DaggerTestComponent.java")
+                  .containsMatch("this\\.fooProviderOfLazy = ProviderOfLazy\\.create\\(");
+              // Both requests share the field, so the provider is created only once.
+              subject
+                  .generatedSourceFileWithPath("test/DaggerTestComponent.java")
+                  .doesNotContainMatch(
+                      "ProviderOfLazy\\.create\\([\\s\\S]*ProviderOfLazy\\.create\\(");
+            });
+  }
+
+  @Test
+  public void disabled_createsProviderOfLazyPerRequest() {
+    CompilerTests.daggerCompiler(FOO, BAR, COMPONENT)
+        .withProcessingOptions(compilerMode.processorOptions())
+        .compile(
+            subject -> {
+              subject.hasErrorCount(0);
+              subject
+                  .generatedSourceFileWithPath("test/DaggerTestComponent.java")
+                  .containsMatch("ProviderOfLazy\\.create\\([\\s\\S]*ProviderOfLazy\\.create\\(");
+            });
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.internal.codegen;
+
+import androidx.room.compiler.processing.util.Source;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import dagger.testing.compile.CompilerTests;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class MemoizeScopedSetMultibindingsTest {
+  @Parameters(name = "{0}")
+  public static ImmutableList<Object[]> parameters() {
+    return CompilerMode.TEST_PARAMETERS;
+  }
+
+  private static final Source COMPONENT =
+      CompilerTests.javaSource(
+          "test.TestComponent",
+          "package test;",
+          "",
+          "import dagger.Component;",
+          "import java.util.Set;",
+          "import javax.inject.Provider;",
+          "import javax.inject.Singleton;",
+          "",
+          "@Singleton",
+          "@Component(modules = TestModule.class)",
+          "interface TestComponent {",
+          "  Provider<Set<String>> strings();",
+          "  Provider<Set<Integer>> integers();",
+          "}");
+
+  private static final Source MODULE =
+      CompilerTests.javaSource(
+          "test.TestModule",
+          "package test;",
+          "",
+          "import dagger.Module;",
+          "import dagger.Provides;",
+          "import dagger.multibindings.IntoSet;",
+          "import javax.inject.Singleton;",
+          "",
+          "@Module",
+          "final class TestModule {",
+          "  @Provides @IntoSet @Singleton static String a() { return \"a\"; }",
+          "  @Provides @IntoSet @Singleton static String b() { return \"b\"; }",
+          "  @Provides @IntoSet @Singleton static Integer one() { return 1; }",
+          "  @Provides @IntoSet static Integer two() { return 2; }",
+          "}");
+
+  private final CompilerMode compilerMode;
+
+  public MemoizeScopedSetMultibindingsTest(CompilerMode compilerMode) {
+    this.compilerMode = compilerMode;
+  }
+
+  @Test
+  public void enabled_memoizesOnlyFullyScopedSets() {
+    CompilerTests.daggerCompiler(COMPONENT, MODULE)
+        .withProcessingOptions(
+            ImmutableMap.<String, String>builder()
+                .putAll(compilerMode.processorOptions())
+                .put("dagger.memoizeScopedSetMultibindings", "enabled")
+                .buildOrThrow())
+        .compile(
+            subject -> {
+              subject.hasErrorCount(0);
+              // Only the Set<String> is memoized: Set<Integer> has an unscoped contribution.
+              subject
+                  .generatedSourceFileWithPath("test/DaggerTestComponent.java")
+                  .contains("SingleCheck.provider(");
+              subject
+                  .generatedSourceFileWithPath("test/DaggerTestComponent.java")
+                  .doesNotContainMatch("(?s)SingleCheck\\.provider\\(.*SingleCheck\\.provider\\(");
+            });
+  }
+
+  @Test
+  public void disabled_doesNotMemoize() {
+    CompilerTests.daggerCompiler(COMPONENT, MODULE)
+        .withProcessingOptions(compilerMode.processorOptions())
+        .compile(
+            subject -> {
+              subject.hasErrorCount(0);
+              subject
+                  .generatedSourceFileWithPath("test/DaggerTestComponent.java")
+                  .doesNotContain("SingleCheck");
+            });
+  }
+}
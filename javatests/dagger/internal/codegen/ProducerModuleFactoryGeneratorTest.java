@@ -420,6 +420,170 @@ public class ProducerModuleFactoryGeneratorTest {
             });
   }
 
+  @Test
+  public void inlineProducesMethod() {
+    Source moduleFile =
+        CompilerTests.javaSource(
+            "test.TestModule",
+            "package test;",
+            "",
+            "import com.google.common.util.concurrent.ListenableFuture;",
+            "import dagger.producers.ProducerModule;",
+            "import dagger.producers.Produces;",
+            "",
+            "@ProducerModule",
+            "final class TestModule {",
+            "  @Produces(inline = true) ListenableFuture<String> produceString() {",
+            "    return null;",
+            "  }",
+            "}");
+    CompilerTests.daggerCompiler(moduleFile)
+        .compile(
+            subject -> {
+              subject.hasErrorCount(0);
+              subject.generatedSource(
+                  goldenFileRule.goldenSource("test/TestModule_ProduceStringFactory"));
+            });
+  }
+
+  @Test
+  public void completionStageProducesMethod() {
+    Source moduleFile =
+        CompilerTests.javaSource(
+            "test.TestModule",
+            "package test;",
+            "",
+            "import dagger.producers.ProducerModule;",
+            "import dagger.producers.Produces;",
+            "import java.util.concurrent.CompletableFuture;",
+            "",
+            "@ProducerModule",
+            "final class TestModule {",
+            "  @Produces CompletableFuture<String> produceString() {",
+            "    return null;",
+            "  }",
+            "}");
+    CompilerTests.daggerCompiler(moduleFile)
+        .withProcessingOptions(ImmutableMap.of("dagger.completionStageProducers", "ENABLED"))
+        .compile(
+            subject -> {
+              subject.hasErrorCount(0);
+              subject.generatedSource(
+                  goldenFileRule.goldenSource("test/TestModule_ProduceStringFactory"));
+            });
+  }
+
+  @Test
+  public void completionStageProducersMismatch() {
+    Source moduleFile =
+        CompilerTests.javaSource(
+            "test.TestModule",
+            "package test;",
+            "",
+            "import dagger.producers.ProducerModule;",
+            "import dagger.producers.Produces;",
+            "import java.util.concurrent.CompletableFuture;",
+            "",
+            "@ProducerModule",
+            "public final class TestModule {",
+            "  @Produces CompletableFuture<String> produceString() {",
+            "    return null;",
+            "  }",
+            "}");
+    // The factory generated for TestModule when compiled with completionStageProducers enabled,
+    // reduced to its supertype.
+    Source factoryFile =
+        CompilerTests.javaSource(
+            "test.TestModule_ProduceStringFactory",
+            "package test;",
+            "",
+            "import dagger.internal.Provider;",
+            "import dagger.producers.internal.AbstractProducesMethodProducer;",
+            "import dagger.producers.monitoring.ProductionComponentMonitor;",
+            "import java.util.concurrent.Executor;",
+            "",
+            "public abstract class TestModule_ProduceStringFactory",
+            "    extends AbstractProducesMethodProducer<Void, String> {",
+            "  private TestModule_ProduceStringFactory(",
+            "      Provider<ProductionComponentMonitor> monitorProvider,",
+            "      Provider<Executor> executorProvider) {",
+            "    super(monitorProvider, null, executorProvider);",
+            "  }",
+            "}");
+    Source componentFile =
+        CompilerTests.javaSource(
+            "test.TestComponent",
+            "package test;",
+            "",
+            "import com.google.common.util.concurrent.ListenableFuture;",
+            "import dagger.producers.ProductionComponent;",
+            "import java.util.concurrent.CompletableFuture;",
+            "",
+            "@ProductionComponent(modules = {ExecutorModule.class, TestModule.class})",
+            "interface TestComponent {",
+            "  ListenableFuture<CompletableFuture<String>> string();",
+            "}");
+    Source executorModuleFile =
+        CompilerTests.javaSource(
+            "test.ExecutorModule",
+            "package test;",
+            "",
+            "import com.google.common.util.concurrent.MoreExecutors;",
+            "import dagger.Module;",
+            "import dagger.Provides;",
+            "import dagger.producers.Production;",
+            "import java.util.concurrent.Executor;",
+            "",
+            "@Module",
+            "final class ExecutorModule {",
+            "  @Provides @Production static Executor executor() {",
+            "    return MoreExecutors.directExecutor();",
+            "  }",
+            "}");
+    CompilerTests.daggerCompiler(componentFile, executorModuleFile)
+        .withAdditionalClasspath(
+            CompilerTests.libraryCompiler(moduleFile, factoryFile).compile())
+        .compile(
+            subject -> {
+              subject.hasErrorCount(1);
+              subject.hasErrorContaining(
+                      "test.TestModule was compiled with -Adagger.completionStageProducers="
+                          + "ENABLED, but this compilation uses DISABLED.")
+                  .onSource(componentFile);
+            });
+  }
+
+  @Test
+  public void producerDependencyMetadata() {
+    Source moduleFile =
+        CompilerTests.javaSource(
+            "test.TestModule",
+            "package test;",
+            "",
+            "import dagger.producers.Produced;",
+            "import dagger.producers.ProducerModule;",
+            "import dagger.producers.Produces;",
+            "",
+            "@ProducerModule",
+            "final class TestModule {",
+            "  @Produces String produceString(Integer i, Produced<Long> l) {",
+            "    return null;",
+            "  }",
+            "}");
+    CompilerTests.daggerCompiler(moduleFile)
+        .withProcessingOptions(ImmutableMap.of("dagger.producerDependencyMetadata", "ENABLED"))
+        .compile(
+            subject -> {
+              subject.hasErrorCount(0);
+              subject
+                  .generatedSourceFileWithPath("test/TestModule_ProduceStringFactory.java")
+                  .contains(
+                      "ProducerToken.create(TestModule_ProduceStringFactory.class)"
+                          + ".withKeys(\"java.lang.String\", \"java.lang.Integer\", "
+                          + "\"java.lang.Long\")");
+            });
+  }
+
   @Test
   public void producesMethodMultipleQualifiersOnMethod() {
     assertThatProductionModuleMethod(
@@ -636,4 +636,50 @@ public class ProductionComponentProcessorTest {
                       + "because it delegates to an @Produces method");
             });
   }
+
+  @Test
+  public void virtualThreadProductionModule_componentCancelsExecutor() {
+    Source component =
+        CompilerTests.javaSource(
+            "test.TestComponent",
+            "package test;",
+            "",
+            "import com.google.common.util.concurrent.ListenableFuture;",
+            "import dagger.producers.ProductionComponent;",
+            "import dagger.producers.VirtualThreadProductionModule;",
+            "",
+            "@ProductionComponent(",
+            "    modules = {VirtualThreadProductionModule.class, TestModule.class})",
+            "interface TestComponent {",
+            "  ListenableFuture<String> str();",
+            "}");
+    Source module =
+        CompilerTests.javaSource(
+            "test.TestModule",
+            "package test;",
+            "",
+            "import dagger.producers.ProducerModule;",
+            "import dagger.producers.Produces;",
+            "",
+            "@ProducerModule",
+            "interface TestModule {",
+            "  @Produces",
+            "  static String str() { return \"\"; }",
+            "}");
+
+    CompilerTests.daggerCompiler(component, module)
+        .withProcessingOptions(compilerMode.processorOptions())
+        .compile(
+            subject -> {
+              subject.hasErrorCount(0);
+              subject
+                  .generatedSourceFileWithPath("test/DaggerTestComponent.java")
+                  .contains("DoubleCheck.getIfInitialized(");
+              subject
+                  .generatedSourceFileWithPath("test/DaggerTestComponent.java")
+                  .contains(
+                      "((CancellationListener) virtualThreadExecutor)"
+                          + ".onProducerFutureCancelled(mayInterruptIfRunning);");
+            });
+  }
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.internal.codegen;
+
+import androidx.room.compiler.processing.util.Source;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import dagger.testing.compile.CompilerTests;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class ProvisionTracingTest {
+  @Parameters(name = "{0}")
+  public static ImmutableList<Object[]> parameters() {
+    return CompilerMode.TEST_PARAMETERS;
+  }
+
+  private static final Source SCOPED_TYPE =
+      CompilerTests.javaSource(
+          "test.ScopedType",
+          "package test;",
+          "",
+          "import javax.inject.Inject;",
+          "import javax.inject.Singleton;",
+          "",
+          "@Singleton",
+          "final class ScopedType {",
+          "  @Inject ScopedType() {}",
+          "}");
+
+  private static final Source UNSCOPED_TYPE =
+      CompilerTests.javaSource(
+          "test.UnscopedType",
+          "package test;",
+          "",
+          "import javax.inject.Inject;",
+          "",
+          "final class UnscopedType {",
+          "  @Inject UnscopedType() {}",
+          "}");
+
+  private static final Source COMPONENT =
+      CompilerTests.javaSource(
+          "test.TestComponent",
+          "package test;",
+          "",
+          "import dagger.Component;",
+          "import javax.inject.Singleton;",
+          "",
+          "@Singleton",
+          "@Component",
+          "interface TestComponent {",
+          "  ScopedType scopedType();",
+          "  UnscopedType unscopedType();",
+          "}");
+
+  private final CompilerMode compilerMode;
+
+  public ProvisionTracingTest(CompilerMode compilerMode) {
+    this.compilerMode = compilerMode;
+  }
+
+  @Test
+  public void enabled_tracesProvisions() {
+    CompilerTests.daggerCompiler(SCOPED_TYPE, UNSCOPED_TYPE, COMPONENT)
+        .withProcessingOptions(
+            ImmutableMap.<String, String>builder()
+                .putAll(compilerMode.processorOptions())
+                .put("dagger.provisionTracing", "enabled")
+                .buildOrThrow())
+        .compile(
+            subject -> {
+              subject.hasErrorCount(0);
+              subject
+                  .generatedSourceFileWithPath("test/DaggerTestComponent.java")
+                  .containsMatch(
+                      "ProvisionTracing\\.end\\(\\s*ProvisionTracing\\.start\\(\\),"
+                          + "\\s*new UnscopedType\\(\\),\\s*\"test\\.UnscopedType\",\\s*null\\)");
+              switch (compilerMode) {
+                case DEFAULT_MODE:
+                  subject
+                      .generatedSourceFileWithPath("test/DaggerTestComponent.java")
+                      .containsMatch(
+                          "DoubleCheck\\.provider\\(\\s*ProvisionTracing\\.provider\\("
+                              + "\\s*ScopedType_Factory\\.create\\(\\),\\s*\"test\\.ScopedType\",");
+                  break;
+                case FAST_INIT_MODE:
+                  subject
+                      .generatedSourceFileWithPath("test/DaggerTestComponent.java")
+                      .containsMatch(
+                          "ProvisionTracing\\.end\\(\\s*ProvisionTracing\\.start\\(\\),"
+                              + "\\s*new ScopedType\\(\\),\\s*\"test\\.ScopedType\",");
+                  break;
+              }
+            });
+  }
+
+  @Test
+  public void disabled_noTracing() {
+    CompilerTests.daggerCompiler(SCOPED_TYPE, UNSCOPED_TYPE, COMPONENT)
+        .withProcessingOptions(compilerMode.processorOptions())
+        .compile(
+            subject -> {
+              subject.hasErrorCount(0);
+              subject
+                  .generatedSourceFileWithPath("test/DaggerTestComponent.java")
+                  .doesNotContain("ProvisionTracing");
+            });
+  }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.internal.codegen;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import androidx.room.compiler.processing.util.CompilationResultSubject;
+import androidx.room.compiler.processing.util.Source;
+import com.google.common.base.Ascii;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.Hashing;
+import dagger.testing.compile.CompilerTests;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class StableComponentOutputTest {
+  private static final ImmutableMap<String, String> PROCESSOR_OPTIONS =
+      ImmutableMap.<String, String>builder()
+          .putAll(CompilerMode.FAST_INIT_MODE.processorOptions())
+          .put("dagger.stableComponentOutput", "enabled")
+          .buildOrThrow();
+
+  @Test
+  public void switchIdsDoNotDependOnOtherBindings() {
+    String fooKey = "dagger.internal.codegen.Foo";
+    String fooCase = "case " + stableHash(fooKey) + ": // " + fooKey;
+    CompilerTests.daggerCompiler(
+            binding("Foo"), binding("Bar"), component("Foo foo();", "Bar bar();"))
+        .withProcessingOptions(PROCESSOR_OPTIONS)
+        .compile(
+            subject -> {
+              subject.hasErrorCount(0);
+              subject
+                  .generatedSourceFileWithPath("dagger/internal/codegen/DaggerTestComponent.java")
+                  .contains(fooCase);
+            });
+    CompilerTests.daggerCompiler(
+            binding("Baz"),
+            binding("Foo"),
+            binding("Bar"),
+            component("Baz baz();", "Foo foo();", "Bar bar();"))
+        .withProcessingOptions(PROCESSOR_OPTIONS)
+        .compile(
+            subject -> {
+              subject.hasErrorCount(0);
+              subject
+                  .generatedSourceFileWithPath("dagger/internal/codegen/DaggerTestComponent.java")
+                  .contains(fooCase);
+            });
+  }
+
+  @Test
+  public void addingBinding_keepsSwitchMethodsOfOtherBindings() {
+    CompilerTests.daggerCompiler(
+            binding("Foo"), binding("Bar"), component("Foo foo();", "Bar bar();"))
+        .withProcessingOptions(PROCESSOR_OPTIONS)
+        .compile(
+            subject -> {
+              subject.hasErrorCount(0);
+              assertSwitchMethod(subject, "Foo");
+              assertSwitchMethod(subject, "Bar");
+            });
+    CompilerTests.daggerCompiler(
+            binding("Baz"),
+            binding("Foo"),
+            binding("Bar"),
+            component("Baz baz();", "Foo foo();", "Bar bar();"))
+        .withProcessingOptions(PROCESSOR_OPTIONS)
+        .compile(
+            subject -> {
+              subject.hasErrorCount(0);
+              assertSwitchMethod(subject, "Foo");
+              assertSwitchMethod(subject, "Bar");
+              assertSwitchMethod(subject, "Baz");
+            });
+  }
+
+  @Test
+  public void switchesAreSplitAtMaxCases() {
+    // Find 101 bindings whose ids select the same class and switch.
+    Map<Integer, List<String>> namesBySwitch = new HashMap<>();
+    List<String> names = null;
+    for (int i = 0; names == null || names.size() <= 100; i++) {
+      String name = "Binding" + i;
+      names =
+          namesBySwitch.computeIfAbsent(
+              stableHash("dagger.internal.codegen." + name) >>> 22, unused -> new ArrayList<>());
+      names.add(name);
+    }
+    int switchIndex = stableSwitchIndex(stableHash("dagger.internal.codegen." + names.get(0)));
+    ImmutableList.Builder<Source> sources = ImmutableList.builder();
+    ImmutableList.Builder<String> entryPoints = ImmutableList.builder();
+    for (String name : names) {
+      sources.add(binding(name));
+      entryPoints.add(name + " " + Ascii.toLowerCase(name) + "();");
+    }
+    sources.add(component(entryPoints.build().toArray(new String[0])));
+    CompilerTests.daggerCompiler(sources.build())
+        .withProcessingOptions(PROCESSOR_OPTIONS)
+        .compile(
+            subject -> {
+              subject.hasErrorCount(0);
+              subject
+                  .generatedSourceFileWithPath("dagger/internal/codegen/DaggerTestComponent.java")
+                  .contains("private T get" + switchIndex + "_0() {");
+              subject
+                  .generatedSourceFileWithPath("dagger/internal/codegen/DaggerTestComponent.java")
+                  .contains("private T get" + switchIndex + "_1() {");
+              subject
+                  .generatedSourceFileWithPath("dagger/internal/codegen/DaggerTestComponent.java")
+                  .doesNotContain("private T get" + switchIndex + "_2() {");
+            });
+  }
+
+  @Test
+  public void shardsAreNamedAfterKeys() {
+    CompilerTests.daggerCompiler(
+            binding("Foo"),
+            binding("Bar"),
+            binding("Baz"),
+            component("Foo foo();", "Bar bar();", "Baz baz();"))
+        .withProcessingOptions(
+            ImmutableMap.<String, String>builder()
+                .putAll(PROCESSOR_OPTIONS)
+                .put("dagger.keysPerComponentShard", "1")
+                .buildOrThrow())
+        .compile(
+            subject -> {
+              subject.hasErrorCount(0);
+              subject
+                  .generatedSourceFileWithPath("dagger/internal/codegen/DaggerTestComponent.java")
+                  .contains("class TestComponentImplShard_");
+            });
+  }
+
+  /**
+   * Asserts that the switch case of the binding for {@code name} is in the class and {@code get}
+   * method selected by the bits of its id.
+   */
+  private static void assertSwitchMethod(CompilationResultSubject subject, String name) {
+    String key = "dagger.internal.codegen." + name;
+    int id = stableHash(key);
+    int switchIndex = stableSwitchIndex(id);
+    subject
+        .generatedSourceFileWithPath("dagger/internal/codegen/DaggerTestComponent.java")
+        .contains("private static final class SwitchingProvider" + (id >>> 29) + "<T>");
+    subject
+        .generatedSourceFileWithPath("dagger/internal/codegen/DaggerTestComponent.java")
+        .contains("case " + switchIndex + ": return get" + switchIndex + "();");
+    subject
+        .generatedSourceFileWithPath("dagger/internal/codegen/DaggerTestComponent.java")
+        .containsMatch(
+            "private T get"
+                + switchIndex
+                + "\\(\\) \\{[^}]*case "
+                + id
+                + ": // "
+                + Pattern.quote(key)
+                + "\n");
+  }
+
+  private static Source binding(String name) {
+    return CompilerTests.javaSource(
+        "dagger.internal.codegen." + name,
+        "package dagger.internal.codegen;",
+        "",
+        "import javax.inject.Inject;",
+        "import javax.inject.Singleton;",
+        "",
+        "@Singleton",
+        "final class " + name + " {",
+        "  @Inject " + name + "() {}",
+        "}");
+  }
+
+  private static Source component(String... entryPoints) {
+    return CompilerTests.javaSource(
+        "dagger.internal.codegen.TestComponent",
+        ImmutableList.<String>builder()
+            .add(
+                "package dagger.internal.codegen;",
+                "",
+                "import dagger.Component;",
+                "import javax.inject.Singleton;",
+                "",
+                "@Singleton",
+                "@Component",
+                "interface TestComponent {")
+            .add(entryPoints)
+            .add("}")
+            .build()
+            .toArray(new String[0]));
+  }
+
+  private static int stableHash(String key) {
+    return Hashing.murmur3_32_fixed().hashString(key, UTF_8).asInt() & Integer.MAX_VALUE;
+  }
+
+  private static int stableSwitchIndex(int id) {
+    return (id >>> 22) & 127;
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.internal.codegen;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import androidx.room.compiler.processing.util.Source;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import dagger.testing.compile.CompilerTests;
+import java.io.File;
+import java.nio.file.Files;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class SwitchingProviderProfileTest {
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void profiledKeysHaveTheFirstSwitchCases() throws Exception {
+    File profile = temporaryFolder.newFile("profile.txt");
+    Files.write(profile.toPath(), ImmutableList.of("42\ttest.Foo149", "7\ttest.Foo0"), UTF_8);
+    ImmutableList.Builder<Source> sources = ImmutableList.builder();
+    ImmutableList.Builder<String> entryPoints = ImmutableList.builder();
+    for (int i = 0; i < 150; i++) {
+      sources.add(binding("Foo" + i));
+      entryPoints.add("Foo" + i + " foo" + i + "();");
+    }
+    sources.add(component(entryPoints.build()));
+    CompilerTests.daggerCompiler(sources.build())
+        .withProcessingOptions(
+            ImmutableMap.<String, String>builder()
+                .putAll(CompilerMode.FAST_INIT_MODE.processorOptions())
+                .put("dagger.switchingProviderProfile", profile.getPath())
+                .buildOrThrow())
+        .compile(
+            subject -> {
+              subject.hasErrorCount(0);
+              subject
+                  .generatedSourceFileWithPath("test/DaggerTestComponent.java")
+                  .contains("case 0: // test.Foo149");
+              subject
+                  .generatedSourceFileWithPath("test/DaggerTestComponent.java")
+                  .contains("case 1: // test.Foo0");
+              // The two profiled keys have a switch of their own.
+              subject
+                  .generatedSourceFileWithPath("test/DaggerTestComponent.java")
+                  .contains("if (id < 2)");
+            });
+  }
+
+  @Test
+  public void profilingRecordsRequests() {
+    CompilerTests.daggerCompiler(binding("Foo"), component(ImmutableList.of("Foo foo();")))
+        .withProcessingOptions(
+            ImmutableMap.<String, String>builder()
+                .putAll(CompilerMode.FAST_INIT_MODE.processorOptions())
+                .put("dagger.switchingProviderProfiling", "enabled")
+                .buildOrThrow())
+        .compile(
+            subject -> {
+              subject.hasErrorCount(0);
+              subject
+                  .generatedSourceFileWithPath("test/DaggerTestComponent.java")
+                  .contains("SwitchingProviderProfiler.record(\"test.Foo\");");
+            });
+  }
+
+  private static Source binding(String name) {
+    return CompilerTests.javaSource(
+        "test." + name,
+        "package test;",
+        "",
+        "import javax.inject.Inject;",
+        "import javax.inject.Singleton;",
+        "",
+        "@Singleton",
+        "final class " + name + " {",
+        "  @Inject " + name + "() {}",
+        "}");
+  }
+
+  private static Source component(ImmutableList<String> entryPoints) {
+    return CompilerTests.javaSource(
+        "test.TestComponent",
+        ImmutableList.<String>builder()
+            .add(
+                "package test;",
+                "",
+                "import dagger.Component;",
+                "import javax.inject.Singleton;",
+                "",
+                "@Singleton",
+                "@Component",
+                "interface TestComponent {")
+            .addAll(entryPoints)
+            .add("}")
+            .build()
+            .toArray(new String[0]));
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.internal.codegen;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import androidx.room.compiler.processing.util.Source;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import dagger.testing.compile.CompilerTests;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class TimingReportTest {
+  @Parameters(name = "{0}")
+  public static ImmutableList<Object[]> parameters() {
+    return CompilerMode.TEST_PARAMETERS;
+  }
+
+  private static final Source FOO =
+      CompilerTests.javaSource(
+          "test.Foo",
+          "package test;",
+          "",
+          "import javax.inject.Inject;",
+          "",
+          "final class Foo {",
+          "  @Inject Foo() {}",
+          "}");
+
+  private static final Source COMPONENT =
+      CompilerTests.javaSource(
+          "test.TestComponent",
+          "package test;",
+          "",
+          "import dagger.Component;",
+          "",
+          "@Component",
+          "interface TestComponent {",
+          "  Foo foo();",
+          "}");
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final CompilerMode compilerMode;
+
+  public TimingReportTest(CompilerMode compilerMode) {
+    this.compilerMode = compilerMode;
+  }
+
+  @Test
+  public void writesReport() throws Exception {
+    File reportFile = new File(temporaryFolder.getRoot(), "reports/dagger-timing.csv");
+    CompilerTests.daggerCompiler(FOO, COMPONENT)
+        .withProcessingOptions(
+            ImmutableMap.<String, String>builder()
+                .putAll(compilerMode.processorOptions())
+                .put("dagger.timingReport", reportFile.getPath())
+                .buildOrThrow())
+        .compile(subject -> subject.hasErrorCount(0));
+
+    List<String> lines = Files.readAllLines(reportFile.toPath(), UTF_8);
+    assertThat(lines.get(0)).isEqualTo("phase,subject,count,wall_millis,allocated_bytes");
+    String report = String.join("\n", lines);
+    assertThat(report).containsMatch("(?m)^PROCESSING_STEP,ComponentProcessingStep,\\d+,");
+    assertThat(report).containsMatch("(?m)^BINDING_GRAPH_RESOLUTION,test\\.TestComponent,1,");
+    assertThat(report).containsMatch("(?m)^VALIDATION_PLUGINS,test\\.TestComponent,1,");
+    assertThat(report).containsMatch("(?m)^CODE_GENERATION,test\\.TestComponent,1,");
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.internal.codegen;
+
+import androidx.room.compiler.processing.util.Source;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import dagger.testing.compile.CompilerTests;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class VirtualThreadSafeModeTest {
+  @Parameters(name = "{0}")
+  public static ImmutableList<Object[]> parameters() {
+    return CompilerMode.TEST_PARAMETERS;
+  }
+
+  private static final Source SCOPED_TYPE =
+      CompilerTests.javaSource(
+          "test.ScopedType",
+          "package test;",
+          "",
+          "import javax.inject.Inject;",
+          "import javax.inject.Singleton;",
+          "",
+          "@Singleton",
+          "final class ScopedType {",
+          "  @Inject ScopedType() {}",
+          "}");
+
+  private static final Source UNSCOPED_TYPE =
+      CompilerTests.javaSource(
+          "test.UnscopedType",
+          "package test;",
+          "",
+          "import dagger.Lazy;",
+          "import javax.inject.Inject;",
+          "import javax.inject.Provider;",
+          "",
+          "final class UnscopedType {",
+          "  @Inject UnscopedType(Lazy<ScopedType> lazy, Provider<Lazy<ScopedType>> provider) {}",
+          "}");
+
+  private static final Source COMPONENT =
+      CompilerTests.javaSource(
+          "test.TestComponent",
+          "package test;",
+          "",
+          "import dagger.Component;",
+          "import dagger.Lazy;",
+          "import javax.inject.Provider;",
+          "import javax.inject.Singleton;",
+          "",
+          "@Singleton",
+          "@Component",
+          "interface TestComponent {",
+          "  UnscopedType unscopedType();",
+          "  Lazy<UnscopedType> lazyUnscopedType();",
+          "  Provider<Lazy<UnscopedType>> providerOfLazyUnscopedType();",
+          "}");
+
+  private final CompilerMode compilerMode;
+
+  public VirtualThreadSafeModeTest(CompilerMode compilerMode) {
+    this.compilerMode = compilerMode;
+  }
+
+  @Test
+  public void enabled_doesNotReferenceMonitorBasedRuntimeTypes() {
+    CompilerTests.daggerCompiler(SCOPED_TYPE, UNSCOPED_TYPE, COMPONENT)
+        .withProcessingOptions(
+            ImmutableMap.<String, String>builder()
+                .putAll(compilerMode.processorOptions())
+                .put("dagger.virtualThreadSafe", "enabled")
+                .buildOrThrow())
+        .compile(
+            subject -> {
+              subject.hasErrorCount(0);
+              subject
+                  .generatedSourceFileWithPath("test/DaggerTestComponent.java")
+                  .contains("LockFreeDoubleCheck.provider(");
+              subject
+                  .generatedSourceFileWithPath("test/DaggerTestComponent.java")
+                  .contains("LockFreeDoubleCheck.lazy(");
+              subject
+                  .generatedSourceFileWithPath("test/DaggerTestComponent.java")
+                  .contains("ProviderOfLazy.createLockFree(");
+              subject
+                  .generatedSourceFileWithPath("test/DaggerTestComponent.java")
+                  .doesNotContainMatch("\\bDoubleCheck\\b");
+              subject
+                  .generatedSourceFileWithPath("test/UnscopedType_Factory.java")
+                  .contains("LockFreeDoubleCheck.lazy(");
+              subject
+                  .generatedSourceFileWithPath("test/UnscopedType_Factory.java")
+                  .contains("ProviderOfLazy.createLockFree(");
+              subject
+                  .generatedSourceFileWithPath("test/UnscopedType_Factory.java")
+                  .doesNotContainMatch("\\bDoubleCheck\\b");
+            });
+  }
+
+  @Test
+  public void disabled_usesDoubleCheck() {
+    CompilerTests.daggerCompiler(SCOPED_TYPE, UNSCOPED_TYPE, COMPONENT)
+        .withProcessingOptions(compilerMode.processorOptions())
+        .compile(
+            subject -> {
+              subject.hasErrorCount(0);
+              subject
+                  .generatedSourceFileWithPath("test/DaggerTestComponent.java")
+                  .doesNotContain("LockFreeDoubleCheck");
+              subject
+                  .generatedSourceFileWithPath("test/DaggerTestComponent.java")
+                  .doesNotContain("createLockFree");
+            });
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.internal.codegen.binding;
+
+import static com.google.common.collect.Iterables.getOnlyElement;
+import static com.google.common.truth.Truth.assertThat;
+
+import androidx.room.compiler.processing.XProcessingEnv;
+import com.google.testing.compile.CompilationRule;
+import dagger.Binds;
+import dagger.Component;
+import dagger.Module;
+import dagger.Subcomponent;
+import dagger.internal.codegen.javac.JavacPluginModule;
+import java.util.Optional;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests {@link ComponentDeclarations.Factory}. */
+@RunWith(JUnit4.class)
+public class ComponentDeclarationsTest {
+  @Rule public CompilationRule compilationRule = new CompilationRule();
+
+  @Inject XProcessingEnv processingEnv;
+  @Inject ComponentDescriptor.Factory componentDescriptorFactory;
+  @Inject ComponentDeclarations.Factory componentDeclarationsFactory;
+
+  private ComponentDescriptor parentA;
+  private ComponentDescriptor parentB;
+  private ComponentDescriptor child;
+
+  @Before
+  public void setUp() {
+    DaggerComponentDeclarationsTest_TestComponent.builder()
+        .javacPluginModule(
+            new JavacPluginModule(compilationRule.getElements(), compilationRule.getTypes()))
+        .build()
+        .inject(this);
+    parentA =
+        componentDescriptorFactory.rootComponentDescriptor(
+            processingEnv.requireTypeElement(ParentA.class.getCanonicalName()));
+    parentB =
+        componentDescriptorFactory.rootComponentDescriptor(
+            processingEnv.requireTypeElement(ParentB.class.getCanonicalName()));
+    child =
+        componentDescriptorFactory.subcomponentDescriptor(
+            processingEnv.requireTypeElement(Child.class.getCanonicalName()));
+  }
+
+  @Test
+  public void create_sameComponent_reusesDeclarations() {
+    // The pruned and full graphs of a root component both ask for its declarations.
+    ComponentDeclarations declarations =
+        componentDeclarationsFactory.create(Optional.empty(), parentA);
+
+    assertThat(componentDeclarationsFactory.create(Optional.empty(), parentA))
+        .isSameInstanceAs(declarations);
+  }
+
+  @Test
+  public void create_siblingComponents_reuseSubcomponentDeclarations() {
+    ComponentDeclarations declarations =
+        componentDeclarationsFactory.create(Optional.of(parentA), child);
+
+    assertThat(componentDeclarationsFactory.create(Optional.of(parentB), child))
+        .isSameInstanceAs(declarations);
+  }
+
+  @Test
+  public void delegateBinding_reusesBinding() {
+    ComponentDeclarations declarations =
+        componentDeclarationsFactory.create(Optional.of(parentA), child);
+    DelegateDeclaration delegateDeclaration = getOnlyElement(child.delegateDeclarations());
+    ContributionBinding binding = declarations.delegateBinding(delegateDeclaration);
+
+    assertThat(
+            componentDeclarationsFactory
+                .create(Optional.of(parentB), child)
+                .delegateBinding(delegateDeclaration))
+        .isSameInstanceAs(binding);
+  }
+
+  @Test
+  public void clearCache_dropsDeclarations() {
+    ComponentDeclarations declarations =
+        componentDeclarationsFactory.create(Optional.of(parentA), child);
+
+    componentDeclarationsFactory.clearCache();
+
+    assertThat(componentDeclarationsFactory.create(Optional.of(parentA), child))
+        .isNotSameInstanceAs(declarations);
+  }
+
+  @Component(modules = ChildModule.class)
+  interface ParentA {}
+
+  @Component(modules = ChildModule.class)
+  interface ParentB {}
+
+  @Module(subcomponents = Child.class)
+  interface ChildModule {}
+
+  @Subcomponent(modules = BindsModule.class)
+  interface Child {
+    @Subcomponent.Factory
+    interface Factory {
+      Child create();
+    }
+  }
+
+  @Module
+  interface BindsModule {
+    @Binds
+    CharSequence charSequence(String string);
+  }
+
+  @Singleton
+  @Component(modules = JavacPluginModule.class)
+  interface TestComponent {
+    void inject(ComponentDeclarationsTest test);
+  }
+}
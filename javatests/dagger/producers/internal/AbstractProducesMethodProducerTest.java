@@ -108,6 +108,22 @@ public class AbstractProducesMethodProducerTest {
     verifyNoMoreInteractions(monitor);
   }
 
+  @Test
+  public void inline_callsMethodOnThreadCompletingDependencies() throws Exception {
+    SettableFuture<Void> dependency = SettableFuture.create();
+    Producer<Thread> producer = new InlineProducer(componentMonitorProvider, dependency);
+
+    ListenableFuture<Thread> future = producer.get();
+    assertThat(future.isDone()).isFalse();
+    Thread completingThread = new Thread(() -> dependency.set(null));
+    completingThread.start();
+    completingThread.join();
+    assertThat(future.get()).isSameInstanceAs(completingThread);
+    verify(monitor).ready();
+    verify(monitor).methodStarting();
+    verify(monitor).methodFinished();
+  }
+
   private ListenableFuture<?> anyListenableFuture() {
     return any(ListenableFuture.class);
   }
@@ -145,4 +161,34 @@ public class AbstractProducesMethodProducerTest {
       return delegate;
     }
   }
+
+  static final class InlineProducer extends AbstractProducesMethodProducer<Void, Thread> {
+    private final ListenableFuture<Void> dependency;
+
+    InlineProducer(
+        Provider<ProductionComponentMonitor> componentMonitorProvider,
+        ListenableFuture<Void> dependency) {
+      super(
+          componentMonitorProvider,
+          null, // token
+          new Provider<Executor>() {
+            @Override
+            public Executor get() {
+              throw new AssertionError("Inline producers don't use the executor");
+            }
+          },
+          true);
+      this.dependency = dependency;
+    }
+
+    @Override
+    protected ListenableFuture<Void> collectDependencies() {
+      return dependency;
+    }
+
+    @Override
+    protected ListenableFuture<Thread> callProducesMethod(Void asyncDependencies) {
+      return Futures.immediateFuture(Thread.currentThread());
+    }
+  }
 }
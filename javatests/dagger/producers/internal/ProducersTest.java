@@ -28,6 +28,7 @@ import dagger.producers.Produced;
 import dagger.producers.Producer;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -128,6 +129,57 @@ public class ProducersTest {
     }
   }
 
+  @Test
+  public void fromCompletionStage_completedFuture() throws Exception {
+    ListenableFuture<String> future =
+        Producers.fromCompletionStage(CompletableFuture.completedFuture("monkey"));
+    assertThat(future.isDone()).isTrue();
+    assertThat(future.get()).isEqualTo("monkey");
+  }
+
+  @Test
+  public void fromCompletionStage_success() throws Exception {
+    CompletableFuture<String> stage = new CompletableFuture<>();
+    ListenableFuture<String> future = Producers.fromCompletionStage(stage);
+    assertThat(future.isDone()).isFalse();
+    stage.complete("monkey");
+    assertThat(future.isDone()).isTrue();
+    assertThat(future.get()).isEqualTo("monkey");
+  }
+
+  @Test
+  public void fromCompletionStage_failure() throws Exception {
+    CompletableFuture<String> stage = new CompletableFuture<>();
+    ListenableFuture<String> future =
+        Producers.fromCompletionStage(stage.thenApply(String::toUpperCase));
+    stage.completeExceptionally(new RuntimeException("monkey"));
+    assertThat(future.isDone()).isTrue();
+    try {
+      future.get();
+      fail();
+    } catch (ExecutionException e) {
+      // The CompletionException of the dependent stage is unwrapped.
+      assertThat(e).hasCauseThat().isInstanceOf(RuntimeException.class);
+      assertThat(e).hasCauseThat().hasMessageThat().isEqualTo("monkey");
+    }
+  }
+
+  @Test
+  public void fromCompletionStage_cancelPropagatesBackwards() throws Exception {
+    CompletableFuture<String> stage = new CompletableFuture<>();
+    ListenableFuture<String> future = Producers.fromCompletionStage(stage);
+    future.cancel(true);
+    assertThat(stage.isCancelled()).isTrue();
+  }
+
+  @Test
+  public void fromCompletionStage_cancelPropagatesForwards() throws Exception {
+    CompletableFuture<String> stage = new CompletableFuture<>();
+    ListenableFuture<String> future = Producers.fromCompletionStage(stage);
+    stage.cancel(false);
+    assertThat(future.isCancelled()).isTrue();
+  }
+
   @Test public void producerFromProvider_doesntCache() throws Exception {
     Producer<Integer> producer = Producers.producerFromProvider(new Provider<Integer>() {
       int i = 0;
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.producers.internal;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests {@link VirtualThreadExecutor}. */
+@RunWith(JUnit4.class)
+public class VirtualThreadExecutorTest {
+  @Test
+  public void create_unsupportedRuntime_throws() {
+    assumeFalse(VirtualThreadExecutor.isSupported());
+    assertThrows(UnsupportedOperationException.class, VirtualThreadExecutor::new);
+  }
+
+  @Test
+  public void execute_runsTask() throws Exception {
+    assumeTrue(VirtualThreadExecutor.isSupported());
+    CountDownLatch ran = new CountDownLatch(1);
+    new VirtualThreadExecutor().execute(ran::countDown);
+    assertThat(ran.await(10, SECONDS)).isTrue();
+  }
+
+  @Test
+  public void cancel_interruptsRunningTasks() throws Exception {
+    assumeTrue(VirtualThreadExecutor.isSupported());
+    VirtualThreadExecutor executor = new VirtualThreadExecutor();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch interrupted = new CountDownLatch(1);
+    executor.execute(
+        () -> {
+          started.countDown();
+          try {
+            new CountDownLatch(1).await();
+          } catch (InterruptedException e) {
+            interrupted.countDown();
+          }
+        });
+    assertThat(started.await(10, SECONDS)).isTrue();
+
+    executor.onProducerFutureCancelled(true);
+    assertThat(interrupted.await(10, SECONDS)).isTrue();
+  }
+
+  @Test
+  public void cancel_tasksExecutedAfterwardsRunInterrupted() throws Exception {
+    assumeTrue(VirtualThreadExecutor.isSupported());
+    VirtualThreadExecutor executor = new VirtualThreadExecutor();
+    executor.onProducerFutureCancelled(true);
+
+    AtomicBoolean wasInterrupted = new AtomicBoolean();
+    CountDownLatch ran = new CountDownLatch(1);
+    executor.execute(
+        () -> {
+          wasInterrupted.set(Thread.currentThread().isInterrupted());
+          ran.countDown();
+        });
+    assertThat(ran.await(10, SECONDS)).isTrue();
+    assertThat(wasInterrupted.get()).isTrue();
+  }
+
+  @Test
+  public void cancelWithoutInterruption_doesNotInterrupt() throws Exception {
+    assumeTrue(VirtualThreadExecutor.isSupported());
+    VirtualThreadExecutor executor = new VirtualThreadExecutor();
+    executor.onProducerFutureCancelled(false);
+
+    AtomicBoolean wasInterrupted = new AtomicBoolean();
+    CountDownLatch ran = new CountDownLatch(1);
+    executor.execute(
+        () -> {
+          wasInterrupted.set(Thread.currentThread().isInterrupted());
+          ran.countDown();
+        });
+    assertThat(ran.await(10, SECONDS)).isTrue();
+    assertThat(wasInterrupted.get()).isFalse();
+  }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.producers.monitoring;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+@RunWith(JUnit4.class)
+public final class BatchingProductionComponentMonitorTest {
+  private static final class ProducerClassA {}
+
+  private static final class ProducerClassB {}
+
+  private static final ProducerToken TOKEN_A = ProducerToken.create(ProducerClassA.class);
+  private static final ProducerToken TOKEN_B = ProducerToken.create(ProducerClassB.class);
+
+  @Mock private ProductionComponentMonitor.Factory delegateFactory;
+  @Mock private ProductionComponentMonitor delegate;
+  @Mock private ProducerMonitor producerMonitorA;
+  @Mock private ProducerMonitor producerMonitorB;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    when(delegateFactory.create(any(Object.class))).thenReturn(delegate);
+    when(delegate.producerMonitorFor(TOKEN_A)).thenReturn(producerMonitorA);
+    when(delegate.producerMonitorFor(TOKEN_B)).thenReturn(producerMonitorB);
+  }
+
+  @Test
+  public void deliversInOrderOnceAllRequestedProducersComplete() {
+    ProductionComponentMonitor monitor =
+        new BatchingProductionComponentMonitor.Factory(delegateFactory).create(new Object());
+    ProducerMonitor monitorA = monitor.producerMonitorFor(TOKEN_A);
+    ProducerMonitor monitorB = monitor.producerMonitorFor(TOKEN_B);
+    Object valueA = new Object();
+    Throwable failureB = new RuntimeException("monkey");
+
+    monitorA.requested();
+    monitorB.requested();
+    monitorA.methodStarting();
+    monitorA.methodFinished();
+    monitorA.succeeded(valueA);
+    verifyNoInteractions(producerMonitorA, producerMonitorB);
+
+    monitorB.failed(failureB);
+    InOrder order = inOrder(producerMonitorA, producerMonitorB);
+    order.verify(producerMonitorA).requested();
+    order.verify(producerMonitorB).requested();
+    order.verify(producerMonitorA).methodStarting();
+    order.verify(producerMonitorA).methodFinished();
+    order.verify(producerMonitorA).succeeded(valueA);
+    order.verify(producerMonitorB).failed(failureB);
+    order.verifyNoMoreInteractions();
+  }
+
+  @Test
+  public void deliversWhenFull() {
+    ProductionComponentMonitor monitor =
+        new BatchingProductionComponentMonitor.Factory(delegateFactory, 2).create(new Object());
+    ProducerMonitor monitorA = monitor.producerMonitorFor(TOKEN_A);
+
+    monitorA.requested();
+    verifyNoInteractions(producerMonitorA);
+    monitorA.methodStarting();
+    InOrder order = inOrder(producerMonitorA);
+    order.verify(producerMonitorA).requested();
+    order.verify(producerMonitorA).methodStarting();
+    order.verifyNoMoreInteractions();
+  }
+
+  @Test
+  public void concurrentEvents_allDeliveredInOrderPerProducer() throws Exception {
+    int threadCount = 8;
+    int producersPerThread = 1000;
+    List<String> delivered = Collections.synchronizedList(new ArrayList<>());
+    ProductionComponentMonitor.Factory recordingFactory =
+        new ProductionComponentMonitor.Factory() {
+          @Override
+          public ProductionComponentMonitor create(Object component) {
+            return new ProductionComponentMonitor() {
+              @Override
+              public ProducerMonitor producerMonitorFor(ProducerToken token) {
+                return new ProducerMonitor() {
+                  @Override
+                  public void requested() {
+                    delivered.add(token + " requested");
+                  }
+
+                  @Override
+                  public void succeeded(Object value) {
+                    delivered.add(token + " succeeded");
+                  }
+                };
+              }
+            };
+          }
+        };
+    ProductionComponentMonitor monitor =
+        new BatchingProductionComponentMonitor.Factory(recordingFactory, 16).create(new Object());
+    ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threadCount; t++) {
+        int thread = t;
+        futures.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  for (int i = 0; i < producersPerThread; i++) {
+                    ProducerMonitor producerMonitor =
+                        monitor.producerMonitorFor(ProducerToken.create(thread + "-" + i));
+                    producerMonitor.requested();
+                    producerMonitor.succeeded(new Object());
+                  }
+                  return null;
+                }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertThat(delivered).hasSize(2 * threadCount * producersPerThread);
+    Set<String> requested = new HashSet<>();
+    for (String event : delivered) {
+      String token = event.substring(0, event.lastIndexOf(' '));
+      if (event.endsWith(" requested")) {
+        assertThat(requested.add(token)).isTrue();
+      } else {
+        assertThat(requested).contains(token);
+      }
+    }
+  }
+
+  @Test
+  public void delegateThrows_remainingEventsAreDelivered() {
+    doThrow(new RuntimeException("monkey")).when(producerMonitorA).requested();
+    ProductionComponentMonitor monitor =
+        new BatchingProductionComponentMonitor.Factory(delegateFactory).create(new Object());
+    ProducerMonitor monitorA = monitor.producerMonitorFor(TOKEN_A);
+    Object value = new Object();
+
+    monitorA.requested();
+    monitorA.succeeded(value);
+    verify(producerMonitorA).succeeded(value);
+  }
+
+  @Test
+  public void delegateFactoryReturnsNull_noOp() {
+    when(delegateFactory.create(any(Object.class))).thenReturn(null);
+    ProductionComponentMonitor monitor =
+        new BatchingProductionComponentMonitor.Factory(delegateFactory).create(new Object());
+    ProducerMonitor monitorA = monitor.producerMonitorFor(TOKEN_A);
+
+    monitorA.requested();
+    monitorA.succeeded(new Object());
+    verifyNoInteractions(delegate);
+  }
+}
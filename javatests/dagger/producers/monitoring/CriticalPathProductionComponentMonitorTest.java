@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2026 The Dagger Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dagger.producers.monitoring;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.testing.FakeTicker;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class CriticalPathProductionComponentMonitorTest {
+  private final List<CriticalPath> criticalPaths = new ArrayList<>();
+  private FakeTicker ticker;
+  private ProductionComponentMonitor monitor;
+
+  @Before
+  public void setUp() {
+    ticker = new FakeTicker();
+    monitor =
+        new CriticalPathProductionComponentMonitor.Factory(
+                new CriticalPathProductionComponentMonitor.Recorder() {
+                  @Override
+                  public void recordCriticalPath(Object component, CriticalPath criticalPath) {
+                    criticalPaths.add(criticalPath);
+                  }
+                },
+                ticker)
+            .create(new Object());
+  }
+
+  @Test
+  public void reportsCriticalPathSlackAndQueueing() {
+    // d depends on b and c, and b depends on a.
+    ProducerMonitor a = producerMonitor("a", "A");
+    ProducerMonitor b = producerMonitor("b", "B", "A");
+    ProducerMonitor c = producerMonitor("c", "C");
+    ProducerMonitor d = producerMonitor("d", "D", "B", "C");
+
+    d.requested();
+    b.requested();
+    a.requested();
+    c.requested();
+    a.ready();
+    c.ready();
+    ticker.advance(1);
+    a.methodStarting();
+    ticker.advance(2);
+    a.methodFinished();
+    a.succeeded(new Object());
+    b.ready();
+    ticker.advance(1);
+    b.methodStarting();
+    ticker.advance(1);
+    c.methodStarting();
+    ticker.advance(1);
+    c.methodFinished();
+    c.succeeded(new Object());
+    ticker.advance(4);
+    b.methodFinished();
+    b.succeeded(new Object());
+    d.ready();
+    d.methodStarting();
+    ticker.advance(1);
+    d.methodFinished();
+    assertThat(criticalPaths).isEmpty();
+    d.succeeded(new Object());
+
+    assertThat(criticalPaths).hasSize(1);
+    CriticalPath criticalPath = criticalPaths.get(0);
+    assertThat(criticalPath.latencyNanos()).isEqualTo(11);
+    assertThat(tokens(criticalPath.path())).containsExactly("a", "b", "d").inOrder();
+    assertThat(tokens(criticalPath.nodes())).containsExactly("a", "c", "b", "d").inOrder();
+
+    CriticalPath.Node nodeC = criticalPath.nodes().get(1);
+    assertThat(nodeC.slackNanos()).isEqualTo(4);
+    assertThat(nodeC.queueingNanos()).isEqualTo(5);
+    for (CriticalPath.Node node : criticalPath.path()) {
+      assertThat(node.slackNanos()).isEqualTo(0);
+    }
+    assertThat(criticalPath.path().get(1).criticalDependency())
+        .isSameInstanceAs(criticalPath.path().get(0));
+  }
+
+  @Test
+  public void failedDependency_consumerNeverReady() {
+    ProducerMonitor a = producerMonitor("a", "A");
+    ProducerMonitor b = producerMonitor("b", "B", "A");
+
+    b.requested();
+    a.requested();
+    a.ready();
+    a.methodStarting();
+    ticker.advance(3);
+    a.methodFinished();
+    a.failed(new RuntimeException("monkey"));
+    b.failed(new RuntimeException("monkey"));
+
+    CriticalPath criticalPath = criticalPaths.get(0);
+    assertThat(tokens(criticalPath.path())).containsExactly("a", "b").inOrder();
+    assertThat(criticalPath.path().get(1).readyNanos()).isEqualTo(-1);
+    assertThat(criticalPath.path().get(1).succeeded()).isFalse();
+  }
+
+  @Test
+  public void withoutMetadata_pathIsLastProducer() {
+    ProducerMonitor a = monitor.producerMonitorFor(ProducerToken.create("a"));
+    ProducerMonitor b = monitor.producerMonitorFor(ProducerToken.create("b"));
+
+    b.requested();
+    a.requested();
+    ticker.advance(1);
+    a.succeeded(new Object());
+    ticker.advance(1);
+    b.succeeded(new Object());
+
+    assertThat(tokens(criticalPaths.get(0).path())).containsExactly("b");
+  }
+
+  @Test
+  public void reportsEachExecution() {
+    ProducerMonitor a = producerMonitor("a", "A");
+    ProducerMonitor b = producerMonitor("b", "B");
+
+    a.requested();
+    a.succeeded(new Object());
+    b.requested();
+    b.succeeded(new Object());
+
+    assertThat(criticalPaths).hasSize(2);
+    assertThat(tokens(criticalPaths.get(0).nodes())).containsExactly("a");
+    assertThat(tokens(criticalPaths.get(1).nodes())).containsExactly("b");
+  }
+
+  private ProducerMonitor producerMonitor(String name, String key, String... dependencyKeys) {
+    return monitor.producerMonitorFor(ProducerToken.create(name).withKeys(key, dependencyKeys));
+  }
+
+  private static List<String> tokens(List<CriticalPath.Node> nodes) {
+    List<String> tokens = new ArrayList<>();
+    for (CriticalPath.Node node : nodes) {
+      tokens.add(node.token().toString());
+    }
+    return tokens;
+  }
+}
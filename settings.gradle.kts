@@ -23,6 +23,8 @@ fun includeProject(name: String, path: String) {
 
 includeProject(":dagger", "dagger-runtime")
 
+includeProject(":dagger-benchmarks", "dagger-benchmarks")
+
 includeProject(":dagger-compiler", "dagger-compiler")
 
 includeProject(":dagger-producers", "dagger-producers")